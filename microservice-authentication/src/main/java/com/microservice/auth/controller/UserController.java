@@ -4,6 +4,7 @@ import com.microservice.auth.dto.ChangeRoleDTO;
 import com.microservice.auth.model.UserEntity;
 import com.microservice.auth.service.UserService;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -47,6 +48,29 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    @GetMapping("/all-users-slice")
+    public ResponseEntity<Slice<UserEntity>> getAllUsersSlice(@RequestParam(defaultValue = "0") int page,
+                                                              @RequestParam(defaultValue = "10") int elements) {
+        Slice<UserEntity> users = userService.findAllUsersSlice(page, elements);
+        return ResponseEntity.ok(users);
+    }
+
+    @GetMapping("/search-by-role-slice")
+    public ResponseEntity<Slice<UserEntity>> getUsersByRoleSlice(@RequestParam String role,
+                                                                 @RequestParam(defaultValue = "0") int page,
+                                                                 @RequestParam(defaultValue = "10") int elements) {
+        Slice<UserEntity> users = userService.getUsersByRoleSlice(role, page, elements);
+        return ResponseEntity.ok(users);
+    }
+
+    @GetMapping("/search-by-enabled-slice")
+    public ResponseEntity<Slice<UserEntity>> getUsersByEnabledSlice(@RequestParam boolean enabled,
+                                                                    @RequestParam(defaultValue = "0") int page,
+                                                                    @RequestParam(defaultValue = "10") int elements) {
+        Slice<UserEntity> users = userService.getUsersByEnabledSlice(enabled, page, elements);
+        return ResponseEntity.ok(users);
+    }
+
     @PutMapping("/change-role")
     public ResponseEntity<String> changeRoleToAdmin(@RequestBody ChangeRoleDTO changeRoleDTO) {
         userService.changeRoleToAdmin(changeRoleDTO.getEmail());
@@ -4,6 +4,7 @@ import com.microservice.auth.dto.UserDTO;
 import com.microservice.auth.model.UserEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -16,6 +17,9 @@ public interface UserRepository extends JpaRepository<UserEntity, UUID> {
     Page<UserEntity> findAll(Pageable pageable);
     Page<UserEntity> findAllUserEntitiesByRoleContainingIgnoreCase(String role, Pageable pageable);
     Page<UserEntity> findAllUserEntitiesByEnabled(boolean enabled, Pageable pageable);
+    Slice<UserEntity> findUserEntitiesBy(Pageable pageable);
+    Slice<UserEntity> findUserEntitiesByRoleContainingIgnoreCase(String role, Pageable pageable);
+    Slice<UserEntity> findUserEntitiesByEnabled(boolean enabled, Pageable pageable);
     boolean existsByIdUser(UUID idUser);
     UserEntity findByIdUser(UUID idUser);
     UserEntity save(UserDTO registerUserDTO);
@@ -9,6 +9,7 @@ import com.microservice.auth.validation.UserValidation;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -67,6 +68,25 @@ public class UserService {
         return userRepository.findAllUserEntitiesByEnabled(enabled, PageRequest.of(page, size));
     }
 
+    /**
+     * The slice variants read one row more than the page size to know whether a next page exists, instead of
+     * running a count query.
+     */
+    public Slice<UserEntity> findAllUsersSlice(int page, int size) {
+        userValidation.validatePageAndSize(page, size);
+        return userRepository.findUserEntitiesBy(PageRequest.of(page, size));
+    }
+
+    public Slice<UserEntity> getUsersByRoleSlice(String role, int page, int size) {
+        userValidation.validatePageAndSize(page, size);
+        return userRepository.findUserEntitiesByRoleContainingIgnoreCase(role, PageRequest.of(page, size));
+    }
+
+    public Slice<UserEntity> getUsersByEnabledSlice(boolean enabled, int page, int size) {
+        userValidation.validatePageAndSize(page, size);
+        return userRepository.findUserEntitiesByEnabled(enabled, PageRequest.of(page, size));
+    }
+
     @Transactional
     public void registerUser(UserDTO registerUserDTO) {
         userValidation.validateUserRegister(registerUserDTO);
@@ -1,18 +1,38 @@
 package com.microservice.movies.controller;
 
+import com.microservice.movies.dto.MovieChangesDTO;
+import com.microservice.movies.dto.MovieFields;
+import com.microservice.movies.dto.MovieImportReportDTO;
+import com.microservice.movies.dto.MovieScrollDTO;
+import com.microservice.movies.dto.MovieTitleDTO;
 import com.microservice.movies.dto.MovieWithGenreDTO;
 import com.microservice.movies.model.MovieEntity;
+import com.microservice.movies.service.CatalogResponseCache;
+import com.microservice.movies.service.CatalogVersion;
+import com.microservice.movies.service.MovieChangeFeed;
+import com.microservice.movies.service.MovieExportService;
+import com.microservice.movies.service.MovieImportService;
 import com.microservice.movies.service.MovieService;
+import com.microservice.movies.service.SingleFlight;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.util.List;
 
 
 @RestController
@@ -21,38 +41,93 @@ import org.springframework.web.bind.annotation.*;
 public class MovieController {
 
     private final MovieService movieService;
+    private final CatalogVersion catalogVersion;
+    private final CatalogResponseCache responseCache;
+    private final MovieImportService movieImportService;
+    private final MovieExportService movieExportService;
+    private final MovieChangeFeed movieChangeFeed;
+    private final SingleFlight singleFlight;
 
-    public MovieController(MovieService movieService) {
+    public MovieController(MovieService movieService, CatalogVersion catalogVersion,
+                           CatalogResponseCache responseCache, MovieImportService movieImportService,
+                           MovieExportService movieExportService, MovieChangeFeed movieChangeFeed,
+                           SingleFlight singleFlight) {
         this.movieService = movieService;
+        this.catalogVersion = catalogVersion;
+        this.responseCache = responseCache;
+        this.movieImportService = movieImportService;
+        this.movieExportService = movieExportService;
+        this.movieChangeFeed = movieChangeFeed;
+        this.singleFlight = singleFlight;
     }
 
     @GetMapping("/all-movies")
     @Operation(summary = "Get all movies",
-               description = "Get all movies from the database",
-               tags = {"Get"})
-    public ResponseEntity<Page<MovieWithGenreDTO>> getAllMovies(@RequestParam(defaultValue = "0") int page,
-                                                                @RequestParam(defaultValue = "10") int elements) {
-        Page<MovieWithGenreDTO> movies = movieService.findAllMovies(page, elements);
-        return ResponseEntity.ok(movies);
+               description = "Get all movies from the database, the first pages are served from serialized responses; " +
+                             "fields=idMovie,title,imageUrl limits the properties read and returned",
+               tags = {"Get"},
+               responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Page of movies",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = Page.class)
+                            )
+                    )
+               }
+            )
+    public ResponseEntity<byte[]> getAllMovies(@RequestParam(defaultValue = "0") int page,
+                                               @RequestParam(defaultValue = "10") int elements,
+                                               @RequestParam(required = false) String fields,
+                                               WebRequest request) {
+        MovieFields movieFields = MovieFields.parse(fields);
+        if (notModified(request)) {
+            return null;
+        }
+        byte[] movies = singleFlight.execute("all-movies:" + page + ":" + elements + ":" + movieFields,
+                () -> responseCache.get("all-movies", page, elements, movieFields,
+                        () -> movieService.findAllMovies(page, elements, movieFields)));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(movies);
     }
 
     @GetMapping("/search-movie/{idMovie}")
     @Operation(summary = "Get movie by id",
                description = "Get a movie by its id",
                tags = {"Get"})
-    public ResponseEntity <MovieWithGenreDTO> getMovieById(@PathVariable int idMovie) {
-        return ResponseEntity.ok(movieService.findMovieById(idMovie));
+    public ResponseEntity <MovieWithGenreDTO> getMovieById(@PathVariable int idMovie, WebRequest request) {
+        if (notModified(request)) {
+            return null;
+        }
+        return ResponseEntity.ok(singleFlight.execute("search-movie:" + idMovie, () -> movieService.findMovieById(idMovie)));
+    }
+
+    @GetMapping("/search-movies")
+    @Operation(summary = "Get movies by ids",
+               description = "Get several movies by their ids with a single query, unknown ids are skipped",
+               tags = {"Get"})
+    public ResponseEntity<List<MovieWithGenreDTO>> getMoviesByIds(@RequestParam List<Integer> ids, WebRequest request) {
+        if (notModified(request)) {
+            return null;
+        }
+        return ResponseEntity.ok(singleFlight.execute("search-movies:" + ids, () -> movieService.findMoviesByIds(ids)));
     }
 
     @GetMapping("/search-movies-by-genre/{idGenre}")
     @Operation(summary = "Get movies by genre",
                description = "Get movies by genre id",
                tags = {"Get"})
-    public ResponseEntity<Page<MovieEntity>> getMoviesByGenre(@PathVariable int idGenre,
-                                                              @RequestParam(defaultValue = "0") int page,
-                                                              @RequestParam(defaultValue = "10") int elements
-                                                              ) {
-        Page<MovieEntity> movies = movieService.findMoviesByGenre(idGenre, page, elements);
+    public ResponseEntity<Page<MovieWithGenreDTO>> getMoviesByGenre(@PathVariable int idGenre,
+                                                                    @RequestParam(defaultValue = "0") int page,
+                                                                    @RequestParam(defaultValue = "10") int elements,
+                                                                    @RequestParam(required = false) String fields,
+                                                                    WebRequest request) {
+        MovieFields movieFields = MovieFields.parse(fields);
+        if (notModified(request)) {
+            return null;
+        }
+        Page<MovieWithGenreDTO> movies = singleFlight.execute("search-movies-by-genre:" + idGenre + ":" + page + ":" + elements + ":" + movieFields,
+                () -> movieService.findMoviesByGenre(idGenre, page, elements, movieFields));
 
         return movies.isEmpty() ? ResponseEntity.noContent().build() : ResponseEntity.ok(movies);
     }
@@ -61,15 +136,162 @@ public class MovieController {
     @Operation(summary = "Get movies by title",
                description = "Get movies by title",
                tags = {"Get"})
-    public ResponseEntity<Page<MovieEntity>> getMoviesByTitle(@RequestParam String title,
-                                                              @RequestParam(defaultValue = "0") int page,
-                                                              @RequestParam(defaultValue = "10") int elements
-                                                              ) {
-        Page<MovieEntity> movies = movieService.findMoviesByTitle(title, page, elements);
+    public ResponseEntity<Page<MovieWithGenreDTO>> getMoviesByTitle(@RequestParam String title,
+                                                                    @RequestParam(defaultValue = "0") int page,
+                                                                    @RequestParam(defaultValue = "10") int elements,
+                                                                    @RequestParam(required = false) String fields,
+                                                                    WebRequest request) {
+        MovieFields movieFields = MovieFields.parse(fields);
+        if (notModified(request)) {
+            return null;
+        }
+        Page<MovieWithGenreDTO> movies = singleFlight.execute("search-movie-by-title:" + page + ":" + elements + ":" + movieFields + ":" + title,
+                () -> movieService.findMoviesByTitle(title, page, elements, movieFields));
+
+        return movies.isEmpty() ? ResponseEntity.noContent().build() : ResponseEntity.ok(movies);
+    }
+
+    @GetMapping("/all-movies-slice")
+    @Operation(summary = "Get all movies without a total",
+               description = "Get a page of movies with only whether a next page exists, skipping the count query",
+               tags = {"Get"})
+    public ResponseEntity<Slice<MovieWithGenreDTO>> getAllMoviesSlice(@RequestParam(defaultValue = "0") int page,
+                                                                      @RequestParam(defaultValue = "10") int elements,
+                                                                      @RequestParam(required = false) String fields,
+                                                                      WebRequest request) {
+        MovieFields movieFields = MovieFields.parse(fields);
+        if (notModified(request)) {
+            return null;
+        }
+        return ResponseEntity.ok(singleFlight.execute("all-movies-slice:" + page + ":" + elements + ":" + movieFields,
+                () -> movieService.findAllMoviesSlice(page, elements, movieFields)));
+    }
+
+    @GetMapping("/search-movies-by-genre-slice/{idGenre}")
+    @Operation(summary = "Get movies by genre without a total",
+               description = "Get a page of movies of a genre with only whether a next page exists, skipping the count query",
+               tags = {"Get"})
+    public ResponseEntity<Slice<MovieWithGenreDTO>> getMoviesByGenreSlice(@PathVariable int idGenre,
+                                                                          @RequestParam(defaultValue = "0") int page,
+                                                                          @RequestParam(defaultValue = "10") int elements,
+                                                                          @RequestParam(required = false) String fields,
+                                                                          WebRequest request) {
+        MovieFields movieFields = MovieFields.parse(fields);
+        if (notModified(request)) {
+            return null;
+        }
+        Slice<MovieWithGenreDTO> movies = singleFlight.execute("search-movies-by-genre-slice:" + idGenre + ":" + page + ":" + elements + ":" + movieFields,
+                () -> movieService.findMoviesByGenreSlice(idGenre, page, elements, movieFields));
+
+        return movies.isEmpty() ? ResponseEntity.noContent().build() : ResponseEntity.ok(movies);
+    }
+
+    @GetMapping("/search-movie-by-title-slice")
+    @Operation(summary = "Get movies by title without a total",
+               description = "Get a page of movies by title with only whether a next page exists, skipping the count query",
+               tags = {"Get"})
+    public ResponseEntity<Slice<MovieWithGenreDTO>> getMoviesByTitleSlice(@RequestParam String title,
+                                                                          @RequestParam(defaultValue = "0") int page,
+                                                                          @RequestParam(defaultValue = "10") int elements,
+                                                                          @RequestParam(required = false) String fields,
+                                                                          WebRequest request) {
+        MovieFields movieFields = MovieFields.parse(fields);
+        if (notModified(request)) {
+            return null;
+        }
+        Slice<MovieWithGenreDTO> movies = singleFlight.execute("search-movie-by-title-slice:" + page + ":" + elements + ":" + movieFields + ":" + title,
+                () -> movieService.findMoviesByTitleSlice(title, page, elements, movieFields));
 
         return movies.isEmpty() ? ResponseEntity.noContent().build() : ResponseEntity.ok(movies);
     }
 
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Autocomplete movie titles",
+               description = "Get up to 10 titles starting with the prefix, or having a word that starts with it",
+               tags = {"Get"})
+    public ResponseEntity<List<MovieTitleDTO>> autocompleteTitles(@RequestParam String prefix,
+                                                                  @RequestParam(defaultValue = "10") int limit,
+                                                                  WebRequest request) {
+        if (notModified(request)) {
+            return null;
+        }
+        return ResponseEntity.ok(singleFlight.execute("autocomplete:" + limit + ":" + prefix,
+                () -> movieService.autocompleteTitles(prefix, limit)));
+    }
+
+    @GetMapping("/scroll-movies")
+    @Operation(summary = "Scroll all movies",
+               description = "Get a slice of movies sorted by id or title, continued with the returned cursor",
+               tags = {"Get"})
+    public ResponseEntity<MovieScrollDTO> scrollAllMovies(@RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = "10") int elements,
+                                                          @RequestParam(defaultValue = "id") String sort,
+                                                          WebRequest request) {
+        if (notModified(request)) {
+            return null;
+        }
+        MovieScrollDTO movies = singleFlight.execute("scroll-movies:" + elements + ":" + sort + ":" + cursor,
+                () -> movieService.scrollAllMovies(cursor, elements, sort));
+
+        return movies.getContent().isEmpty() ? ResponseEntity.noContent().build() : ResponseEntity.ok(movies);
+    }
+
+    @GetMapping("/scroll-movies-by-genre/{idGenre}")
+    @Operation(summary = "Scroll movies by genre",
+               description = "Get a slice of movies of a genre, continued with the returned cursor",
+               tags = {"Get"})
+    public ResponseEntity<MovieScrollDTO> scrollMoviesByGenre(@PathVariable int idGenre,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = "10") int elements,
+                                                              WebRequest request) {
+        if (notModified(request)) {
+            return null;
+        }
+        MovieScrollDTO movies = singleFlight.execute("scroll-movies-by-genre:" + idGenre + ":" + elements + ":" + cursor,
+                () -> movieService.scrollMoviesByGenre(idGenre, cursor, elements));
+
+        return movies.getContent().isEmpty() ? ResponseEntity.noContent().build() : ResponseEntity.ok(movies);
+    }
+
+    @GetMapping("/scroll-movies-by-title")
+    @Operation(summary = "Scroll movies by title",
+               description = "Get a slice of movies whose title contains the given text, continued with the returned cursor",
+               tags = {"Get"})
+    public ResponseEntity<MovieScrollDTO> scrollMoviesByTitle(@RequestParam String title,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = "10") int elements,
+                                                              WebRequest request) {
+        if (notModified(request)) {
+            return null;
+        }
+        MovieScrollDTO movies = singleFlight.execute("scroll-movies-by-title:" + elements + ":" + cursor + ":" + title,
+                () -> movieService.scrollMoviesByTitle(title, cursor, elements));
+
+        return movies.getContent().isEmpty() ? ResponseEntity.noContent().build() : ResponseEntity.ok(movies);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export all movies",
+               description = "Stream the whole catalog as NDJSON, one movie per line ordered by id",
+               tags = {"Get"})
+    public ResponseEntity<StreamingResponseBody> exportMovies(WebRequest request) {
+        if (notModified(request)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(movieExportService::exportMovies);
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Follow movie changes",
+               description = "Get the movies created, updated or deleted after a version, waiting for the next change when " +
+                             "there is none yet; resync means the changes are no longer kept and caches must be dropped",
+               tags = {"Get"})
+    public DeferredResult<MovieChangesDTO> getChanges(@RequestParam(defaultValue = "-1") long since) {
+        return movieChangeFeed.poll(since);
+    }
+
     @PostMapping(value = "/add-movie")
     @Operation(summary = "Add a movie",
                description = "Add a movie to the database",
@@ -98,6 +320,15 @@ public class MovieController {
         return ResponseEntity.status(HttpStatus.CREATED).body(savedMovie);
     }
 
+    @PostMapping(value = "/import-movies", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MovieImportService.TEXT_CSV_VALUE})
+    @Operation(summary = "Import movies",
+               description = "Import a catalog given as NDJSON or as CSV with a header line, invalid lines are skipped and reported",
+               tags = {"Post"})
+    public ResponseEntity<MovieImportReportDTO> importMovies(InputStream body,
+                                                             @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType) {
+        return ResponseEntity.ok(movieImportService.importMovies(body, contentType));
+    }
+
     @PutMapping("/update-movie/{idMovie}")
     @Operation(summary = "Update a movie",
                description = "Update a movie in the database",
@@ -135,4 +366,13 @@ public class MovieController {
         movieService.deleteMovie(idMovie);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Sets the catalog ETag header, and answers 304 when the client's copy is still current; the caller then
+     * returns null without running its query. No Last-Modified is sent: HTTP dates only have whole seconds,
+     * which cannot tell apart two changes made in the same second.
+     */
+    private boolean notModified(WebRequest request) {
+        return request.checkNotModified(catalogVersion.eTag());
+    }
 }
@@ -0,0 +1,26 @@
+package com.microservice.movies.controller;
+
+import com.microservice.movies.dto.MovieFields;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * Applies the {@code fields} parameter of movie reads to the JSON written for them, so only the requested
+ * movie properties are serialized whatever the endpoint returns.
+ */
+@ControllerAdvice(assignableTypes = MovieController.class)
+public class MovieFieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            bodyContainer.setFilters(MovieFields.parse(servletRequest.getServletRequest().getParameter("fields")).filters());
+        }
+    }
+}
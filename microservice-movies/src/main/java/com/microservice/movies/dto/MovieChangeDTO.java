@@ -0,0 +1,18 @@
+package com.microservice.movies.dto;
+
+import com.microservice.movies.model.MovieChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieChangeDTO {
+
+    private long version;
+    private Integer idMovie;
+    private MovieChangeType type;
+}
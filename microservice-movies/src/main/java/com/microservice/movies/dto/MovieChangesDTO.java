@@ -0,0 +1,19 @@
+package com.microservice.movies.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieChangesDTO {
+
+    private long version;
+    private boolean resync;
+    private List<MovieChangeDTO> changes;
+}
@@ -0,0 +1,68 @@
+package com.microservice.movies.dto;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.microservice.movies.exception.InvalidMovieDataException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The properties of a movie a client asked for with the {@code fields} parameter, e.g.
+ * {@code fields=idMovie,title,imageUrl}.
+ * <p>
+ * When only card properties are requested ({@code idMovie}, {@code title}, {@code imageUrl}) the service
+ * reads them with a narrow projection instead of loading every column, and responses serialize only the
+ * requested properties through the {@link #FILTER} Jackson filter.
+ */
+public final class MovieFields {
+
+    public static final String FILTER = "movieFields";
+    private static final List<String> NAMES =
+            List.of("idMovie", "title", "description", "duration", "imageUrl", "idGenre", "genreName");
+    private static final Set<String> CARD = Set.of("idMovie", "title", "imageUrl");
+
+    public static final MovieFields ALL = new MovieFields(new TreeSet<>(NAMES));
+
+    private final Set<String> names;
+
+    private MovieFields(Set<String> names) {
+        this.names = names;
+    }
+
+    /**
+     * Parses a comma separated list of property names; a missing or blank list means every property.
+     */
+    public static MovieFields parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> names = new TreeSet<>();
+        for (String name : Arrays.stream(fields.split(",")).map(String::trim).filter(name -> !name.isEmpty()).toList()) {
+            if (!NAMES.contains(name)) {
+                throw new InvalidMovieDataException("Unknown movie field " + name + ", the fields are " + NAMES + ".");
+            }
+            names.add(name);
+        }
+        return names.size() == NAMES.size() ? ALL : new MovieFields(names);
+    }
+
+    public boolean isCard() {
+        return CARD.containsAll(names);
+    }
+
+    public FilterProvider filters() {
+        SimpleBeanPropertyFilter filter = this == ALL
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(names);
+        return new SimpleFilterProvider().addFilter(FILTER, filter);
+    }
+
+    @Override
+    public String toString() {
+        return String.join(",", names);
+    }
+}
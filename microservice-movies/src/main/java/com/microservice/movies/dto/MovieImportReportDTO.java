@@ -0,0 +1,19 @@
+package com.microservice.movies.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieImportReportDTO {
+
+    private long imported;
+    private long rejected;
+    private List<MovieImportErrorDTO> errors;
+}
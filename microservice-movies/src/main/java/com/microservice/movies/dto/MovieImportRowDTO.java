@@ -0,0 +1,17 @@
+package com.microservice.movies.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class MovieImportRowDTO {
+
+    private String title;
+    private String description;
+    private Integer duration;
+    private String imageUrl;
+    private Integer idGenre;
+}
@@ -0,0 +1,18 @@
+package com.microservice.movies.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieScrollDTO {
+
+    private List<MovieWithGenreDTO> content;
+    private String nextCursor;
+}
@@ -0,0 +1,16 @@
+package com.microservice.movies.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieTitleDTO {
+
+    private Integer idMovie;
+    private String title;
+}
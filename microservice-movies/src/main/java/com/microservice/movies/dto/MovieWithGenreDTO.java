@@ -1,10 +1,14 @@
 package com.microservice.movies.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Getter
 @Setter
+@NoArgsConstructor
+@JsonFilter(MovieFields.FILTER)
 public class MovieWithGenreDTO {
 
     private Integer idMovie;
@@ -12,5 +16,22 @@ public class MovieWithGenreDTO {
     private String description;
     private int duration;
     private String imageUrl;
+    private Integer idGenre;
     private String genreName;
+
+    public MovieWithGenreDTO(Integer idMovie, String title, String description, Integer duration,
+                             String imageUrl, Integer idGenre) {
+        this.idMovie = idMovie;
+        this.title = title;
+        this.description = description;
+        this.duration = duration;
+        this.imageUrl = imageUrl;
+        this.idGenre = idGenre;
+    }
+
+    public MovieWithGenreDTO(Integer idMovie, String title, String imageUrl) {
+        this.idMovie = idMovie;
+        this.title = title;
+        this.imageUrl = imageUrl;
+    }
 }
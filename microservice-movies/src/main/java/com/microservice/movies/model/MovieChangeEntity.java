@@ -0,0 +1,33 @@
+package com.microservice.movies.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "movie_changes", indexes = {
+        @Index(name = "idx_movie_changes_changed_at", columnList = "changed_at")
+})
+public class MovieChangeEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "id_movie", nullable = false)
+    private Integer idMovie;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private MovieChangeType type;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+}
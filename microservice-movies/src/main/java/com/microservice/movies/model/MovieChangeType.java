@@ -0,0 +1,7 @@
+package com.microservice.movies.model;
+
+public enum MovieChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -9,7 +9,10 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 @Entity
-@Table(name = "movies")
+@Table(name = "movies", indexes = {
+        @Index(name = "idx_movies_title", columnList = "title, id_movie"),
+        @Index(name = "idx_movies_genre", columnList = "id_genre, id_movie")
+})
 public class MovieEntity {
 
     @Id
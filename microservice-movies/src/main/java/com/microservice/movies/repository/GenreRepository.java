@@ -0,0 +1,10 @@
+package com.microservice.movies.repository;
+
+import com.microservice.movies.model.GenreEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+
+@Repository
+public interface GenreRepository extends JpaRepository<GenreEntity, Integer> {
+}
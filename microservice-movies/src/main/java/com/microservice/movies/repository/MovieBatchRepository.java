@@ -0,0 +1,57 @@
+package com.microservice.movies.repository;
+
+import com.microservice.movies.model.MovieEntity;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Inserts movies with plain JDBC batches. Ids stay generated by the identity column: the rows are not
+ * returned to Hibernate, so nothing needs them before the insert and the batch is not split per row. The
+ * generated ids are read back from the batch, in the order of the movies.
+ */
+@Repository
+public class MovieBatchRepository {
+
+    private static final String INSERT_MOVIE =
+            "INSERT INTO movies (title, description, duration, image_url, id_genre) VALUES (?, ?, ?, ?, ?)";
+    private static final String ID_MOVIE = "id_movie";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MovieBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional
+    public List<Integer> insertAll(List<MovieEntity> movies) {
+        KeyHolder generatedIds = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_MOVIE, new String[]{ID_MOVIE}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        MovieEntity movie = movies.get(i);
+                        statement.setString(1, movie.getTitle());
+                        statement.setString(2, movie.getDescription());
+                        statement.setInt(3, movie.getDuration());
+                        statement.setString(4, movie.getImageUrl());
+                        statement.setInt(5, movie.getGenreEntity().getIdGenre());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return movies.size();
+                    }
+                }, generatedIds);
+        return generatedIds.getKeyList().stream()
+                .map(key -> ((Number) key.get(ID_MOVIE)).intValue())
+                .toList();
+    }
+}
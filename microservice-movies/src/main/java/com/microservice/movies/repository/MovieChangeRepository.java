@@ -0,0 +1,31 @@
+package com.microservice.movies.repository;
+
+import com.microservice.movies.model.MovieChangeEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface MovieChangeRepository extends JpaRepository<MovieChangeEntity, Long> {
+
+    List<MovieChangeEntity> findByVersionGreaterThanOrderByVersion(Long version, Limit limit);
+
+    List<MovieChangeEntity> findByOrderByVersionDesc(Limit limit);
+
+    /**
+     * Deletes the changes made before {@code before}, except the latest one, so the oldest version left always
+     * tells how far back the table goes.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM MovieChangeEntity c WHERE c.changedAt < :before " +
+           "AND c.version < (SELECT MAX(l.version) FROM MovieChangeEntity l)")
+    int deleteChangedBefore(@Param("before") Instant before);
+}
@@ -1,22 +1,127 @@
 package com.microservice.movies.repository;
 
+import com.microservice.movies.dto.MovieTitleDTO;
+import com.microservice.movies.dto.MovieWithGenreDTO;
 import com.microservice.movies.model.MovieEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 
 @Repository
 public interface MovieRepository extends JpaRepository<MovieEntity, Integer> {
 
-    Page<MovieEntity> findAll(Pageable pageable);
-    Page<MovieEntity> findByGenreEntityIdGenre(Integer idGenre, Pageable pageable);
-    Page<MovieEntity> findByTitleContainingIgnoreCase(String title, Pageable pageable);
+    String MOVIE_WITH_GENRE = "new com.microservice.movies.dto.MovieWithGenreDTO(" +
+            "m.idMovie, m.title, m.description, m.duration, m.imageUrl, m.genreEntity.idGenre)";
+    String MOVIE_CARD = "new com.microservice.movies.dto.MovieWithGenreDTO(m.idMovie, m.title, m.imageUrl)";
+    String EXPORT_FETCH_SIZE = "1000";
+    /**
+     * Case-insensitive "title contains" condition. Like the derived {@code Containing} queries, it escapes
+     * {@code %}, {@code _} and the escape character in {@code :title}, so they only match themselves.
+     */
+    String TITLE_CONTAINS = "lower(m.title) LIKE lower(concat('%', :#{escape(#title)}, '%')) " +
+            "ESCAPE :#{escapeCharacter()}";
+
     boolean existsByIdMovie(Integer idMovie);
-    MovieEntity findByIdMovie(Integer idMovie);
-    boolean existsByGenreEntityIdGenre(Integer idGenre);
-    boolean existsByTitleContainingIgnoreCase(String title);
     MovieEntity save(MovieEntity movieEntity);
-    void deleteById(Integer idMovie);
+
+    @Modifying
+    @Query("DELETE FROM MovieEntity m WHERE m.idMovie = :idMovie")
+    int deleteByIdMovie(@Param("idMovie") Integer idMovie);
+
+    @Query("SELECT new com.microservice.movies.dto.MovieTitleDTO(m.idMovie, m.title) FROM MovieEntity m")
+    List<MovieTitleDTO> findAllTitles();
+
+    @Query(value = "SELECT " + MOVIE_WITH_GENRE + " FROM MovieEntity m",
+           countQuery = "SELECT count(m) FROM MovieEntity m")
+    Page<MovieWithGenreDTO> findAllWithGenre(Pageable pageable);
+
+    /**
+     * Reads the whole catalog through a forward-only cursor of {@code EXPORT_FETCH_SIZE} rows. The stream must be
+     * consumed and closed inside a transaction, which PostgreSQL needs to use a cursor instead of loading every row.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT " + MOVIE_WITH_GENRE + " FROM MovieEntity m ORDER BY m.idMovie")
+    Stream<MovieWithGenreDTO> streamAllWithGenre();
+
+    @Query(value = "SELECT " + MOVIE_CARD + " FROM MovieEntity m",
+           countQuery = "SELECT count(m) FROM MovieEntity m")
+    Page<MovieWithGenreDTO> findAllCards(Pageable pageable);
+
+    @Query(value = "SELECT " + MOVIE_CARD + " FROM MovieEntity m WHERE m.genreEntity.idGenre = :idGenre",
+           countQuery = "SELECT count(m) FROM MovieEntity m WHERE m.genreEntity.idGenre = :idGenre")
+    Page<MovieWithGenreDTO> findCardsByIdGenre(@Param("idGenre") Integer idGenre, Pageable pageable);
+
+    @Query("SELECT " + MOVIE_CARD + " FROM MovieEntity m WHERE m.idMovie IN :idMovies")
+    List<MovieWithGenreDTO> findCardsByIdMovieIn(@Param("idMovies") Collection<Integer> idMovies);
+
+    @Query("SELECT " + MOVIE_CARD + " FROM MovieEntity m")
+    Slice<MovieWithGenreDTO> findSliceCards(Pageable pageable);
+
+    @Query("SELECT " + MOVIE_CARD + " FROM MovieEntity m WHERE m.genreEntity.idGenre = :idGenre")
+    Slice<MovieWithGenreDTO> findSliceCardsByIdGenre(@Param("idGenre") Integer idGenre, Pageable pageable);
+
+    @Query("SELECT " + MOVIE_WITH_GENRE + " FROM MovieEntity m")
+    Slice<MovieWithGenreDTO> findSliceWithGenre(Pageable pageable);
+
+    @Query("SELECT " + MOVIE_WITH_GENRE + " FROM MovieEntity m WHERE m.genreEntity.idGenre = :idGenre")
+    Slice<MovieWithGenreDTO> findSliceWithGenreByIdGenre(@Param("idGenre") Integer idGenre, Pageable pageable);
+
+    @Query("SELECT " + MOVIE_WITH_GENRE + " FROM MovieEntity m " +
+           "WHERE " + TITLE_CONTAINS)
+    Slice<MovieWithGenreDTO> findSliceWithGenreByTitleContaining(@Param("title") String title, Pageable pageable);
+
+    @Query("SELECT " + MOVIE_WITH_GENRE + " FROM MovieEntity m WHERE m.idMovie = :idMovie")
+    Optional<MovieWithGenreDTO> findWithGenreByIdMovie(@Param("idMovie") Integer idMovie);
+
+    @Query("SELECT " + MOVIE_WITH_GENRE + " FROM MovieEntity m WHERE m.idMovie IN :idMovies")
+    List<MovieWithGenreDTO> findWithGenreByIdMovieIn(@Param("idMovies") Collection<Integer> idMovies);
+
+    @Query(value = "SELECT " + MOVIE_WITH_GENRE + " FROM MovieEntity m WHERE m.genreEntity.idGenre = :idGenre",
+           countQuery = "SELECT count(m) FROM MovieEntity m WHERE m.genreEntity.idGenre = :idGenre")
+    Page<MovieWithGenreDTO> findWithGenreByIdGenre(@Param("idGenre") Integer idGenre, Pageable pageable);
+
+    @Query(value = "SELECT " + MOVIE_WITH_GENRE + " FROM MovieEntity m WHERE " + TITLE_CONTAINS,
+           countQuery = "SELECT count(m) FROM MovieEntity m WHERE " + TITLE_CONTAINS)
+    Page<MovieWithGenreDTO> findWithGenreByTitleContaining(@Param("title") String title, Pageable pageable);
+
+    @Query("SELECT " + MOVIE_WITH_GENRE + " FROM MovieEntity m " +
+           "WHERE m.idMovie > :afterId ORDER BY m.idMovie")
+    List<MovieWithGenreDTO> findWithGenreAfter(@Param("afterId") Integer afterId, Limit limit);
+
+    @Query("SELECT " + MOVIE_WITH_GENRE + " FROM MovieEntity m " +
+           "WHERE m.title >= :afterTitle AND (m.title > :afterTitle OR m.idMovie > :afterId) " +
+           "ORDER BY m.title, m.idMovie")
+    List<MovieWithGenreDTO> findWithGenreOrderByTitleAfter(@Param("afterTitle") String afterTitle,
+                                                           @Param("afterId") Integer afterId,
+                                                           Limit limit);
+
+    @Query("SELECT " + MOVIE_WITH_GENRE + " FROM MovieEntity m " +
+           "WHERE m.genreEntity.idGenre = :idGenre AND m.idMovie > :afterId ORDER BY m.idMovie")
+    List<MovieWithGenreDTO> findWithGenreByIdGenreAfter(@Param("idGenre") Integer idGenre,
+                                                        @Param("afterId") Integer afterId,
+                                                        Limit limit);
+
+    @Query("SELECT " + MOVIE_WITH_GENRE + " FROM MovieEntity m " +
+           "WHERE " + TITLE_CONTAINS + " AND m.idMovie > :afterId ORDER BY m.idMovie")
+    List<MovieWithGenreDTO> findWithGenreByTitleContainingAfter(@Param("title") String title,
+                                                                @Param("afterId") Integer afterId,
+                                                                Limit limit);
 }
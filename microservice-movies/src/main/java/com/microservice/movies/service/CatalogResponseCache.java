@@ -0,0 +1,112 @@
+package com.microservice.movies.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.microservice.movies.dto.MovieFields;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Cache of serialized JSON responses for the first {@code movies.response-cache.max-page} pages of the
+ * catalog, keyed by catalog ETag, endpoint, parameters and requested {@link MovieFields}.
+ * <p>
+ * The ETag comes from {@link CatalogVersion}, which follows the committed state of the catalog on every
+ * instance, so a change made anywhere stops the entries serialized before it from being read. Those entries
+ * are dropped as soon as a read sees the new ETag. A hit returns the stored bytes without running the query
+ * or building DTOs. At most {@code movies.response-cache.max-entries} entries are kept; once the cache is
+ * full, Caffeine evicts the pages read least often to make room. Hits, misses, hit ratio and the bytes
+ * served from the cache are published as {@code movies.response-cache.*} metrics.
+ */
+@Component
+public class CatalogResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final CatalogVersion catalogVersion;
+    private final int maxPage;
+    private final Cache<String, byte[]> entries;
+    private final AtomicReference<String> cachedETag = new AtomicReference<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    public CatalogResponseCache(ObjectMapper objectMapper, CatalogVersion catalogVersion, MeterRegistry meterRegistry,
+                                @Value("${movies.response-cache.max-page:3}") int maxPage,
+                                @Value("${movies.response-cache.max-entries:256}") int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.catalogVersion = catalogVersion;
+        this.maxPage = maxPage;
+        // Maintenance runs on the calling thread: the cache is small, and the size stays exact
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .executor(Runnable::run)
+                .build();
+
+        FunctionCounter.builder("movies.response-cache.hits", hits, AtomicLong::get)
+                .description("Catalog responses served from serialized bytes")
+                .register(meterRegistry);
+        FunctionCounter.builder("movies.response-cache.misses", misses, AtomicLong::get)
+                .description("Cacheable catalog responses that had to be queried and serialized")
+                .register(meterRegistry);
+        FunctionCounter.builder("movies.response-cache.bytes-saved", bytesSaved, AtomicLong::get)
+                .description("Response bytes served without serializing them")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("movies.response-cache.hit-ratio", this, CatalogResponseCache::hitRatio)
+                .register(meterRegistry);
+        Gauge.builder("movies.response-cache.size", entries, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the serialized response of {@code endpoint} for the given page, loading and serializing it with
+     * {@code loader} when it is not cached or the catalog changed since. Pages past
+     * {@code movies.response-cache.max-page} are serialized without being cached.
+     */
+    public byte[] get(String endpoint, int page, int size, MovieFields fields, Supplier<?> loader) {
+        if (page >= maxPage) {
+            return serialize(loader.get(), fields);
+        }
+        // The ETag is read before the query, so a change committed meanwhile leaves this entry already stale.
+        String eTag = catalogVersion.eTag();
+        String previous = cachedETag.getAndSet(eTag);
+        if (previous != null && !previous.equals(eTag)) {
+            entries.invalidateAll();
+        }
+        String key = eTag + " " + endpoint + "?page=" + page + "&size=" + size + "&fields=" + fields;
+        byte[] body = entries.getIfPresent(key);
+        if (body != null) {
+            hits.incrementAndGet();
+            bytesSaved.addAndGet(body.length);
+            return body;
+        }
+
+        misses.incrementAndGet();
+        // Loaded outside the cache, so a slow query does not hold a Caffeine lock; SingleFlight coalesces it
+        body = serialize(loader.get(), fields);
+        entries.put(key, body);
+        return body;
+    }
+
+    public double hitRatio() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    private byte[] serialize(Object response, MovieFields fields) {
+        try {
+            return objectMapper.writer(fields.filters()).writeValueAsBytes(response);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("The response could not be serialized.", exception);
+        }
+    }
+}
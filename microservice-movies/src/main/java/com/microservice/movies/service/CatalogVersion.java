@@ -0,0 +1,30 @@
+package com.microservice.movies.service;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Version of the whole movie catalog, used as the validator of every catalog read.
+ * <p>
+ * The ETag is derived from persisted state only: the committed changes merged by the {@link MovieChangeFeed},
+ * which move with every movie change whichever instance made it, and the checksum of the genres held by the
+ * {@link GenreDictionary}. Every instance therefore hands out the same ETag for the same catalog, at most
+ * one feed sync or genre refresh after a change, and the ETag survives restarts. It does not use the resume
+ * version of the feed, which waits behind a missing version and would keep the ETag of changes made since.
+ */
+@Component
+public class CatalogVersion {
+
+    private final MovieChangeFeed movieChangeFeed;
+    private final GenreDictionary genreDictionary;
+
+    public CatalogVersion(MovieChangeFeed movieChangeFeed, GenreDictionary genreDictionary) {
+        this.movieChangeFeed = movieChangeFeed;
+        this.genreDictionary = genreDictionary;
+    }
+
+    public String eTag() {
+        MovieChangeFeed.Committed committed = movieChangeFeed.committed();
+        return "\"" + committed.version() + "." + committed.changes() + "-"
+                + Integer.toHexString(genreDictionary.checksum()) + "\"";
+    }
+}
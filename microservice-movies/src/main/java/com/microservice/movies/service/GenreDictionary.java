@@ -0,0 +1,80 @@
+package com.microservice.movies.service;
+
+import com.microservice.movies.model.GenreEntity;
+import com.microservice.movies.repository.GenreRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read-only copy of the genres table, so that genre checks and genre names never query the database.
+ * <p>
+ * Names are kept in an array indexed by genre id, which stays small because ids come from an identity
+ * column. The array is loaded before the application serves requests and never modified: every
+ * {@code movies.genre-dictionary.refresh-interval} a new one is built and, if a genre changed, swapped in
+ * with a single write.
+ */
+@Component
+public class GenreDictionary {
+
+    private static final Logger log = LoggerFactory.getLogger(GenreDictionary.class);
+
+    private final GenreRepository genreRepository;
+    private volatile String[] names = new String[0];
+    private volatile int checksum = Arrays.hashCode(names);
+
+    public GenreDictionary(GenreRepository genreRepository) {
+        this.genreRepository = genreRepository;
+    }
+
+    public boolean contains(int idGenre) {
+        return nameOf(idGenre) != null;
+    }
+
+    public String nameOf(Integer idGenre) {
+        String[] current = names;
+        if (idGenre == null || idGenre < 0 || idGenre >= current.length) {
+            return null;
+        }
+        return current[idGenre];
+    }
+
+    public int size() {
+        int size = 0;
+        for (String name : names) {
+            if (name != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Checksum of the genre ids and names, equal on every instance that loaded the same genres.
+     */
+    public int checksum() {
+        return checksum;
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${movies.genre-dictionary.refresh-interval:PT5M}",
+               initialDelayString = "${movies.genre-dictionary.refresh-interval:PT5M}")
+    public void refresh() {
+        List<GenreEntity> genres = genreRepository.findAll();
+        int maxId = genres.stream().mapToInt(GenreEntity::getIdGenre).max().orElse(-1);
+        String[] loaded = new String[maxId + 1];
+        for (GenreEntity genre : genres) {
+            loaded[genre.getIdGenre()] = genre.getNameGenre();
+        }
+        if (!Arrays.equals(names, loaded)) {
+            names = loaded;
+            checksum = Arrays.hashCode(loaded);
+        }
+        log.debug("Loaded {} genres", genres.size());
+    }
+}
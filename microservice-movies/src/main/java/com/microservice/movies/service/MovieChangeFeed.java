@@ -0,0 +1,330 @@
+package com.microservice.movies.service;
+
+import com.microservice.movies.dto.MovieChangeDTO;
+import com.microservice.movies.dto.MovieChangesDTO;
+import com.microservice.movies.exception.InvalidMovieDataException;
+import com.microservice.movies.model.MovieChangeEntity;
+import com.microservice.movies.repository.MovieChangeRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Feed of movie creations, updates and deletions, so consumers caching movies can invalidate exactly the
+ * movies that changed.
+ * <p>
+ * Every change is written to the {@code movie_changes} table in the transaction that makes it, and the id of
+ * that row is the version of the change. Once the transaction has committed the change is merged, by version,
+ * into a ring buffer of the last {@code movies.changes.capacity} changes, which answers the reads. Changes made
+ * by other instances are picked up from the table every {@code movies.changes.sync-interval}, and rows older
+ * than {@code movies.changes.retention} are deleted, except the latest one.
+ * <p>
+ * Versions are allocated before commit, so a change can commit after a higher version. A version missing below
+ * the latest one is therefore kept as a gap for {@code movies.changes.settle-timeout} after the change above it,
+ * and the feed only hands out changes up to the first open gap: the version returned to consumers never passes
+ * a change that may still commit. Every sync re-reads the table from that point. A gap is dropped, as rolled
+ * back, once its timeout is over; a change committing even later is still merged, and consumers that moved past
+ * it are told to resync.
+ * <p>
+ * {@link #poll(long)} answers at once when there are changes after {@code since}, and otherwise waits up to
+ * {@code movies.changes.poll-timeout} for the next one. A consumer asking for changes that already left the
+ * ring is told to resync, i.e. to drop everything it cached. {@code since = -1} returns the current version
+ * without changes, to start following the feed.
+ */
+@Component
+public class MovieChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieChangeFeed.class);
+
+    private record Waiter(long since, DeferredResult<MovieChangesDTO> result) {
+    }
+
+    /**
+     * The committed changes merged so far: the highest version, and how many changes are merged among the
+     * {@code movies.changes.capacity} versions up to it.
+     */
+    public record Committed(long version, int changes) {
+    }
+
+    private final MovieChangeRepository movieChangeRepository;
+    private final int capacity;
+    private final Duration pollTimeout;
+    private final Duration retention;
+    private final Duration settleTimeout;
+    private final Clock clock;
+    private final MovieChangeDTO[] ring;
+    private final List<Waiter> waiters = new ArrayList<>();
+    /** Versions missing below {@code latestVersion}, with the time after which they count as rolled back. */
+    private final NavigableMap<Long, Instant> gaps = new TreeMap<>();
+    private int head;
+    private int size;
+    private long latestVersion;
+    private long evictedVersion;
+    private volatile long version;
+    private volatile Committed committed = new Committed(0, 0);
+    /** Consumers whose version is in this range passed a change that committed after its gap was dropped. */
+    private long missedFrom;
+    private long missedTo = -1;
+
+    @Autowired
+    public MovieChangeFeed(MovieChangeRepository movieChangeRepository,
+                           @Value("${movies.changes.capacity:4096}") int capacity,
+                           @Value("${movies.changes.poll-timeout:PT30S}") Duration pollTimeout,
+                           @Value("${movies.changes.retention:P7D}") Duration retention,
+                           @Value("${movies.changes.settle-timeout:PT1M}") Duration settleTimeout) {
+        this(movieChangeRepository, capacity, pollTimeout, retention, settleTimeout, Clock.systemUTC());
+    }
+
+    MovieChangeFeed(MovieChangeRepository movieChangeRepository, int capacity, Duration pollTimeout,
+                    Duration retention, Duration settleTimeout, Clock clock) {
+        this.movieChangeRepository = movieChangeRepository;
+        this.capacity = capacity;
+        this.pollTimeout = pollTimeout;
+        this.retention = retention;
+        this.settleTimeout = settleTimeout;
+        this.clock = clock;
+        this.ring = new MovieChangeDTO[capacity];
+    }
+
+    /**
+     * Fills the ring with the latest changes of the table. Consumers behind the oldest of them are told to
+     * resync, whether the older changes were pruned from the table or only left out of the ring.
+     */
+    @PostConstruct
+    public synchronized void load() {
+        List<MovieChangeEntity> latest = movieChangeRepository.findByOrderByVersionDesc(Limit.of(capacity));
+        if (!latest.isEmpty()) {
+            evictedVersion = latest.get(latest.size() - 1).getVersion() - 1;
+            latestVersion = evictedVersion;
+        }
+        for (int i = latest.size() - 1; i >= 0; i--) {
+            append(latest.get(i));
+        }
+        dropExpiredGaps();
+    }
+
+    @Scheduled(fixedDelayString = "${movies.changes.sync-interval:PT5S}",
+               initialDelayString = "${movies.changes.sync-interval:PT5S}")
+    public void sync() {
+        long after;
+        synchronized (this) {
+            after = watermark();
+        }
+        for (MovieChangeEntity change : movieChangeRepository.findByVersionGreaterThanOrderByVersion(after, Limit.of(capacity))) {
+            append(change);
+        }
+        synchronized (this) {
+            dropExpiredGaps();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "PT1H")
+    public void prune() {
+        movieChangeRepository.deleteChangedBefore(clock.instant().minus(retention));
+    }
+
+    /**
+     * Records the change in the transaction publishing the event, and makes it visible once that transaction
+     * commits.
+     */
+    @EventListener
+    public void onMovieChanged(MovieChangedEvent event) {
+        MovieChangeEntity change = new MovieChangeEntity();
+        change.setIdMovie(event.idMovie());
+        change.setType(event.type());
+        change.setChangedAt(clock.instant());
+        MovieChangeEntity recorded = movieChangeRepository.save(change);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    append(recorded);
+                }
+            });
+        } else {
+            append(recorded);
+        }
+    }
+
+    public DeferredResult<MovieChangesDTO> poll(long since) {
+        if (since < -1) {
+            throw new InvalidMovieDataException("The version must be -1 or greater.");
+        }
+        DeferredResult<MovieChangesDTO> result = new DeferredResult<>(pollTimeout.toMillis(), () -> changesSince(since));
+        synchronized (this) {
+            MovieChangesDTO changes = changesSince(since);
+            if (since == -1 || changes.isResync() || !changes.getChanges().isEmpty()) {
+                result.setResult(changes);
+                return result;
+            }
+            Waiter waiter = new Waiter(since, result);
+            waiters.add(waiter);
+            result.onCompletion(() -> removeWaiter(waiter));
+        }
+        return result;
+    }
+
+    /**
+     * The latest version consumers may resume from. It stops below a version that may still commit, so it can
+     * stay behind committed changes for up to {@code movies.changes.settle-timeout}.
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Moves with every committed change as soon as it is merged, including a late one filling a gap. All
+     * instances report the same value once they have merged the same changes, so it identifies the committed
+     * state of the catalog.
+     */
+    public Committed committed() {
+        return committed;
+    }
+
+    public synchronized MovieChangesDTO changesSince(long since) {
+        if (since == -1) {
+            return new MovieChangesDTO(version, false, List.of());
+        }
+        if (since < evictedVersion || (since >= missedFrom && since <= missedTo)) {
+            return new MovieChangesDTO(version, true, List.of());
+        }
+        List<MovieChangeDTO> changes = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            MovieChangeDTO change = ring[(head + i) % capacity];
+            if (change.getVersion() > since && change.getVersion() <= version) {
+                changes.add(change);
+            }
+        }
+        return new MovieChangesDTO(version, false, changes);
+    }
+
+    /**
+     * The version consumers may resume from: every change at or below it has been merged into the ring.
+     */
+    private long watermark() {
+        return gaps.isEmpty() ? latestVersion : gaps.firstKey() - 1;
+    }
+
+    /**
+     * Merges a committed change into the ring by version. Versions skipped above the latest one become gaps,
+     * and a change filling a gap moves the watermark up to the next one.
+     */
+    private synchronized void append(MovieChangeEntity entity) {
+        long version = entity.getVersion();
+        long watermark = watermark();
+        boolean missed = false;
+        if (version > latestVersion) {
+            Instant settled = entity.getChangedAt().plus(settleTimeout);
+            for (long missing = Math.max(latestVersion + 1, version - capacity); missing < version; missing++) {
+                gaps.put(missing, settled);
+            }
+            latestVersion = version;
+        } else if (gaps.remove(version) == null) {
+            if (contains(version)) {
+                return;
+            }
+            if (version <= watermark) {
+                log.warn("Movie change {} committed after its gap was dropped; consumers past it must resync", version);
+                missedFrom = missedTo < 0 ? version : Math.min(missedFrom, version);
+                missedTo = watermark;
+                missed = true;
+            }
+        }
+        insert(toChange(entity));
+        committed = new Committed(latestVersion, changesAbove(latestVersion - capacity));
+        version = watermark();
+        if (missed || version != watermark) {
+            notifyWaiters();
+        }
+    }
+
+    private boolean contains(long version) {
+        for (int i = size - 1; i >= 0; i--) {
+            long current = ring[(head + i) % capacity].getVersion();
+            if (current <= version) {
+                return current == version;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Inserts the change at its place by version, evicting the oldest change when the ring is full. A change
+     * older than every change of a full ring only moves {@code evictedVersion}.
+     */
+    private void insert(MovieChangeDTO change) {
+        if (size == capacity) {
+            if (change.getVersion() < ring[head].getVersion()) {
+                evictedVersion = Math.max(evictedVersion, change.getVersion());
+                return;
+            }
+            evictedVersion = ring[head].getVersion();
+            head = (head + 1) % capacity;
+            size--;
+        }
+        int position = size;
+        while (position > 0 && ring[(head + position - 1) % capacity].getVersion() > change.getVersion()) {
+            ring[(head + position) % capacity] = ring[(head + position - 1) % capacity];
+            position--;
+        }
+        ring[(head + position) % capacity] = change;
+        size++;
+    }
+
+    private int changesAbove(long floor) {
+        int changes = 0;
+        for (int i = size - 1; i >= 0 && ring[(head + i) % capacity].getVersion() > floor; i--) {
+            changes++;
+        }
+        return changes;
+    }
+
+    private void dropExpiredGaps() {
+        long watermark = watermark();
+        Instant now = clock.instant();
+        gaps.values().removeIf(settled -> settled.isBefore(now));
+        version = watermark();
+        if (version != watermark) {
+            notifyWaiters();
+        }
+    }
+
+    private void notifyWaiters() {
+        Iterator<Waiter> pending = waiters.iterator();
+        while (pending.hasNext()) {
+            Waiter waiter = pending.next();
+            MovieChangesDTO changes = changesSince(waiter.since());
+            if (changes.isResync() || !changes.getChanges().isEmpty()) {
+                pending.remove();
+                waiter.result().setResult(changes);
+            }
+        }
+    }
+
+    private synchronized void removeWaiter(Waiter waiter) {
+        waiters.remove(waiter);
+    }
+
+    private static MovieChangeDTO toChange(MovieChangeEntity change) {
+        return new MovieChangeDTO(change.getVersion(), change.getIdMovie(), change.getType());
+    }
+}
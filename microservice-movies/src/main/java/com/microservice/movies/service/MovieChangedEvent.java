@@ -0,0 +1,21 @@
+package com.microservice.movies.service;
+
+import com.microservice.movies.model.MovieChangeType;
+
+/**
+ * Published when a movie is saved, updated or deleted; {@code title} is null for a deleted movie.
+ */
+public record MovieChangedEvent(Integer idMovie, String title, MovieChangeType type) {
+
+    public static MovieChangedEvent created(Integer idMovie, String title) {
+        return new MovieChangedEvent(idMovie, title, MovieChangeType.CREATED);
+    }
+
+    public static MovieChangedEvent updated(Integer idMovie, String title) {
+        return new MovieChangedEvent(idMovie, title, MovieChangeType.UPDATED);
+    }
+
+    public static MovieChangedEvent deleted(Integer idMovie) {
+        return new MovieChangedEvent(idMovie, null, MovieChangeType.DELETED);
+    }
+}
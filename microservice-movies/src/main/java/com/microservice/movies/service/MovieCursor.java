@@ -0,0 +1,63 @@
+package com.microservice.movies.service;
+
+import com.microservice.movies.dto.MovieWithGenreDTO;
+import com.microservice.movies.exception.InvalidMovieDataException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Continuation token of the scroll endpoints. It holds the sort key of the last movie of a slice, so the
+ * next slice is read with a seek on that key instead of an offset. Clients receive it as URL-safe Base64
+ * and must treat it as opaque.
+ */
+record MovieCursor(Sort sort, Integer idMovie, String title) {
+
+    enum Sort {
+        ID, TITLE;
+
+        static Sort of(String sort) {
+            for (Sort value : values()) {
+                if (value.name().equalsIgnoreCase(sort)) {
+                    return value;
+                }
+            }
+            throw new InvalidMovieDataException("Movies can only be sorted by id or title.");
+        }
+    }
+
+    private static final String SEPARATOR = ":";
+
+    static MovieCursor first(Sort sort) {
+        return new MovieCursor(sort, 0, "");
+    }
+
+    static MovieCursor after(MovieWithGenreDTO movie, Sort sort) {
+        return new MovieCursor(sort, movie.getIdMovie(), sort == Sort.TITLE ? movie.getTitle() : "");
+    }
+
+    /**
+     * Decodes a token handed out for the same sort; a missing token starts from the beginning.
+     */
+    static MovieCursor decode(String token, Sort sort) {
+        if (token == null || token.isEmpty()) {
+            return first(sort);
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                    .split(SEPARATOR, 3);
+            if (parts.length != 3 || Sort.valueOf(parts[0]) != sort) {
+                throw new IllegalArgumentException();
+            }
+            return new MovieCursor(sort, Integer.valueOf(parts[1]), parts[2]);
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidMovieDataException("The cursor " + token + " is not valid for movies sorted by "
+                    + sort.name().toLowerCase() + ".");
+        }
+    }
+
+    String encode() {
+        String key = sort.name() + SEPARATOR + idMovie + SEPARATOR + title;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+}
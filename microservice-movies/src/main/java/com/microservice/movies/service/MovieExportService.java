@@ -0,0 +1,61 @@
+package com.microservice.movies.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.microservice.movies.dto.MovieFields;
+import com.microservice.movies.dto.MovieWithGenreDTO;
+import com.microservice.movies.repository.MovieRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole catalog as NDJSON, one movie per line in id order. Rows are read through a database
+ * cursor and each one is serialized as soon as it is read; the output is flushed once per fetched block of
+ * rows, so the heap used does not grow with the catalog.
+ */
+@Service
+public class MovieExportService {
+
+    private static final int FLUSH_EVERY = Integer.parseInt(MovieRepository.EXPORT_FETCH_SIZE);
+
+    private final MovieRepository movieRepository;
+    private final GenreDictionary genreDictionary;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+
+    public MovieExportService(MovieRepository movieRepository, GenreDictionary genreDictionary, ObjectMapper objectMapper) {
+        this.movieRepository = movieRepository;
+        this.genreDictionary = genreDictionary;
+        this.objectMapper = objectMapper;
+        this.rowWriter = objectMapper.writerFor(MovieWithGenreDTO.class)
+                .with(MovieFields.ALL.filters())
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportMovies(OutputStream outputStream) throws IOException {
+        long written = 0;
+        try (Stream<MovieWithGenreDTO> movies = movieRepository.streamAllWithGenre();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            Iterator<MovieWithGenreDTO> iterator = movies.iterator();
+            while (iterator.hasNext()) {
+                MovieWithGenreDTO movie = iterator.next();
+                movie.setGenreName(genreDictionary.nameOf(movie.getIdGenre()));
+                rowWriter.writeValue(generator, movie);
+                generator.writeRaw('\n');
+                if (++written % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        return written;
+    }
+}
@@ -0,0 +1,244 @@
+package com.microservice.movies.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.microservice.movies.dto.MovieImportErrorDTO;
+import com.microservice.movies.dto.MovieImportReportDTO;
+import com.microservice.movies.dto.MovieImportRowDTO;
+import com.microservice.movies.exception.GenreNotFoundException;
+import com.microservice.movies.exception.InvalidMovieDataException;
+import com.microservice.movies.exception.InvalidMovieEntityException;
+import com.microservice.movies.model.GenreEntity;
+import com.microservice.movies.model.MovieEntity;
+import com.microservice.movies.repository.MovieBatchRepository;
+import com.microservice.movies.validation.MovieValidation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Imports a distributor catalog given as NDJSON, one movie object per line, or as CSV with a header line
+ * naming the columns {@code title, description, duration, imageUrl, idGenre}.
+ * <p>
+ * The body is read line by line and every row is validated like a single movie, with genres checked
+ * against the {@link GenreDictionary}. Valid rows are inserted in JDBC batches of
+ * {@code movies.import.batch-size}, each in its own transaction, so memory stays flat however long the
+ * file is. Every inserted movie publishes a {@link MovieChangedEvent} in the transaction of its batch, so
+ * imports reach the change feed, the catalog version and the title index like any other new movie.
+ * <p>
+ * When the database rejects a batch, its rows are inserted again one by one, so only the lines the database
+ * refuses are skipped. Invalid and refused rows are reported by line number; at most
+ * {@link #MAX_REPORTED_ERRORS} errors are listed, the rest are only counted.
+ */
+@Service
+public class MovieImportService {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+    static final int MAX_REPORTED_ERRORS = 1000;
+    private static final List<String> CSV_COLUMNS = List.of("title", "description", "duration", "imageUrl", "idGenre");
+
+    private final MovieBatchRepository movieBatchRepository;
+    private final MovieValidation movieValidation;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader rowReader;
+    private final int batchSize;
+
+    public MovieImportService(MovieBatchRepository movieBatchRepository, MovieValidation movieValidation,
+                              ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper, @Value("${movies.import.batch-size:500}") int batchSize) {
+        this.movieBatchRepository = movieBatchRepository;
+        this.movieValidation = movieValidation;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rowReader = objectMapper.readerFor(MovieImportRowDTO.class);
+        this.batchSize = batchSize;
+    }
+
+    public MovieImportReportDTO importMovies(InputStream body, MediaType contentType) {
+        boolean csv = TEXT_CSV.isCompatibleWith(contentType);
+        if (!csv && !MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+            throw new InvalidMovieDataException("Movies can only be imported as NDJSON or CSV.");
+        }
+
+        Import result = new Import();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            Map<String, Integer> columns = csv ? csvColumns(reader.readLine()) : null;
+            long line = csv ? 1 : 0;
+            List<MovieEntity> batch = new ArrayList<>(batchSize);
+            List<Long> batchLines = new ArrayList<>(batchSize);
+            for (String text = reader.readLine(); text != null; text = reader.readLine()) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    MovieEntity movieEntity = toMovie(csv ? csvRow(text, columns) : rowReader.readValue(text));
+                    movieValidation.validateMovieEntity(movieEntity);
+                    batch.add(movieEntity);
+                    batchLines.add(line);
+                } catch (JsonProcessingException exception) {
+                    result.reject(line, "The line is not a valid movie object.");
+                } catch (InvalidMovieEntityException | InvalidMovieDataException | GenreNotFoundException exception) {
+                    result.reject(line, exception.getMessage());
+                }
+                if (batch.size() == batchSize) {
+                    insert(batch, batchLines, result);
+                }
+            }
+            insert(batch, batchLines, result);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("The import could not be read.", exception);
+        }
+        return new MovieImportReportDTO(result.imported, result.rejected, result.errors);
+    }
+
+    private void insert(List<MovieEntity> batch, List<Long> batchLines, Import result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            result.imported += insertAndPublish(batch);
+        } catch (DataAccessException exception) {
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    result.imported += insertAndPublish(List.of(batch.get(i)));
+                } catch (DataAccessException rowException) {
+                    result.reject(batchLines.get(i), "The line was rejected by the database: "
+                            + rowException.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        batch.clear();
+        batchLines.clear();
+    }
+
+    private int insertAndPublish(List<MovieEntity> movies) {
+        return transactionTemplate.execute(status -> {
+            List<Integer> idMovies = movieBatchRepository.insertAll(movies);
+            for (int i = 0; i < idMovies.size(); i++) {
+                eventPublisher.publishEvent(MovieChangedEvent.created(idMovies.get(i), movies.get(i).getTitle()));
+            }
+            return idMovies.size();
+        });
+    }
+
+    private static MovieEntity toMovie(MovieImportRowDTO row) {
+        if (row == null || row.getIdGenre() == null) {
+            throw new InvalidMovieEntityException("Movie must have a genre.");
+        }
+        GenreEntity genreEntity = new GenreEntity();
+        genreEntity.setIdGenre(row.getIdGenre());
+        MovieEntity movieEntity = new MovieEntity();
+        movieEntity.setTitle(row.getTitle());
+        movieEntity.setDescription(row.getDescription());
+        movieEntity.setDuration(row.getDuration());
+        movieEntity.setImageUrl(row.getImageUrl());
+        movieEntity.setGenreEntity(genreEntity);
+        return movieEntity;
+    }
+
+    private static Map<String, Integer> csvColumns(String header) {
+        if (header == null) {
+            throw new InvalidMovieDataException("The CSV import must start with a header line.");
+        }
+        List<String> names = csvFields(header);
+        Map<String, Integer> columns = new HashMap<>();
+        for (String column : CSV_COLUMNS) {
+            int index = names.indexOf(column);
+            if (index < 0) {
+                throw new InvalidMovieDataException("The CSV header must contain the columns " + CSV_COLUMNS + ".");
+            }
+            columns.put(column, index);
+        }
+        return columns;
+    }
+
+    private static MovieImportRowDTO csvRow(String text, Map<String, Integer> columns) {
+        List<String> fields = csvFields(text);
+        MovieImportRowDTO row = new MovieImportRowDTO();
+        row.setTitle(field(fields, columns, "title"));
+        row.setDescription(field(fields, columns, "description"));
+        row.setDuration(number(field(fields, columns, "duration"), "duration"));
+        row.setImageUrl(field(fields, columns, "imageUrl"));
+        row.setIdGenre(number(field(fields, columns, "idGenre"), "genre ID"));
+        return row;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        int index = columns.get(column);
+        return index < fields.size() ? fields.get(index) : null;
+    }
+
+    private static Integer number(String value, String name) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException exception) {
+            throw new InvalidMovieDataException("The " + name + " must be a whole number.");
+        }
+    }
+
+    /**
+     * Splits one CSV line; fields may be quoted, with {@code ""} standing for a quote inside a quoted field.
+     */
+    static List<String> csvFields(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static final class Import {
+        private long imported;
+        private long rejected;
+        private final List<MovieImportErrorDTO> errors = new ArrayList<>();
+
+        private void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new MovieImportErrorDTO(line, message));
+            }
+        }
+    }
+}
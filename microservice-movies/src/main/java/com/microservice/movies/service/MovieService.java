@@ -1,89 +1,267 @@
 package com.microservice.movies.service;
 
+import com.microservice.movies.dto.MovieFields;
+import com.microservice.movies.dto.MovieScrollDTO;
+import com.microservice.movies.dto.MovieTitleDTO;
 import com.microservice.movies.dto.MovieWithGenreDTO;
-import com.microservice.movies.exception.GenreNotFoundException;
+import com.microservice.movies.exception.MovieNotFoundException;
+import com.microservice.movies.exception.TitleNotFoundException;
 import com.microservice.movies.model.MovieEntity;
 import com.microservice.movies.repository.MovieRepository;
 import com.microservice.movies.validation.MovieValidation;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 
 @Service
 public class MovieService {
 
     private final MovieRepository movieRepository;
     private final MovieValidation movieValidation;
+    private final MovieTitleIndex movieTitleIndex;
+    private final GenreDictionary genreDictionary;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public MovieService(MovieRepository movieRepository, MovieValidation movieValidation) {
+    public MovieService(MovieRepository movieRepository, MovieValidation movieValidation,
+                        MovieTitleIndex movieTitleIndex, GenreDictionary genreDictionary,
+                        ApplicationEventPublisher eventPublisher) {
         this.movieRepository = movieRepository;
         this.movieValidation = movieValidation;
+        this.movieTitleIndex = movieTitleIndex;
+        this.genreDictionary = genreDictionary;
+        this.eventPublisher = eventPublisher;
     }
 
     public Page<MovieWithGenreDTO> findAllMovies(int page, int size) {
-        movieValidation.validatePageAndSize(page, size);
-        Page<MovieEntity> movies = movieRepository.findAll(PageRequest.of(page, size));
+        return findAllMovies(page, size, MovieFields.ALL);
+    }
 
-        return movies.map(movieEntity -> {
-           MovieWithGenreDTO dto = new MovieWithGenreDTO();
-           dto.setIdMovie(movieEntity.getIdMovie());
-           dto.setTitle(movieEntity.getTitle());
-           dto.setDescription(movieEntity.getDescription());
-           dto.setDuration(movieEntity.getDuration());
-           dto.setImageUrl(movieEntity.getImageUrl());
-           dto.setGenreName(movieEntity.getGenreEntity().getNameGenre());
-           return dto;
-        });
+    /**
+     * When only card fields are requested the narrow projection is read, leaving out the description and genre.
+     */
+    public Page<MovieWithGenreDTO> findAllMovies(int page, int size, MovieFields fields) {
+        movieValidation.validatePageAndSize(page, size);
+        PageRequest pageRequest = PageRequest.of(page, size);
+        return fields.isCard()
+                ? movieRepository.findAllCards(pageRequest)
+                : withGenreNames(movieRepository.findAllWithGenre(pageRequest));
     }
 
     public MovieWithGenreDTO findMovieById(int idMovie) {
         movieValidation.validateIdMovie(idMovie);
-        MovieEntity movieEntity = movieRepository.findByIdMovie(idMovie);
-        MovieWithGenreDTO dto = new MovieWithGenreDTO();
-        dto.setIdMovie(movieEntity.getIdMovie());
-        dto.setTitle(movieEntity.getTitle());
-        dto.setDescription(movieEntity.getDescription());
-        dto.setDuration(movieEntity.getDuration());
-        dto.setImageUrl(movieEntity.getImageUrl());
-        dto.setGenreName(movieEntity.getGenreEntity().getNameGenre());
-        return dto;
+        return movieRepository.findWithGenreByIdMovie(idMovie)
+                .map(this::withGenreName)
+                .orElseThrow(() -> notFound(idMovie));
+    }
+
+    public List<MovieWithGenreDTO> findMoviesByIds(List<Integer> idMovies) {
+        movieValidation.validateIdMovies(idMovies);
+        return withGenreNames(movieRepository.findWithGenreByIdMovieIn(new LinkedHashSet<>(idMovies)));
+    }
+
+    public Page<MovieWithGenreDTO> findMoviesByGenre(int idGenre, int page, int size) {
+        return findMoviesByGenre(idGenre, page, size, MovieFields.ALL);
+    }
+
+    public Page<MovieWithGenreDTO> findMoviesByGenre(int idGenre, int page, int size, MovieFields fields) {
+        movieValidation.validateIdGenre(idGenre);
+        movieValidation.validatePageAndSize(page, size);
+        PageRequest pageRequest = PageRequest.of(page, size);
+
+        return fields.isCard()
+                ? movieRepository.findCardsByIdGenre(idGenre, pageRequest)
+                : withGenreNames(movieRepository.findWithGenreByIdGenre(idGenre, pageRequest));
+    }
+
+    /**
+     * Searches the title index, which ranks exact and prefix matches first and tolerates typos, and loads
+     * only the movies of the requested page. Until the index is loaded the search falls back to the database.
+     */
+    public Page<MovieWithGenreDTO> findMoviesByTitle(String title, int page, int size) {
+        return findMoviesByTitle(title, page, size, MovieFields.ALL);
     }
 
-    public Page<MovieEntity> findMoviesByGenre(int idGenre, int page, int size) {
+    public Page<MovieWithGenreDTO> findMoviesByTitle(String title, int page, int size, MovieFields fields) {
+        movieValidation.validateSearchTitle(title);
+        movieValidation.validatePageAndSize(page, size);
+        PageRequest pageRequest = PageRequest.of(page, size);
+
+        Optional<List<Integer>> ranked = movieTitleIndex.search(title);
+        if (ranked.isEmpty()) {
+            Page<MovieWithGenreDTO> movies = movieRepository.findWithGenreByTitleContaining(title, pageRequest);
+            if (movies.getTotalElements() == 0) {
+                throw titleNotFound(title);
+            }
+            return withGenreNames(movies);
+        }
 
-        if (!movieRepository.existsByGenreEntityIdGenre(idGenre)) {
-            throw new GenreNotFoundException("We did not find movies that contain the ID " + idGenre + " in the database.");
+        List<Integer> idMovies = ranked.get();
+        if (idMovies.isEmpty()) {
+            throw titleNotFound(title);
         }
+        return new PageImpl<>(rankedPage(idMovies, pageRequest, fields), pageRequest, idMovies.size());
+    }
+
+    /**
+     * The slice variants read one row more than the page size to know whether a next page exists, instead of
+     * running a count query.
+     */
+    public Slice<MovieWithGenreDTO> findAllMoviesSlice(int page, int size, MovieFields fields) {
+        movieValidation.validatePageAndSize(page, size);
+        PageRequest pageRequest = PageRequest.of(page, size);
+        return fields.isCard()
+                ? movieRepository.findSliceCards(pageRequest)
+                : withGenreNames(movieRepository.findSliceWithGenre(pageRequest));
+    }
 
+    public Slice<MovieWithGenreDTO> findMoviesByGenreSlice(int idGenre, int page, int size, MovieFields fields) {
         movieValidation.validateIdGenre(idGenre);
         movieValidation.validatePageAndSize(page, size);
+        PageRequest pageRequest = PageRequest.of(page, size);
 
-        return movieRepository.findByGenreEntityIdGenre(idGenre, PageRequest.of(page, size));
+        return fields.isCard()
+                ? movieRepository.findSliceCardsByIdGenre(idGenre, pageRequest)
+                : withGenreNames(movieRepository.findSliceWithGenreByIdGenre(idGenre, pageRequest));
     }
 
-    public Page<MovieEntity> findMoviesByTitle(String title, int page, int size) {
-        movieValidation.validateTitle(title);
+    public Slice<MovieWithGenreDTO> findMoviesByTitleSlice(String title, int page, int size, MovieFields fields) {
+        movieValidation.validateSearchTitle(title);
         movieValidation.validatePageAndSize(page, size);
-        return movieRepository.findByTitleContainingIgnoreCase(title, PageRequest.of(page, size));
+        PageRequest pageRequest = PageRequest.of(page, size);
+
+        Optional<List<Integer>> ranked = movieTitleIndex.search(title);
+        if (ranked.isEmpty()) {
+            Slice<MovieWithGenreDTO> movies = movieRepository.findSliceWithGenreByTitleContaining(title, pageRequest);
+            if (page == 0 && !movies.hasContent()) {
+                throw titleNotFound(title);
+            }
+            return withGenreNames(movies);
+        }
+
+        List<Integer> idMovies = ranked.get();
+        if (idMovies.isEmpty()) {
+            throw titleNotFound(title);
+        }
+        return new SliceImpl<>(rankedPage(idMovies, pageRequest, fields), pageRequest, pageRequest.getOffset() + size < idMovies.size());
+    }
+
+    /**
+     * Loads the movies of one page of ranked ids with a single query, keeping the ranking order.
+     */
+    private List<MovieWithGenreDTO> rankedPage(List<Integer> idMovies, PageRequest pageRequest, MovieFields fields) {
+        int from = (int) Math.min(pageRequest.getOffset(), idMovies.size());
+        List<Integer> pageIds = idMovies.subList(from, Math.min(from + pageRequest.getPageSize(), idMovies.size()));
+        if (pageIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<MovieWithGenreDTO> loaded = fields.isCard()
+                ? movieRepository.findCardsByIdMovieIn(pageIds)
+                : movieRepository.findWithGenreByIdMovieIn(pageIds);
+        Map<Integer, MovieWithGenreDTO> movies = loaded.stream()
+                .collect(Collectors.toMap(MovieWithGenreDTO::getIdMovie, Function.identity()));
+        return pageIds.stream()
+                .map(movies::get)
+                .filter(Objects::nonNull)
+                .map(this::withGenreName)
+                .toList();
+    }
+
+    public MovieScrollDTO scrollAllMovies(String cursor, int size, String sort) {
+        movieValidation.validateScrollSize(size);
+        MovieCursor.Sort order = MovieCursor.Sort.of(sort);
+        MovieCursor after = MovieCursor.decode(cursor, order);
+
+        List<MovieWithGenreDTO> movies = order == MovieCursor.Sort.TITLE
+                ? movieRepository.findWithGenreOrderByTitleAfter(after.title(), after.idMovie(), Limit.of(size + 1))
+                : movieRepository.findWithGenreAfter(after.idMovie(), Limit.of(size + 1));
+        return toScroll(movies, size, order);
+    }
+
+    public MovieScrollDTO scrollMoviesByGenre(int idGenre, String cursor, int size) {
+        movieValidation.validateIdGenre(idGenre);
+        movieValidation.validateScrollSize(size);
+        MovieCursor after = MovieCursor.decode(cursor, MovieCursor.Sort.ID);
+
+        List<MovieWithGenreDTO> movies = movieRepository.findWithGenreByIdGenreAfter(idGenre, after.idMovie(), Limit.of(size + 1));
+        return toScroll(movies, size, MovieCursor.Sort.ID);
+    }
+
+    public MovieScrollDTO scrollMoviesByTitle(String title, String cursor, int size) {
+        movieValidation.validateSearchTitle(title);
+        movieValidation.validateScrollSize(size);
+        MovieCursor after = MovieCursor.decode(cursor, MovieCursor.Sort.ID);
+
+        List<MovieWithGenreDTO> movies = movieRepository.findWithGenreByTitleContainingAfter(title, after.idMovie(), Limit.of(size + 1));
+        return toScroll(movies, size, MovieCursor.Sort.ID);
+    }
+
+    /**
+     * Each slice is read with one extra row; when it comes back there is a next slice, and the cursor
+     * points after the last movie that is returned.
+     */
+    private MovieScrollDTO toScroll(List<MovieWithGenreDTO> movies, int size, MovieCursor.Sort sort) {
+        withGenreNames(movies);
+        if (movies.size() <= size) {
+            return new MovieScrollDTO(movies, null);
+        }
+        List<MovieWithGenreDTO> content = List.copyOf(movies.subList(0, size));
+        return new MovieScrollDTO(content, MovieCursor.after(content.get(size - 1), sort).encode());
+    }
+
+    public List<MovieTitleDTO> autocompleteTitles(String prefix, int limit) {
+        movieValidation.validateAutocomplete(prefix, limit);
+        return movieTitleIndex.complete(prefix, limit);
+    }
+
+    private MovieWithGenreDTO withGenreName(MovieWithGenreDTO movie) {
+        movie.setGenreName(genreDictionary.nameOf(movie.getIdGenre()));
+        return movie;
+    }
+
+    private <T extends Iterable<MovieWithGenreDTO>> T withGenreNames(T movies) {
+        movies.forEach(this::withGenreName);
+        return movies;
     }
 
     public boolean existsMovie(int idMovie) {
         movieValidation.validateIdMovie(idMovie);
-        return movieRepository.existsByIdMovie(idMovie);
+        if (!movieRepository.existsByIdMovie(idMovie)) {
+            throw notFound(idMovie);
+        }
+        return true;
     }
 
     @Transactional
     public MovieEntity saveMovie(MovieEntity movieEntity) {
         movieValidation.validateMovieEntity(movieEntity);
-        return movieRepository.save(movieEntity);
+        MovieEntity savedMovie = movieRepository.save(movieEntity);
+        eventPublisher.publishEvent(MovieChangedEvent.created(savedMovie.getIdMovie(), savedMovie.getTitle()));
+        return savedMovie;
     }
 
     @Transactional
     public void deleteMovie(int idMovie) {
         movieValidation.validateIdMovie(idMovie);
-        movieRepository.deleteById(idMovie);
+        if (movieRepository.deleteByIdMovie(idMovie) == 0) {
+            throw notFound(idMovie);
+        }
+        eventPublisher.publishEvent(MovieChangedEvent.deleted(idMovie));
     }
 
     @Transactional
@@ -98,8 +276,18 @@ public class MovieService {
                     existingMovie.setDuration(movieEntity.getDuration());
                     existingMovie.setImageUrl(movieEntity.getImageUrl());
                     existingMovie.setGenreEntity(movieEntity.getGenreEntity());
-                    return movieRepository.save(existingMovie);
+                    MovieEntity savedMovie = movieRepository.save(existingMovie);
+                    eventPublisher.publishEvent(MovieChangedEvent.updated(idMovie, savedMovie.getTitle()));
+                    return savedMovie;
                 })
-                .orElseThrow(() -> new IllegalArgumentException("Error updating the movie with id " + idMovie));
+                .orElseThrow(() -> notFound(idMovie));
+    }
+
+    private static MovieNotFoundException notFound(int idMovie) {
+        return new MovieNotFoundException("The movie with ID " + idMovie + " does not exist.");
+    }
+
+    private static TitleNotFoundException titleNotFound(String title) {
+        return new TitleNotFoundException("The title " + title + " does not exist.");
     }
 }
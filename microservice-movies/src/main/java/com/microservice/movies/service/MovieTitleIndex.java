@@ -0,0 +1,141 @@
+package com.microservice.movies.service;
+
+import com.microservice.movies.dto.MovieTitleDTO;
+import com.microservice.movies.model.MovieChangeType;
+import com.microservice.movies.repository.MovieRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Keeps every movie title in a {@link TitleTrigramIndex} so that title searches do not scan the movies
+ * table, and in a {@link TitlePrefixTrie} for autocomplete. Both are loaded with one query when the
+ * application is ready, follow the movie changes of this instance once their transaction has committed,
+ * and are rebuilt every {@code movies.title-index.refresh-interval} to pick up changes made by other
+ * instances.
+ * <p>
+ * The trigram index is updated in place. The trie is immutable, so a change rebuilds it from the titles
+ * held here on a background thread; changes arriving while a rebuild is pending share it, and readers keep
+ * the previous trie until the new one is swapped in.
+ */
+@Component
+public class MovieTitleIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieTitleIndex.class);
+
+    private final MovieRepository movieRepository;
+    private final int maxSuggestions;
+    private final Map<Integer, String> titles = new HashMap<>();
+    private final ExecutorService trieBuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "title-trie-builder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile TitleTrigramIndex index;
+    private volatile TitlePrefixTrie trie;
+    private boolean triePending;
+    private long titlesVersion;
+    private long trieVersion;
+
+    public MovieTitleIndex(MovieRepository movieRepository,
+                           @Value("${movies.autocomplete.max-suggestions:10}") int maxSuggestions) {
+        this.movieRepository = movieRepository;
+        this.maxSuggestions = maxSuggestions;
+    }
+
+    /**
+     * Returns the ranked ids of the movies matching {@code title}, or empty while the index is not loaded.
+     */
+    public Optional<List<Integer>> search(String title) {
+        TitleTrigramIndex current = index;
+        if (current == null) {
+            return Optional.empty();
+        }
+        return Optional.of(current.search(title));
+    }
+
+    /**
+     * Returns at most {@code movies.autocomplete.max-suggestions} titles completing {@code prefix}; nothing
+     * while the index is not loaded.
+     */
+    public List<MovieTitleDTO> complete(String prefix, int limit) {
+        TitlePrefixTrie current = trie;
+        if (current == null) {
+            return List.of();
+        }
+        return current.complete(prefix, Math.min(limit, maxSuggestions));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${movies.title-index.refresh-interval:PT15M}",
+               initialDelayString = "${movies.title-index.refresh-interval:PT15M}")
+    public synchronized void refresh() {
+        TitleTrigramIndex loaded = new TitleTrigramIndex();
+        Map<Integer, String> loadedTitles = new HashMap<>();
+        for (MovieTitleDTO movie : movieRepository.findAllTitles()) {
+            loaded.put(movie.getIdMovie(), movie.getTitle());
+            loadedTitles.put(movie.getIdMovie(), movie.getTitle());
+        }
+        titles.clear();
+        titles.putAll(loadedTitles);
+        index = loaded;
+        trie = TitlePrefixTrie.build(titles, maxSuggestions);
+        trieVersion = ++titlesVersion;
+        log.info("Indexed {} movie titles", loaded.size());
+    }
+
+    @TransactionalEventListener
+    public synchronized void onMovieChanged(MovieChangedEvent event) {
+        TitleTrigramIndex current = index;
+        if (current == null) {
+            return;
+        }
+        if (event.type() == MovieChangeType.DELETED) {
+            current.remove(event.idMovie());
+            titles.remove(event.idMovie());
+        } else {
+            current.put(event.idMovie(), event.title());
+            titles.put(event.idMovie(), event.title());
+        }
+        titlesVersion++;
+        if (!triePending) {
+            triePending = true;
+            trieBuilder.execute(this::rebuildTrie);
+        }
+    }
+
+    private void rebuildTrie() {
+        Map<Integer, String> snapshot;
+        long snapshotVersion;
+        synchronized (this) {
+            triePending = false;
+            snapshot = Map.copyOf(titles);
+            snapshotVersion = titlesVersion;
+        }
+        TitlePrefixTrie rebuilt = TitlePrefixTrie.build(snapshot, maxSuggestions);
+        synchronized (this) {
+            if (snapshotVersion > trieVersion) {
+                trie = rebuilt;
+                trieVersion = snapshotVersion;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        trieBuilder.shutdownNow();
+    }
+}
@@ -0,0 +1,90 @@
+package com.microservice.movies.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent reads: the first call for a key runs the read on its own thread, and every
+ * call for the same key arriving before it finishes waits for, and shares, its result or exception instead
+ * of running another query. Nothing is kept once the read finishes.
+ * <p>
+ * Flights are also keyed on the catalog ETag read when the call arrives. A caller arriving after a change
+ * committed sees the new ETag and starts its own read instead of joining one that began before the change,
+ * so a shared result is never older than the catalog version the caller asked under.
+ * <p>
+ * Shared results are the same objects for every caller and must not be modified. Reads that ran and reads
+ * that were coalesced are published as {@code movies.single-flight.calls}, tagged {@code result=executed}
+ * or {@code result=coalesced}, with the number of reads in flight as {@code movies.single-flight.in-flight}.
+ */
+@Component
+public class SingleFlight {
+
+    private final CatalogVersion catalogVersion;
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    public SingleFlight(CatalogVersion catalogVersion, MeterRegistry meterRegistry) {
+        this.catalogVersion = catalogVersion;
+        FunctionCounter.builder("movies.single-flight.calls", executed, AtomicLong::get)
+                .description("Reads that ran their query")
+                .tag("result", "executed")
+                .register(meterRegistry);
+        FunctionCounter.builder("movies.single-flight.calls", coalesced, AtomicLong::get)
+                .description("Reads that shared the query of an identical read in flight")
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+        Gauge.builder("movies.single-flight.in-flight", inFlight, Map::size)
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> read) {
+        String flightKey = catalogVersion.eTag() + " " + key;
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return (T) join(existing);
+        }
+
+        executed.incrementAndGet();
+        try {
+            T result = read.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error exception) {
+            flight.completeExceptionally(exception);
+            throw exception;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    public long coalescedCalls() {
+        return coalesced.get();
+    }
+
+    private static Object join(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (exception.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+}
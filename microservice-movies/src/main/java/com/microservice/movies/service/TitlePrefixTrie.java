@@ -0,0 +1,218 @@
+package com.microservice.movies.service;
+
+import com.microservice.movies.dto.MovieTitleDTO;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Immutable prefix trie of normalized titles, packed into parallel arrays for title autocomplete.
+ * <p>
+ * Every title is inserted once as a whole and once from each of its later words, so "god" finds
+ * "The Godfather". Nodes are laid out breadth first, which keeps the children of a node contiguous and
+ * sorted by label; a lookup binary-searches one child per character of the prefix. Each node stores the
+ * best {@code maxResults} titles below it, computed at build time, so answering a prefix never walks the
+ * subtree. Titles matching from their first word rank before titles matching from a later word, then
+ * shorter titles before longer ones.
+ */
+public final class TitlePrefixTrie {
+
+    private static final class Node {
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private int[] best = new int[0];
+
+        private Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index >= 0) {
+                return children[index];
+            }
+            index = -index - 1;
+            Node child = new Node();
+            labels = insert(labels, index, label);
+            children = insert(children, index, child);
+            return child;
+        }
+
+        private static char[] insert(char[] array, int index, char value) {
+            char[] updated = new char[array.length + 1];
+            System.arraycopy(array, 0, updated, 0, index);
+            updated[index] = value;
+            System.arraycopy(array, index, updated, index + 1, array.length - index);
+            return updated;
+        }
+
+        private static Node[] insert(Node[] array, int index, Node value) {
+            Node[] updated = new Node[array.length + 1];
+            System.arraycopy(array, 0, updated, 0, index);
+            updated[index] = value;
+            System.arraycopy(array, index, updated, index + 1, array.length - index);
+            return updated;
+        }
+    }
+
+    private final char[] labels;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final int[] bestStart;
+    private final int[] bestCount;
+    private final int[] best;
+    private final int entries;
+    private final int[] idMovies;
+    private final String[] titles;
+
+    private TitlePrefixTrie(char[] labels, int[] firstChild, int[] childCount, int[] bestStart, int[] bestCount,
+                            int[] best, int[] idMovies, String[] titles) {
+        this.labels = labels;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.bestStart = bestStart;
+        this.bestCount = bestCount;
+        this.best = best;
+        this.entries = idMovies.length;
+        this.idMovies = idMovies;
+        this.titles = titles;
+    }
+
+    public static TitlePrefixTrie build(Map<Integer, String> movieTitles, int maxResults) {
+        record Title(int idMovie, String title, String normalized) {
+        }
+        List<Title> sorted = new ArrayList<>(movieTitles.size());
+        movieTitles.forEach((idMovie, title) -> sorted.add(new Title(idMovie, title, TitleTrigramIndex.normalize(title))));
+        sorted.sort(Comparator.comparingInt((Title title) -> title.normalized().length())
+                .thenComparing(Title::normalized)
+                .thenComparingInt(Title::idMovie));
+
+        int[] idMovies = new int[sorted.size()];
+        String[] titles = new String[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            idMovies[i] = sorted.get(i).idMovie();
+            titles[i] = sorted.get(i).title();
+        }
+
+        // Entries are sorted by length, so the entry index is the score of a match on the first word;
+        // a match on a later word scores one full round of entries higher.
+        Node root = new Node();
+        int entries = idMovies.length;
+        for (int entry = 0; entry < entries; entry++) {
+            String title = sorted.get(entry).normalized();
+            for (int start = 0; start < title.length(); start = title.indexOf(' ', start) + 1) {
+                insert(root, title.substring(start), start == 0 ? entry : entries + entry, entries, maxResults);
+                if (title.indexOf(' ', start) < 0) {
+                    break;
+                }
+            }
+        }
+        return pack(root, idMovies, titles);
+    }
+
+    /**
+     * Returns up to {@code limit} titles starting with {@code prefix}, or having a word that starts with it.
+     */
+    public List<MovieTitleDTO> complete(String prefix, int limit) {
+        String normalized = TitleTrigramIndex.normalize(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        int node = 0;
+        for (int i = 0; i < normalized.length() && node >= 0; i++) {
+            node = child(node, normalized.charAt(i));
+        }
+        if (node < 0) {
+            return List.of();
+        }
+        int count = Math.min(limit, bestCount[node]);
+        List<MovieTitleDTO> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int entry = best[bestStart[node] + i] % entries;
+            result.add(new MovieTitleDTO(idMovies[entry], titles[entry]));
+        }
+        return result;
+    }
+
+    public int size() {
+        return entries;
+    }
+
+    private int child(int node, char label) {
+        int low = firstChild[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (labels[middle] < label) {
+                low = middle + 1;
+            } else if (labels[middle] > label) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private static void insert(Node root, String key, int score, int entries, int maxResults) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.child(key.charAt(i));
+            node.best = offer(node.best, score, entries, maxResults);
+        }
+    }
+
+    private static int[] offer(int[] best, int score, int entries, int maxResults) {
+        for (int current : best) {
+            if (current % entries == score % entries) {
+                return best;
+            }
+        }
+        if (best.length == maxResults && score >= best[best.length - 1]) {
+            return best;
+        }
+        int[] updated = Arrays.copyOf(best, Math.min(best.length + 1, maxResults));
+        int index = Math.min(best.length, maxResults - 1);
+        while (index > 0 && updated[index - 1] > score) {
+            updated[index] = updated[index - 1];
+            index--;
+        }
+        updated[index] = score;
+        return updated;
+    }
+
+    private static TitlePrefixTrie pack(Node root, int[] idMovies, String[] titles) {
+        List<Node> order = new ArrayList<>();
+        Queue<Node> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            Node node = queue.remove();
+            order.add(node);
+            queue.addAll(Arrays.asList(node.children));
+        }
+
+        int nodes = order.size();
+        char[] labels = new char[nodes];
+        int[] firstChild = new int[nodes];
+        int[] childCount = new int[nodes];
+        int[] bestStart = new int[nodes];
+        int[] bestCount = new int[nodes];
+        int[] best = new int[order.stream().mapToInt(node -> node.best.length).sum()];
+
+        int nextChild = 1;
+        int nextBest = 0;
+        for (int i = 0; i < nodes; i++) {
+            Node node = order.get(i);
+            firstChild[i] = nextChild;
+            childCount[i] = node.labels.length;
+            System.arraycopy(node.labels, 0, labels, nextChild, node.labels.length);
+            nextChild += node.labels.length;
+            bestStart[i] = nextBest;
+            bestCount[i] = node.best.length;
+            System.arraycopy(node.best, 0, best, nextBest, node.best.length);
+            nextBest += node.best.length;
+        }
+        return new TitlePrefixTrie(labels, firstChild, childCount, bestStart, bestCount, best, idMovies, titles);
+    }
+}
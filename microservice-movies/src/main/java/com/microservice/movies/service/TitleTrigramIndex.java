@@ -0,0 +1,193 @@
+package com.microservice.movies.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index from the trigrams of normalized movie titles to movie ids.
+ * <p>
+ * Titles are lower-cased, stripped of accents and padded with one space on each side, so word boundaries
+ * take part in the trigrams. A substring query intersects the posting lists of its trigrams and checks the
+ * survivors with {@code contains}; when a query matches no title as a substring, titles sharing at least
+ * {@link #MIN_SIMILARITY} of its trigrams are returned instead, which absorbs most single-letter typos.
+ * Queries shorter than a trigram are answered by scanning the titles.
+ */
+public class TitleTrigramIndex {
+
+    static final double MIN_SIMILARITY = 0.5;
+
+    private record Match(Integer idMovie, String title, int rank, double similarity) {
+    }
+
+    private static final Comparator<Match> RANKING = Comparator.comparingInt(Match::rank)
+            .thenComparing(Comparator.comparingDouble(Match::similarity).reversed())
+            .thenComparingInt(match -> match.title().length())
+            .thenComparing(Match::title)
+            .thenComparing(Match::idMovie);
+
+    private final Map<String, Set<Integer>> postings = new HashMap<>();
+    private final Map<Integer, String> titles = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(Integer idMovie, String title) {
+        String normalized = normalize(title);
+        lock.writeLock().lock();
+        try {
+            removeLocked(idMovie);
+            titles.put(idMovie, normalized);
+            for (String trigram : trigrams(" " + normalized + " ")) {
+                postings.computeIfAbsent(trigram, key -> new HashSet<>()).add(idMovie);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Integer idMovie) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(idMovie);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return titles.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the movies matching {@code query}, best first: exact titles, then titles starting
+     * with the query, then titles containing it, and only if there are none of those, similar titles.
+     */
+    public List<Integer> search(String query) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<Match> matches = normalized.length() < 3 ? scan(normalized) : substringMatches(normalized);
+            if (matches.isEmpty() && normalized.length() >= 3) {
+                matches = similarMatches(normalized);
+            }
+            matches.sort(RANKING);
+            return matches.stream().map(Match::idMovie).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Match> scan(String query) {
+        List<Match> matches = new ArrayList<>();
+        titles.forEach((idMovie, title) -> {
+            if (title.contains(query)) {
+                matches.add(new Match(idMovie, title, rank(title, query), 1));
+            }
+        });
+        return matches;
+    }
+
+    private List<Match> substringMatches(String query) {
+        List<Set<Integer>> lists = new ArrayList<>();
+        for (String trigram : trigrams(query)) {
+            Set<Integer> ids = postings.get(trigram);
+            if (ids == null) {
+                return new ArrayList<>();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        List<Match> matches = new ArrayList<>();
+        for (Integer idMovie : lists.get(0)) {
+            if (!containsInAll(lists, idMovie)) {
+                continue;
+            }
+            String title = titles.get(idMovie);
+            if (title.contains(query)) {
+                matches.add(new Match(idMovie, title, rank(title, query), 1));
+            }
+        }
+        return matches;
+    }
+
+    private List<Match> similarMatches(String query) {
+        Set<String> queryTrigrams = trigrams(" " + query + " ");
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            for (Integer idMovie : postings.getOrDefault(trigram, Set.of())) {
+                shared.merge(idMovie, 1, Integer::sum);
+            }
+        }
+
+        List<Match> matches = new ArrayList<>();
+        shared.forEach((idMovie, count) -> {
+            double similarity = (double) count / queryTrigrams.size();
+            if (similarity >= MIN_SIMILARITY) {
+                matches.add(new Match(idMovie, titles.get(idMovie), 3, similarity));
+            }
+        });
+        return matches;
+    }
+
+    private void removeLocked(Integer idMovie) {
+        String title = titles.remove(idMovie);
+        if (title == null) {
+            return;
+        }
+        for (String trigram : trigrams(" " + title + " ")) {
+            Set<Integer> ids = postings.get(trigram);
+            if (ids != null && ids.remove(idMovie) && ids.isEmpty()) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    private static boolean containsInAll(List<Set<Integer>> lists, Integer idMovie) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(idMovie)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int rank(String title, String query) {
+        if (title.equals(query)) {
+            return 0;
+        }
+        return title.startsWith(query) ? 1 : 2;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return stripped.toLowerCase(Locale.ROOT).trim().replaceAll("\\s+", " ");
+    }
+
+    static Set<String> trigrams(String text) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            trigrams.add(text.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+}
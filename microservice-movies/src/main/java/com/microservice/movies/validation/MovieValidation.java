@@ -1,20 +1,26 @@
 package com.microservice.movies.validation;
 
 import com.microservice.movies.exception.GenreNotFoundException;
+import com.microservice.movies.exception.InvalidMovieDataException;
 import com.microservice.movies.exception.InvalidMovieEntityException;
 import com.microservice.movies.exception.MovieNotFoundException;
 import com.microservice.movies.exception.TitleNotFoundException;
 import com.microservice.movies.model.MovieEntity;
-import com.microservice.movies.repository.MovieRepository;
+import com.microservice.movies.service.GenreDictionary;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class MovieValidation {
-    
-    public final MovieRepository movieRepository;
 
-    public MovieValidation(MovieRepository movieRepository) {
-        this.movieRepository = movieRepository;
+    private static final int MAX_MOVIES_PER_LOOKUP = 100;
+    private static final int MAX_MOVIES_PER_SCROLL = 100;
+
+    private final GenreDictionary genreDictionary;
+
+    public MovieValidation(GenreDictionary genreDictionary) {
+        this.genreDictionary = genreDictionary;
     }
 
     public void validatePageAndSize(int page, int size) {
@@ -23,21 +29,42 @@ public class MovieValidation {
         }
     }
 
+    public void validateScrollSize(int size) {
+        if (size <= 0 || size > MAX_MOVIES_PER_SCROLL) {
+            throw new InvalidMovieDataException("Size must be between 1 and " + MAX_MOVIES_PER_SCROLL + ".");
+        }
+    }
+
+    public void validateSearchTitle(String title) {
+        if (title == null || title.trim().isEmpty()) {
+            throw new TitleNotFoundException("Title cannot be null or empty.");
+        }
+    }
+
+    public void validateAutocomplete(String prefix, int limit) {
+        if (prefix == null || prefix.trim().isEmpty()) {
+            throw new InvalidMovieDataException("Prefix cannot be null or empty.");
+        }
+        if (limit <= 0) {
+            throw new InvalidMovieDataException("Limit must be greater than zero.");
+        }
+    }
+
     public void validateIdMovie(int idMovie) {
         if (idMovie <= 0) {
             throw new MovieNotFoundException("Movie ID must be greater than 0.");
         }
-        if (!movieRepository.existsByIdMovie(idMovie)) {
-            throw new MovieNotFoundException("The movie with ID " + idMovie + " does not exist.");
-        }
     }
 
-    public void validateTitle(String title) {
-        if (!movieRepository.existsByTitleContainingIgnoreCase(title)) {
-            throw new TitleNotFoundException("The title " + title + " does not exist.");
+    public void validateIdMovies(List<Integer> idMovies) {
+        if (idMovies == null || idMovies.isEmpty()) {
+            throw new InvalidMovieDataException("At least one movie ID must be provided.");
         }
-        if (title == null || title.trim().isEmpty()) {
-            throw new TitleNotFoundException("Title cannot be null or empty.");
+        if (idMovies.size() > MAX_MOVIES_PER_LOOKUP) {
+            throw new InvalidMovieDataException("No more than " + MAX_MOVIES_PER_LOOKUP + " movies can be looked up at once.");
+        }
+        if (idMovies.stream().anyMatch(idMovie -> idMovie == null || idMovie <= 0)) {
+            throw new InvalidMovieDataException("Movie IDs must be greater than 0.");
         }
     }
 
@@ -45,13 +72,13 @@ public class MovieValidation {
         if (idGenre <= 0) {
             throw new GenreNotFoundException("Genre ID must be greater than 0.");
         }
-        if (!movieRepository.existsByGenreEntityIdGenre(idGenre)) {
+        if (!genreDictionary.contains(idGenre)) {
             throw new GenreNotFoundException("Genre with ID " + idGenre + " does not exist.");
         }
     }
 
     public void validateGenreExists(int idGenre) {
-        if (!movieRepository.existsByGenreEntityIdGenre(idGenre)) {
+        if (!genreDictionary.contains(idGenre)) {
             throw new GenreNotFoundException("Genre with ID " + idGenre + " does not exist.");
         }
     }
@@ -0,0 +1,186 @@
+package com.microservice.movies.controller;
+
+import com.microservice.movies.dto.MovieScrollDTO;
+import com.microservice.movies.dto.MovieWithGenreDTO;
+import com.microservice.movies.exception.GlobalExceptionHandler;
+import com.microservice.movies.service.CatalogResponseCache;
+import com.microservice.movies.service.CatalogVersion;
+import com.microservice.movies.service.MovieChangeFeed;
+import com.microservice.movies.service.MovieExportService;
+import com.microservice.movies.service.MovieImportService;
+import com.microservice.movies.service.MovieService;
+import com.microservice.movies.service.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class MovieControllerTest {
+
+    private static final String ETAG = "\"42-1f\"";
+
+    @Mock
+    private MovieService movieService;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
+    @Mock
+    private CatalogResponseCache responseCache;
+
+    @Mock
+    private MovieImportService movieImportService;
+
+    @Mock
+    private MovieExportService movieExportService;
+
+    @Mock
+    private MovieChangeFeed movieChangeFeed;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(catalogVersion.eTag()).thenReturn(ETAG);
+
+        meterRegistry = new SimpleMeterRegistry();
+        MovieController movieController = new MovieController(movieService, catalogVersion, responseCache,
+                movieImportService, movieExportService, movieChangeFeed, new SingleFlight(catalogVersion, meterRegistry));
+        mockMvc = MockMvcBuilders.standaloneSetup(movieController)
+                .setControllerAdvice(new GlobalExceptionHandler(), new MovieFieldsAdvice())
+                .build();
+    }
+
+    private static MovieScrollDTO window(MovieWithGenreDTO... movies) {
+        return new MovieScrollDTO(List.of(movies), movies.length == 0 ? null : "next");
+    }
+
+    private static MovieWithGenreDTO movie(int idMovie, String title) {
+        MovieWithGenreDTO movie = new MovieWithGenreDTO();
+        movie.setIdMovie(idMovie);
+        movie.setTitle(title);
+        return movie;
+    }
+
+    //-----Tests for the catalog ETag-----
+    @Test
+    void testGetMovieById_whenClientHasNoCopyAnswersWithTheCatalogETagOnly() throws Exception {
+        // Given
+        when(movieService.findMovieById(1)).thenReturn(movie(1, "Heat"));
+
+        // When & Then
+        mockMvc.perform(get("/movies/search-movie/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andExpect(jsonPath("$.title").value("Heat"));
+    }
+
+    @Test
+    void testGetMovieById_whenClientCopyIsCurrentAnswersNotModifiedWithoutQuerying() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/movies/search-movie/1").header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG));
+        verifyNoInteractions(movieService);
+    }
+
+    @Test
+    void testGetMovieById_whenClientCopyIsStaleAnswersTheMovie() throws Exception {
+        // Given
+        when(movieService.findMovieById(1)).thenReturn(movie(1, "Heat"));
+
+        // When & Then
+        mockMvc.perform(get("/movies/search-movie/1").header(HttpHeaders.IF_NONE_MATCH, "\"41-1f\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG));
+    }
+
+    @Test
+    void testGetAllMovies_whenClientCopyIsCurrentSkipsTheResponseCache() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/movies/all-movies").header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified());
+        verifyNoInteractions(responseCache, movieService);
+    }
+
+    //-----Tests for the scroll endpoints-----
+    @Test
+    void testScrollAllMovies_whenWindowHasMovies() throws Exception {
+        // Given
+        when(movieService.scrollAllMovies(isNull(), eq(10), eq("id"))).thenReturn(window(movie(1, "Heat")));
+
+        // When & Then
+        mockMvc.perform(get("/movies/scroll-movies"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Heat"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void testScrollAllMovies_whenWindowIsEmpty() throws Exception {
+        // Given
+        when(movieService.scrollAllMovies(any(), anyInt(), any())).thenReturn(window());
+
+        // When & Then
+        mockMvc.perform(get("/movies/scroll-movies").param("cursor", "last"))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void testScrollMoviesByGenre_whenWindowIsEmpty() throws Exception {
+        // Given
+        when(movieService.scrollMoviesByGenre(anyInt(), any(), anyInt())).thenReturn(window());
+
+        // When & Then
+        mockMvc.perform(get("/movies/scroll-movies-by-genre/2"))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void testScrollMoviesByTitle_whenWindowIsEmpty() throws Exception {
+        // Given
+        when(movieService.scrollMoviesByTitle(any(), any(), anyInt())).thenReturn(window());
+
+        // When & Then
+        mockMvc.perform(get("/movies/scroll-movies-by-title").param("title", "zzz"))
+                .andExpect(status().isNoContent());
+    }
+
+    //-----Tests for the single-flight reads-----
+    @Test
+    void testReads_whenServedByTheListAndScrollEndpointsGoThroughSingleFlight() throws Exception {
+        // Given
+        when(movieService.findMoviesByIds(List.of(1, 2))).thenReturn(List.of(movie(1, "Heat"), movie(2, "Alien")));
+        when(movieService.autocompleteTitles("he", 10)).thenReturn(List.of());
+        when(movieService.scrollAllMovies(isNull(), eq(10), eq("id"))).thenReturn(window(movie(1, "Heat")));
+
+        // When
+        mockMvc.perform(get("/movies/search-movies").param("ids", "1", "2")).andExpect(status().isOk());
+        mockMvc.perform(get("/movies/autocomplete").param("prefix", "he")).andExpect(status().isOk());
+        mockMvc.perform(get("/movies/scroll-movies")).andExpect(status().isOk());
+
+        // Then
+        assertEquals(3.0, meterRegistry.get("movies.single-flight.calls").tag("result", "executed").functionCounter().count());
+    }
+}
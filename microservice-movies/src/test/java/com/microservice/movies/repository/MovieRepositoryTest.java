@@ -0,0 +1,222 @@
+package com.microservice.movies.repository;
+
+import com.microservice.movies.dto.MovieWithGenreDTO;
+import com.microservice.movies.model.GenreEntity;
+import com.microservice.movies.model.MovieEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.database=h2",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class MovieRepositoryTest {
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private GenreEntity drama;
+
+    @BeforeEach
+    void setUp() {
+        List<GenreEntity> genres = List.of(genre("Action"), genre("Drama"), genre("Comedy"));
+        drama = genres.get(1);
+        for (int i = 1; i <= 30; i++) {
+            MovieEntity movieEntity = new MovieEntity();
+            movieEntity.setTitle("Movie " + i);
+            movieEntity.setDescription("Description " + i);
+            movieEntity.setDuration(90 + i);
+            movieEntity.setImageUrl("movie-" + i + ".jpg");
+            movieEntity.setGenreEntity(genres.get(i % genres.size()));
+            entityManager.persist(movieEntity);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    private GenreEntity genre(String name) {
+        GenreEntity genreEntity = new GenreEntity();
+        genreEntity.setNameGenre(name);
+        return entityManager.persist(genreEntity);
+    }
+
+    @Test
+    void testFindAllWithGenre_whenPageIsLoadedUsesOneSelectAndOneCount() {
+        // When
+        Page<MovieWithGenreDTO> movies = movieRepository.findAllWithGenre(PageRequest.of(1, 10));
+
+        // Then
+        assertEquals(10, movies.getNumberOfElements());
+        assertEquals(30, movies.getTotalElements());
+        assertTrue(movies.stream().allMatch(movie -> movie.getIdGenre() != null));
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testFindWithGenreByIdGenre_whenPageIsLoadedUsesOneSelectAndOneCount() {
+        // When
+        Page<MovieWithGenreDTO> movies = movieRepository.findWithGenreByIdGenre(drama.getIdGenre(), PageRequest.of(0, 5));
+
+        // Then
+        assertEquals(5, movies.getNumberOfElements());
+        assertEquals(10, movies.getTotalElements());
+        assertTrue(movies.stream().allMatch(movie -> movie.getIdGenre().equals(drama.getIdGenre())));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFindWithGenreByIdMovieIn_whenSeveralIdsAreGivenUsesOneSelect() {
+        // Given
+        List<Integer> idMovies = movieRepository.findAllWithGenre(PageRequest.of(0, 4)).stream()
+                .map(MovieWithGenreDTO::getIdMovie)
+                .toList();
+        statistics.clear();
+
+        // When
+        List<MovieWithGenreDTO> movies = movieRepository.findWithGenreByIdMovieIn(idMovies);
+
+        // Then
+        assertEquals(4, movies.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(movies.get(0).getTitle(),
+                movieRepository.findWithGenreByIdMovie(movies.get(0).getIdMovie()).orElseThrow().getTitle());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFindWithGenreAfter_whenSeekingDeepIntoTheCatalogUsesOneSelectWithoutCount() {
+        // Given
+        List<Integer> idMovies = movieRepository.findWithGenreAfter(0, Limit.of(30)).stream()
+                .map(MovieWithGenreDTO::getIdMovie)
+                .toList();
+        statistics.clear();
+
+        // When
+        List<MovieWithGenreDTO> movies = movieRepository.findWithGenreAfter(idMovies.get(24), Limit.of(10));
+
+        // Then
+        assertEquals(idMovies.subList(25, 30), movies.stream().map(MovieWithGenreDTO::getIdMovie).toList());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFindWithGenreOrderByTitleAfter_whenWalkingEverySliceVisitsEachMovieOnceInTitleOrder() {
+        // Given
+        List<String> titles = new ArrayList<>();
+        String afterTitle = "";
+        Integer afterId = 0;
+
+        // When
+        List<MovieWithGenreDTO> slice;
+        do {
+            slice = movieRepository.findWithGenreOrderByTitleAfter(afterTitle, afterId, Limit.of(7));
+            slice.forEach(movie -> titles.add(movie.getTitle()));
+            if (!slice.isEmpty()) {
+                afterTitle = slice.get(slice.size() - 1).getTitle();
+                afterId = slice.get(slice.size() - 1).getIdMovie();
+            }
+        } while (!slice.isEmpty());
+
+        // Then
+        assertEquals(30, titles.size());
+        assertEquals(titles.stream().sorted().toList(), titles);
+        assertEquals(30, titles.stream().distinct().count());
+    }
+
+    @Test
+    void testDeleteByIdMovie_whenMovieExistsOrNotUsesOneStatementEach() {
+        // Given
+        Integer idMovie = movieRepository.findWithGenreAfter(0, Limit.of(1)).get(0).getIdMovie();
+        statistics.clear();
+
+        // When
+        int deleted = movieRepository.deleteByIdMovie(idMovie);
+        int deletedAgain = movieRepository.deleteByIdMovie(idMovie);
+
+        // Then
+        assertEquals(1, deleted);
+        assertEquals(0, deletedAgain);
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testStreamAllWithGenre_whenCatalogIsStreamedUsesOneSelectInIdOrder() {
+        // When
+        List<Integer> idMovies;
+        try (Stream<MovieWithGenreDTO> movies = movieRepository.streamAllWithGenre()) {
+            idMovies = movies.map(MovieWithGenreDTO::getIdMovie).toList();
+        }
+
+        // Then
+        assertEquals(30, idMovies.size());
+        assertEquals(idMovies.stream().sorted().toList(), idMovies);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFindSliceWithGenre_whenSliceIsLoadedUsesOneSelectWithoutCount() {
+        // When
+        Slice<MovieWithGenreDTO> first = movieRepository.findSliceWithGenre(PageRequest.of(0, 10));
+        Slice<MovieWithGenreDTO> last = movieRepository.findSliceWithGenreByIdGenre(drama.getIdGenre(), PageRequest.of(1, 5));
+
+        // Then
+        assertEquals(10, first.getNumberOfElements());
+        assertTrue(first.hasNext());
+        assertEquals(5, last.getNumberOfElements());
+        assertFalse(last.hasNext());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFindWithGenreByTitleContaining_whenTitleHasLikeWildcardsMatchesThemLiterally() {
+        // Given
+        MovieEntity wolf = new MovieEntity();
+        wolf.setTitle("100% Wolf");
+        wolf.setDescription("Description");
+        wolf.setDuration(96);
+        wolf.setImageUrl("wolf.jpg");
+        wolf.setGenreEntity(drama);
+        entityManager.persistAndFlush(wolf);
+
+        // When
+        Page<MovieWithGenreDTO> percent = movieRepository.findWithGenreByTitleContaining("0%", PageRequest.of(0, 50));
+        Slice<MovieWithGenreDTO> underscore = movieRepository.findSliceWithGenreByTitleContaining("_", PageRequest.of(0, 50));
+        List<MovieWithGenreDTO> backslash = movieRepository.findWithGenreByTitleContainingAfter("\\", 0, Limit.of(50));
+
+        // Then
+        assertEquals(List.of("100% Wolf"), percent.map(MovieWithGenreDTO::getTitle).getContent());
+        assertEquals(1, percent.getTotalElements());
+        assertFalse(underscore.hasContent());
+        assertTrue(backslash.isEmpty());
+    }
+}
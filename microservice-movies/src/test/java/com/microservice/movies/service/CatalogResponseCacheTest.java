@@ -0,0 +1,93 @@
+package com.microservice.movies.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservice.movies.dto.MovieFields;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class CatalogResponseCacheTest {
+
+    private CatalogVersion catalogVersion;
+    private SimpleMeterRegistry meterRegistry;
+    private CatalogResponseCache responseCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        catalogVersion = mock(CatalogVersion.class);
+        when(catalogVersion.eTag()).thenReturn("\"1-0\"");
+        meterRegistry = new SimpleMeterRegistry();
+        responseCache = new CatalogResponseCache(new ObjectMapper(), catalogVersion, meterRegistry, 2, 2);
+        loads = new AtomicInteger();
+    }
+
+    private byte[] get(int page) {
+        return responseCache.get("all-movies", page, 10, MovieFields.ALL, () -> List.of("load-" + loads.incrementAndGet()));
+    }
+
+    @Test
+    void testGet_whenPageIsCachedReturnsTheSameBytesWithoutLoading() {
+        // When
+        byte[] first = get(0);
+        byte[] second = get(0);
+
+        // Then
+        assertEquals("[\"load-1\"]", new String(first, StandardCharsets.UTF_8));
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(0.5, responseCache.hitRatio());
+        assertEquals(first.length, meterRegistry.get("movies.response-cache.bytes-saved").functionCounter().count());
+    }
+
+    @Test
+    void testGet_whenCatalogVersionChangesReloadsThePageAndDropsOlderEntries() {
+        // Given
+        get(0);
+        get(1);
+
+        // When
+        when(catalogVersion.eTag()).thenReturn("\"2-0\"");
+        byte[] reloaded = get(0);
+
+        // Then
+        assertEquals("[\"load-3\"]", new String(reloaded, StandardCharsets.UTF_8));
+        assertEquals(0, responseCache.hitRatio());
+        assertEquals(1.0, meterRegistry.get("movies.response-cache.size").gauge().value());
+    }
+
+    @Test
+    void testGet_whenPageIsPastTheLimitDoesNotCache() {
+        // When
+        get(2);
+        get(2);
+
+        // Then
+        assertEquals(2, loads.get());
+        assertEquals(0.0, meterRegistry.get("movies.response-cache.size").gauge().value());
+        assertEquals(0.0, meterRegistry.get("movies.response-cache.misses").functionCounter().count());
+    }
+
+    @Test
+    void testGet_whenCacheIsFullEvictsToAdmitNewPages() {
+        // Given
+        get(0);
+        get(1);
+
+        // When
+        responseCache.get("all-movies", 0, 20, MovieFields.ALL, () -> List.of("load-" + loads.incrementAndGet()));
+        byte[] again = responseCache.get("all-movies", 0, 20, MovieFields.ALL, () -> List.of("load-" + loads.incrementAndGet()));
+
+        // Then
+        assertEquals("[\"load-3\"]", new String(again, StandardCharsets.UTF_8));
+        assertEquals(3, loads.get());
+        assertEquals(2.0, meterRegistry.get("movies.response-cache.size").gauge().value());
+    }
+}
@@ -0,0 +1,158 @@
+package com.microservice.movies.service;
+
+import com.microservice.movies.model.GenreEntity;
+import com.microservice.movies.model.MovieChangeEntity;
+import com.microservice.movies.model.MovieChangeType;
+import com.microservice.movies.repository.GenreRepository;
+import com.microservice.movies.repository.MovieChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class CatalogVersionTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-05-01T10:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private MovieChangeRepository movieChangeRepository;
+
+    @Mock
+    private GenreRepository genreRepository;
+
+    private MovieChangeFeed movieChangeFeed;
+
+    private GenreDictionary genreDictionary;
+
+    private CatalogVersion catalogVersion;
+
+    private final AtomicLong versions = new AtomicLong();
+
+    private static GenreEntity genre(int idGenre, String nameGenre) {
+        GenreEntity genreEntity = new GenreEntity();
+        genreEntity.setIdGenre(idGenre);
+        genreEntity.setNameGenre(nameGenre);
+        return genreEntity;
+    }
+
+    private static MovieChangeEntity change(long version, int idMovie) {
+        MovieChangeEntity change = new MovieChangeEntity();
+        change.setVersion(version);
+        change.setIdMovie(idMovie);
+        change.setType(MovieChangeType.UPDATED);
+        change.setChangedAt(CLOCK.instant());
+        return change;
+    }
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(movieChangeRepository.findByOrderByVersionDesc(Limit.of(8))).thenReturn(List.of(change(7, 20), change(6, 10)));
+        versions.set(7);
+        when(movieChangeRepository.save(any(MovieChangeEntity.class))).thenAnswer(invocation -> {
+            MovieChangeEntity change = invocation.getArgument(0);
+            change.setVersion(versions.incrementAndGet());
+            return change;
+        });
+        when(genreRepository.findAll()).thenReturn(List.of(genre(1, "Action"), genre(2, "Drama")));
+        movieChangeFeed = feed();
+        genreDictionary = new GenreDictionary(genreRepository);
+        genreDictionary.refresh();
+        catalogVersion = new CatalogVersion(movieChangeFeed, genreDictionary);
+    }
+
+    private MovieChangeFeed feed() {
+        MovieChangeFeed feed = new MovieChangeFeed(movieChangeRepository, 8, Duration.ofSeconds(30), Duration.ofDays(7),
+                Duration.ofMinutes(1), CLOCK);
+        feed.load();
+        return feed;
+    }
+
+    /**
+     * Records the change in a transaction that has not committed yet, and returns its commit.
+     */
+    private TransactionSynchronization uncommitted(MovieChangedEvent event) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            movieChangeFeed.onMovieChanged(event);
+            return TransactionSynchronizationManager.getSynchronizations().get(0);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    //-----Tests for the eTag method-----
+    @Test
+    void testETag_whenMovieChangeCommitsTheETagChanges() {
+        // Given
+        String eTag = catalogVersion.eTag();
+
+        // When
+        movieChangeFeed.onMovieChanged(MovieChangedEvent.updated(10, "Alien"));
+
+        // Then
+        assertNotEquals(eTag, catalogVersion.eTag());
+        assertTrue(catalogVersion.eTag().startsWith("\"8.3-") && catalogVersion.eTag().endsWith("\""));
+    }
+
+    @Test
+    void testETag_whenVersionIsMissingBelowACommittedChangeTheETagStillMoves() {
+        // Given
+        TransactionSynchronization pending = uncommitted(MovieChangedEvent.updated(10, "Alien"));
+        String eTag = catalogVersion.eTag();
+
+        // When
+        movieChangeFeed.onMovieChanged(MovieChangedEvent.deleted(20));
+        long resumeVersion = movieChangeFeed.version();
+        String afterLaterCommit = catalogVersion.eTag();
+        pending.afterCommit();
+
+        // Then
+        assertEquals(7, resumeVersion);
+        assertNotEquals(eTag, afterLaterCommit);
+        assertNotEquals(afterLaterCommit, catalogVersion.eTag());
+        assertNotEquals(eTag, catalogVersion.eTag());
+    }
+
+    @Test
+    void testETag_whenAnotherInstanceHoldsTheSameCatalogTheETagsMatch() {
+        // Given
+        GenreDictionary otherGenres = new GenreDictionary(genreRepository);
+        otherGenres.refresh();
+        CatalogVersion otherInstance = new CatalogVersion(feed(), otherGenres);
+
+        // When & Then
+        assertEquals(catalogVersion.eTag(), otherInstance.eTag());
+    }
+
+    @Test
+    void testETag_whenGenreRefreshFindsChangesOnlyThenTheETagChanges() {
+        // Given
+        String eTag = catalogVersion.eTag();
+
+        // When
+        genreDictionary.refresh();
+        String unchanged = catalogVersion.eTag();
+        when(genreRepository.findAll()).thenReturn(List.of(genre(1, "Action"), genre(2, "Thriller")));
+        genreDictionary.refresh();
+
+        // Then
+        assertEquals(eTag, unchanged);
+        assertNotEquals(eTag, catalogVersion.eTag());
+        assertEquals("Thriller", genreDictionary.nameOf(2));
+    }
+}
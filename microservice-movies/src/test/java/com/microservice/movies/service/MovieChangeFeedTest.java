@@ -0,0 +1,248 @@
+package com.microservice.movies.service;
+
+import com.microservice.movies.dto.MovieChangeDTO;
+import com.microservice.movies.dto.MovieChangesDTO;
+import com.microservice.movies.exception.InvalidMovieDataException;
+import com.microservice.movies.model.MovieChangeEntity;
+import com.microservice.movies.model.MovieChangeType;
+import com.microservice.movies.repository.MovieChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class MovieChangeFeedTest {
+
+    private static final Duration SETTLE_TIMEOUT = Duration.ofMinutes(1);
+
+    @Mock
+    private MovieChangeRepository movieChangeRepository;
+
+    @Mock
+    private Clock clock;
+
+    private MovieChangeFeed movieChangeFeed;
+
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2024-05-01T10:00:00Z"));
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(clock.instant()).thenAnswer(invocation -> now.get());
+        when(movieChangeRepository.findByOrderByVersionDesc(Limit.of(3))).thenReturn(List.of(change(2, 20), change(1, 10)));
+        versions.set(2);
+        when(movieChangeRepository.save(any(MovieChangeEntity.class))).thenAnswer(invocation -> {
+            MovieChangeEntity change = invocation.getArgument(0);
+            change.setVersion(versions.incrementAndGet());
+            return change;
+        });
+        movieChangeFeed = feed();
+        movieChangeFeed.load();
+    }
+
+    private MovieChangeFeed feed() {
+        return new MovieChangeFeed(movieChangeRepository, 3, Duration.ofSeconds(30), Duration.ofDays(7), SETTLE_TIMEOUT, clock);
+    }
+
+    private MovieChangeEntity change(long version, int idMovie) {
+        MovieChangeEntity change = new MovieChangeEntity();
+        change.setVersion(version);
+        change.setIdMovie(idMovie);
+        change.setType(MovieChangeType.UPDATED);
+        change.setChangedAt(now.get());
+        return change;
+    }
+
+    /**
+     * Records the changes in transactions that have not committed yet, and returns the commit of each one.
+     */
+    private List<TransactionSynchronization> uncommitted(MovieChangedEvent... events) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            for (MovieChangedEvent event : events) {
+                movieChangeFeed.onMovieChanged(event);
+            }
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static List<Integer> idMovies(MovieChangesDTO changes) {
+        return changes.getChanges().stream().map(MovieChangeDTO::getIdMovie).toList();
+    }
+
+    @Test
+    void testPoll_whenChangesFollowTheVersionAnswersAtOnce() {
+        // When
+        DeferredResult<MovieChangesDTO> result = movieChangeFeed.poll(0);
+        DeferredResult<MovieChangesDTO> head = movieChangeFeed.poll(-1);
+
+        // Then
+        MovieChangesDTO changes = (MovieChangesDTO) result.getResult();
+        assertEquals(List.of(10, 20), idMovies(changes));
+        assertEquals(2, changes.getVersion());
+        assertFalse(changes.isResync());
+        assertEquals(List.of(), ((MovieChangesDTO) head.getResult()).getChanges());
+        assertEquals(2, ((MovieChangesDTO) head.getResult()).getVersion());
+    }
+
+    @Test
+    void testPoll_whenNothingChangedYetWaitsForTheNextChange() {
+        // Given
+        DeferredResult<MovieChangesDTO> result = movieChangeFeed.poll(2);
+        assertFalse(result.hasResult());
+
+        // When
+        movieChangeFeed.onMovieChanged(MovieChangedEvent.deleted(30));
+
+        // Then
+        MovieChangesDTO changes = (MovieChangesDTO) result.getResult();
+        assertEquals(List.of(30), idMovies(changes));
+        assertEquals(MovieChangeType.DELETED, changes.getChanges().get(0).getType());
+        assertEquals(3, changes.getVersion());
+    }
+
+    @Test
+    void testChangesSince_whenConsumerFellBehindTheRingAsksForAResync() {
+        // Given
+        movieChangeFeed.onMovieChanged(MovieChangedEvent.created(30, "Heat"));
+        movieChangeFeed.onMovieChanged(MovieChangedEvent.updated(40, "Alien"));
+
+        // When
+        MovieChangesDTO behind = movieChangeFeed.changesSince(0);
+        MovieChangesDTO current = movieChangeFeed.changesSince(2);
+
+        // Then
+        assertTrue(behind.isResync());
+        assertEquals(4, behind.getVersion());
+        assertFalse(current.isResync());
+        assertEquals(List.of(30, 40), idMovies(current));
+    }
+
+    @Test
+    void testSync_whenAnotherInstanceRecordedChangesAppendsThemOnce() {
+        // Given
+        when(movieChangeRepository.findByVersionGreaterThanOrderByVersion(2L, Limit.of(3))).thenReturn(List.of(change(3, 50)));
+        versions.set(3);
+
+        // When
+        movieChangeFeed.sync();
+        movieChangeFeed.onMovieChanged(MovieChangedEvent.updated(60, "Ran"));
+
+        // Then
+        assertEquals(List.of(50, 60), idMovies(movieChangeFeed.changesSince(2)));
+    }
+
+    @Test
+    void testPoll_whenVersionIsInvalid() {
+        // When & Then
+        assertThrows(InvalidMovieDataException.class, () -> movieChangeFeed.poll(-2));
+    }
+
+    @Test
+    void testPoll_whenChangesCommitOutOfOrderWaitsForTheLowerVersion() {
+        // Given
+        List<TransactionSynchronization> commits = uncommitted(MovieChangedEvent.updated(30, "Heat"),
+                MovieChangedEvent.updated(40, "Alien"));
+        DeferredResult<MovieChangesDTO> result = movieChangeFeed.poll(2);
+
+        // When
+        commits.get(1).afterCommit();
+        MovieChangesDTO beforeGap = movieChangeFeed.changesSince(2);
+        commits.get(0).afterCommit();
+
+        // Then
+        assertEquals(2, beforeGap.getVersion());
+        assertEquals(List.of(), beforeGap.getChanges());
+        assertEquals(4, movieChangeFeed.version());
+        MovieChangesDTO changes = (MovieChangesDTO) result.getResult();
+        assertEquals(List.of(30, 40), idMovies(changes));
+        assertEquals(4, changes.getVersion());
+    }
+
+    @Test
+    void testSync_whenAnotherInstanceCommitsBelowTheLatestVersionReadsTheGapAgain() {
+        // Given
+        versions.set(3);
+        movieChangeFeed.onMovieChanged(MovieChangedEvent.updated(40, "Alien"));
+        when(movieChangeRepository.findByVersionGreaterThanOrderByVersion(2L, Limit.of(3)))
+                .thenReturn(List.of(change(3, 50), change(4, 40)));
+
+        // When
+        movieChangeFeed.sync();
+
+        // Then
+        MovieChangesDTO changes = movieChangeFeed.changesSince(2);
+        assertEquals(List.of(50, 40), idMovies(changes));
+        assertEquals(4, changes.getVersion());
+    }
+
+    @Test
+    void testSync_whenGapOutlivesTheSettleTimeoutTreatsItAsRolledBack() {
+        // Given
+        versions.set(3);
+        movieChangeFeed.onMovieChanged(MovieChangedEvent.updated(40, "Alien"));
+        when(movieChangeRepository.findByVersionGreaterThanOrderByVersion(2L, Limit.of(3))).thenReturn(List.of(change(4, 40)));
+        movieChangeFeed.sync();
+        assertEquals(2, movieChangeFeed.changesSince(2).getVersion());
+
+        // When
+        now.set(now.get().plus(SETTLE_TIMEOUT).plusSeconds(1));
+        movieChangeFeed.sync();
+
+        // Then
+        MovieChangesDTO changes = movieChangeFeed.changesSince(2);
+        assertEquals(List.of(40), idMovies(changes));
+        assertEquals(4, changes.getVersion());
+    }
+
+    @Test
+    void testChangesSince_whenChangeCommitsAfterItsGapWasDroppedAsksConsumersPastItToResync() {
+        // Given
+        List<TransactionSynchronization> commits = uncommitted(MovieChangedEvent.updated(30, "Heat"),
+                MovieChangedEvent.updated(40, "Alien"));
+        commits.get(1).afterCommit();
+        now.set(now.get().plus(SETTLE_TIMEOUT).plusSeconds(1));
+        movieChangeFeed.sync();
+
+        // When
+        commits.get(0).afterCommit();
+
+        // Then
+        assertTrue(movieChangeFeed.changesSince(4).isResync());
+        assertFalse(movieChangeFeed.changesSince(2).isResync());
+        assertEquals(List.of(30, 40), idMovies(movieChangeFeed.changesSince(2)));
+    }
+
+    @Test
+    void testLoad_whenOlderChangesWerePrunedAsksConsumersBehindThemToResync() {
+        // Given
+        when(movieChangeRepository.findByOrderByVersionDesc(Limit.of(3))).thenReturn(List.of(change(11, 20), change(10, 10)));
+        MovieChangeFeed pruned = feed();
+
+        // When
+        pruned.load();
+
+        // Then
+        assertTrue(pruned.changesSince(5).isResync());
+        assertFalse(pruned.changesSince(9).isResync());
+        assertEquals(List.of(10, 20), idMovies(pruned.changesSince(9)));
+    }
+}
@@ -0,0 +1,85 @@
+package com.microservice.movies.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservice.movies.dto.MovieWithGenreDTO;
+import com.microservice.movies.model.GenreEntity;
+import com.microservice.movies.repository.GenreRepository;
+import com.microservice.movies.repository.MovieRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class MovieExportServiceTest {
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    @Mock
+    private GenreRepository genreRepository;
+
+    private ObjectMapper objectMapper;
+
+    private MovieExportService movieExportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        GenreEntity action = new GenreEntity();
+        action.setIdGenre(1);
+        action.setNameGenre("Action");
+        when(genreRepository.findAll()).thenReturn(List.of(action));
+        GenreDictionary genreDictionary = new GenreDictionary(genreRepository);
+        genreDictionary.refresh();
+
+        objectMapper = new ObjectMapper();
+        movieExportService = new MovieExportService(movieRepository, genreDictionary, objectMapper);
+    }
+
+    @Test
+    void testExportMovies_whenCatalogHasMoviesWritesOneJsonObjectPerLineAndClosesTheStream() throws IOException {
+        // Given
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<MovieWithGenreDTO> movies = Stream.of(
+                new MovieWithGenreDTO(1, "Heat", "Heist", 170, "heat.jpg", 1),
+                new MovieWithGenreDTO(2, "Alien", "Space", 117, "alien.jpg", 1)
+        ).onClose(() -> closed.set(true));
+        when(movieRepository.streamAllWithGenre()).thenReturn(movies);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        long written = movieExportService.exportMovies(outputStream);
+
+        // Then
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, written);
+        assertEquals(2, lines.length);
+        assertEquals("Heat", objectMapper.readTree(lines[0]).get("title").asText());
+        assertEquals("Action", objectMapper.readTree(lines[1]).get("genreName").asText());
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testExportMovies_whenCatalogIsEmptyWritesNothing() throws IOException {
+        // Given
+        when(movieRepository.streamAllWithGenre()).thenReturn(Stream.empty());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        long written = movieExportService.exportMovies(outputStream);
+
+        // Then
+        assertEquals(0, written);
+        assertEquals(0, outputStream.size());
+    }
+}
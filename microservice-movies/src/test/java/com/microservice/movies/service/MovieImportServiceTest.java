@@ -0,0 +1,164 @@
+package com.microservice.movies.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservice.movies.dto.MovieImportReportDTO;
+import com.microservice.movies.exception.InvalidMovieDataException;
+import com.microservice.movies.model.GenreEntity;
+import com.microservice.movies.model.MovieEntity;
+import com.microservice.movies.repository.GenreRepository;
+import com.microservice.movies.repository.MovieBatchRepository;
+import com.microservice.movies.validation.MovieValidation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+public class MovieImportServiceTest {
+
+    @Mock
+    private MovieBatchRepository movieBatchRepository;
+
+    @Mock
+    private GenreRepository genreRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MovieImportService movieImportService;
+
+    private final List<List<String>> insertedTitles = new ArrayList<>();
+    private final AtomicInteger idMovies = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        GenreEntity action = new GenreEntity();
+        action.setIdGenre(1);
+        action.setNameGenre("Action");
+        when(genreRepository.findAll()).thenReturn(List.of(action));
+        GenreDictionary genreDictionary = new GenreDictionary(genreRepository);
+        genreDictionary.refresh();
+
+        // The service reuses its batch list, so the titles are copied when the batch is inserted
+        when(movieBatchRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<MovieEntity> batch = invocation.getArgument(0);
+            insertedTitles.add(batch.stream().map(MovieEntity::getTitle).toList());
+            return IntStream.range(0, batch.size()).mapToObj(i -> idMovies.incrementAndGet()).toList();
+        });
+
+        movieImportService = new MovieImportService(movieBatchRepository, new MovieValidation(genreDictionary),
+                eventPublisher, transactionManager, new ObjectMapper(), 2);
+    }
+
+    private List<Object> publishedEvents() {
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, atLeast(0)).publishEvent(events.capture());
+        return events.getAllValues();
+    }
+
+    private static InputStream body(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String json(String title, int duration, int idGenre) {
+        return "{\"title\":\"" + title + "\",\"description\":\"A movie\",\"duration\":" + duration
+                + ",\"imageUrl\":\"movie.jpg\",\"idGenre\":" + idGenre + "}\n";
+    }
+
+    @Test
+    void testImportMovies_whenNdjsonInsertsValidRowsInBatchesAndReportsInvalidOnes() {
+        // Given
+        String ndjson = json("Heat", 120, 1) + json("Alien", 117, 1) + "not json\n" + json("Ran", 10, 1)
+                + "\n" + json("Up", 96, 7) + json("Jaws", 124, 1);
+        // When
+        MovieImportReportDTO report = movieImportService.importMovies(body(ndjson), MediaType.APPLICATION_NDJSON);
+
+        // Then
+        assertEquals(3, report.getImported());
+        assertEquals(3, report.getRejected());
+        assertEquals(List.of(List.of("Heat", "Alien"), List.of("Jaws")), insertedTitles);
+        assertEquals(List.of(3L, 4L, 6L), report.getErrors().stream().map(error -> error.getLine()).toList());
+        assertEquals("The duration should be between 45 and 180 minutes.", report.getErrors().get(1).getMessage());
+        assertEquals("Genre with ID 7 does not exist.", report.getErrors().get(2).getMessage());
+        assertEquals(List.of(MovieChangedEvent.created(1, "Heat"), MovieChangedEvent.created(2, "Alien"),
+                MovieChangedEvent.created(3, "Jaws")), publishedEvents());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void testImportMovies_whenCsvReadsColumnsByHeaderAndQuotedFields() {
+        // Given
+        String csv = "idGenre,title,duration,description,imageUrl\n"
+                + "1,\"Crouching Tiger, Hidden Dragon\",120,\"A \"\"wuxia\"\" movie\",tiger.jpg\n"
+                + "1,Heat,long,A movie,heat.jpg\n";
+
+        // When
+        MovieImportReportDTO report = movieImportService.importMovies(body(csv), MediaType.parseMediaType("text/csv"));
+
+        // Then
+        assertEquals(1, report.getImported());
+        assertEquals(List.of(List.of("Crouching Tiger, Hidden Dragon")), insertedTitles);
+        assertEquals(3L, report.getErrors().get(0).getLine());
+        assertEquals("The duration must be a whole number.", report.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void testImportMovies_whenDatabaseRejectsABatchInsertsItsRowsOneByOneAndReportsOnlyTheRefusedLines() {
+        // Given
+        doThrow(new DataIntegrityViolationException("batch rejected"))
+                .when(movieBatchRepository).insertAll(argThat(batch -> batch.size() > 1));
+        doThrow(new DataIntegrityViolationException("duplicate title"))
+                .when(movieBatchRepository).insertAll(argThat(batch -> batch.size() == 1 && batch.get(0).getTitle().equals("Alien")));
+        String ndjson = json("Heat", 120, 1) + json("Alien", 117, 1) + json("Jaws", 124, 1);
+
+        // When
+        MovieImportReportDTO report = movieImportService.importMovies(body(ndjson), MediaType.APPLICATION_NDJSON);
+
+        // Then
+        assertEquals(2, report.getImported());
+        assertEquals(1, report.getRejected());
+        assertEquals(2L, report.getErrors().get(0).getLine());
+        assertEquals("The line was rejected by the database: duplicate title", report.getErrors().get(0).getMessage());
+        assertEquals(List.of(List.of("Heat"), List.of("Jaws")), insertedTitles);
+        assertEquals(List.of(MovieChangedEvent.created(1, "Heat"), MovieChangedEvent.created(2, "Jaws")), publishedEvents());
+        verify(transactionManager, times(2)).rollback(any());
+    }
+
+    @Test
+    void testImportMovies_whenCsvHeaderOrContentTypeIsInvalid() {
+        // When & Then
+        assertThrows(InvalidMovieDataException.class,
+                () -> movieImportService.importMovies(body("title,duration\n"), MediaType.parseMediaType("text/csv")));
+        assertThrows(InvalidMovieDataException.class,
+                () -> movieImportService.importMovies(body(""), MediaType.APPLICATION_XML));
+        verifyNoInteractions(movieBatchRepository);
+    }
+
+    @Test
+    void testCsvFields_whenFieldsAreQuoted() {
+        // When & Then
+        assertEquals(List.of("a", "b, c", "d\"e", ""), MovieImportService.csvFields("a,\"b, c\",\"d\"\"e\","));
+    }
+}
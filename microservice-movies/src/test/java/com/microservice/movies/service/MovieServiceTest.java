@@ -1,26 +1,38 @@
 package com.microservice.movies.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservice.movies.dto.MovieFields;
+import com.microservice.movies.dto.MovieScrollDTO;
+import com.microservice.movies.dto.MovieTitleDTO;
 import com.microservice.movies.dto.MovieWithGenreDTO;
 import com.microservice.movies.exception.GenreNotFoundException;
+import com.microservice.movies.exception.InvalidMovieDataException;
 import com.microservice.movies.exception.InvalidMovieEntityException;
 import com.microservice.movies.exception.MovieNotFoundException;
 import com.microservice.movies.exception.TitleNotFoundException;
 import com.microservice.movies.model.GenreEntity;
 import com.microservice.movies.model.MovieEntity;
+import com.microservice.movies.repository.GenreRepository;
 import com.microservice.movies.repository.MovieRepository;
+import com.microservice.movies.validation.MovieValidation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -30,12 +42,36 @@ public class MovieServiceTest {
     @Mock
     private MovieRepository movieRepository;
 
-    @InjectMocks
+    @Mock
+    private GenreRepository genreRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private GenreDictionary genreDictionary;
+
+    private MovieTitleIndex movieTitleIndex;
+
     private MovieService movieService;
 
+    private static GenreEntity genre(int idGenre, String nameGenre) {
+        GenreEntity genreEntity = new GenreEntity();
+        genreEntity.setIdGenre(idGenre);
+        genreEntity.setNameGenre(nameGenre);
+        return genreEntity;
+    }
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(genreRepository.findAll()).thenReturn(List.of(genre(1, "Action"), genre(2, "Drama")));
+        genreDictionary = new GenreDictionary(genreRepository);
+        genreDictionary.refresh();
+        clearInvocations(genreRepository);
+
+        movieTitleIndex = new MovieTitleIndex(movieRepository, 10);
+        movieService = new MovieService(movieRepository, new MovieValidation(genreDictionary),
+                movieTitleIndex, genreDictionary, eventPublisher);
     }
 
 
@@ -45,11 +81,11 @@ public class MovieServiceTest {
         // Given
         int page = 0;
         int size = 10;
-        List<MovieEntity> movieList = List.of(new MovieEntity(), new MovieEntity());
+        List<MovieWithGenreDTO> movieList = List.of(new MovieWithGenreDTO(), new MovieWithGenreDTO());
         PageRequest pageRequest = PageRequest.of(page, size);
-        Page<MovieEntity> pageResult = new PageImpl<>(movieList, pageRequest, movieList.size());
+        Page<MovieWithGenreDTO> pageResult = new PageImpl<>(movieList, pageRequest, movieList.size());
 
-        when(movieRepository.findAll(pageRequest)).thenReturn(pageResult);
+        when(movieRepository.findAllWithGenre(pageRequest)).thenReturn(pageResult);
 
         // When
         Page<MovieWithGenreDTO> result = movieService.findAllMovies(page, size);
@@ -88,9 +124,9 @@ public class MovieServiceTest {
         // Given
         int page = 0;
         int size = 10;
-        Page<MovieEntity> emptyPageResult = new PageImpl<>(Collections.emptyList());
+        Page<MovieWithGenreDTO> emptyPageResult = new PageImpl<>(Collections.emptyList());
 
-        when(movieRepository.findAll(PageRequest.of(page, size))).thenReturn(emptyPageResult);
+        when(movieRepository.findAllWithGenre(PageRequest.of(page, size))).thenReturn(emptyPageResult);
 
         // When
         Page<MovieWithGenreDTO> result = movieService.findAllMovies(page, size);
@@ -116,12 +152,11 @@ public class MovieServiceTest {
     void testGetMovieById_whenMovieExists() {
         // When
         int idMovie = 1;
-        MovieEntity movie = new MovieEntity();
+        MovieWithGenreDTO movie = new MovieWithGenreDTO();
         movie.setIdMovie(idMovie);
         movie.setTitle("The Dark Knight");
 
-        when(movieRepository.existsByIdMovie(idMovie)).thenReturn(true);
-        when(movieRepository.findByIdMovie(idMovie)).thenReturn(movie);
+        when(movieRepository.findWithGenreByIdMovie(idMovie)).thenReturn(Optional.of(movie));
 
         // Then
         MovieWithGenreDTO result = movieService.findMovieById(idMovie);
@@ -143,7 +178,7 @@ public class MovieServiceTest {
     void testFindMovieById_whenMovieNotFoundThrowsException() {
         // Given
         int validId = 1;
-        when(movieRepository.existsByIdMovie(validId)).thenReturn(false);
+        when(movieRepository.findWithGenreByIdMovie(validId)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(MovieNotFoundException.class, () -> movieService.findMovieById(validId));
@@ -153,19 +188,18 @@ public class MovieServiceTest {
     void testFindMovieById_callsRepositoryMethods() {
         // Given
         int validId = 1;
-        MovieEntity movie = new MovieEntity();
+        MovieWithGenreDTO movie = new MovieWithGenreDTO();
         movie.setIdMovie(validId);
         movie.setTitle("The Dark Knight");
 
-        when(movieRepository.existsByIdMovie(validId)).thenReturn(true);
-        when(movieRepository.findByIdMovie(validId)).thenReturn(movie);
+        when(movieRepository.findWithGenreByIdMovie(validId)).thenReturn(Optional.of(movie));
 
         // When
         movieService.findMovieById(validId);
 
         // Then
-        verify(movieRepository).existsByIdMovie(validId);
-        verify(movieRepository).findByIdMovie(validId);
+        verify(movieRepository).findWithGenreByIdMovie(validId);
+        verify(movieRepository, never()).existsByIdMovie(anyInt());
     }
 
     @Test
@@ -178,6 +212,36 @@ public class MovieServiceTest {
     }
 
 
+    //-----Tests for the findMoviesByIds method-----
+    @Test
+    void testFindMoviesByIds_whenIdsAreValidUsesOneQuery() {
+        // Given
+        MovieWithGenreDTO first = new MovieWithGenreDTO(1, "The Dark Knight", "Batman", 152, "dark-knight.jpg", 1);
+        MovieWithGenreDTO second = new MovieWithGenreDTO(2, "Heat", "Los Angeles", 170, "heat.jpg", 1);
+
+        when(movieRepository.findWithGenreByIdMovieIn(anyCollection())).thenReturn(List.of(first, second));
+
+        // When
+        List<MovieWithGenreDTO> result = movieService.findMoviesByIds(List.of(1, 2, 2, 3));
+
+        // Then
+        assertEquals(List.of("The Dark Knight", "Heat"), result.stream().map(MovieWithGenreDTO::getTitle).toList());
+        assertEquals("Action", result.get(0).getGenreName());
+        verify(movieRepository).findWithGenreByIdMovieIn(Set.of(1, 2, 3));
+        verifyNoMoreInteractions(movieRepository);
+    }
+
+    @Test
+    void testFindMoviesByIds_whenIdsAreInvalid() {
+        // When & Then
+        assertThrows(InvalidMovieDataException.class, () -> movieService.findMoviesByIds(List.of()));
+        assertThrows(InvalidMovieDataException.class, () -> movieService.findMoviesByIds(List.of(1, 0)));
+        assertThrows(InvalidMovieDataException.class, () -> movieService.findMoviesByIds(
+                IntStream.rangeClosed(1, 101).boxed().toList()));
+        verifyNoInteractions(movieRepository);
+    }
+
+
     //-----Tests for the findMoviesByGenre method-----
     @Test
     void testFindMoviesByGenre_whenGenreExistsAndPageAndSizeAreValid() {
@@ -185,15 +249,14 @@ public class MovieServiceTest {
         int idGenre = 1;
         int page = 0;
         int size = 10;
-        List<MovieEntity> movieList = List.of(new MovieEntity(), new MovieEntity());
+        List<MovieWithGenreDTO> movieList = List.of(new MovieWithGenreDTO(), new MovieWithGenreDTO());
         PageRequest pageRequest = PageRequest.of(page, size);
-        Page<MovieEntity> pageResult = new PageImpl<>(movieList, pageRequest, movieList.size());
+        Page<MovieWithGenreDTO> pageResult = new PageImpl<>(movieList, pageRequest, movieList.size());
 
-        when(movieRepository.existsByGenreEntityIdGenre(idGenre)).thenReturn(true);
-        when(movieRepository.findByGenreEntityIdGenre(idGenre, pageRequest)).thenReturn(pageResult);
+        when(movieRepository.findWithGenreByIdGenre(idGenre, pageRequest)).thenReturn(pageResult);
 
         // When
-        Page<MovieEntity> result = movieService.findMoviesByGenre(idGenre, page, size);
+        Page<MovieWithGenreDTO> result = movieService.findMoviesByGenre(idGenre, page, size);
 
         // Then
         assertNotNull(result);
@@ -205,14 +268,31 @@ public class MovieServiceTest {
     @Test
     void testFindMoviesByGenre_whenGenreDoesNotExist() {
         // Given
-        int idGenre = 1;
+        int idGenre = 3;
         int page = 0;
         int size = 10;
 
-        when(movieRepository.existsByGenreEntityIdGenre(idGenre)).thenReturn(false);
-
         // When & Then
         assertThrows(GenreNotFoundException.class, () -> movieService.findMoviesByGenre(idGenre, page, size));
+        verifyNoInteractions(movieRepository);
+    }
+
+    @Test
+    void testFindMoviesByGenre_whenGenreExistsResolvesNamesWithoutQueryingGenres() {
+        // Given
+        int idGenre = 2;
+        PageRequest pageRequest = PageRequest.of(0, 10);
+        List<MovieWithGenreDTO> movieList = List.of(new MovieWithGenreDTO(7, "Heat", "Los Angeles", 170, "heat.jpg", idGenre));
+        when(movieRepository.findWithGenreByIdGenre(idGenre, pageRequest)).thenReturn(new PageImpl<>(movieList, pageRequest, 1));
+
+        // When
+        Page<MovieWithGenreDTO> result = movieService.findMoviesByGenre(idGenre, 0, 10);
+
+        // Then
+        assertEquals("Drama", result.getContent().get(0).getGenreName());
+        verify(movieRepository).findWithGenreByIdGenre(idGenre, pageRequest);
+        verifyNoMoreInteractions(movieRepository);
+        verifyNoInteractions(genreRepository);
     }
 
     @Test
@@ -222,7 +302,6 @@ public class MovieServiceTest {
         int page = -1;
         int size = 10;
 
-        when(movieRepository.existsByGenreEntityIdGenre(idGenre)).thenReturn(true);
 
         // When & Then
         assertThrows(IllegalArgumentException.class, () -> movieService.findMoviesByGenre(idGenre, page, size));
@@ -234,7 +313,6 @@ public class MovieServiceTest {
         int idGenre = 1;
         int page = 0;
 
-        when(movieRepository.existsByGenreEntityIdGenre(idGenre)).thenReturn(true);
 
         // Test when size is zero
         assertThrows(IllegalArgumentException.class, () -> movieService.findMoviesByGenre(idGenre, page, 0));
@@ -274,6 +352,8 @@ public class MovieServiceTest {
         int page = 0;
         int size = 10;
 
+        when(movieRepository.findWithGenreByTitleContaining(invalidTitle, PageRequest.of(page, size))).thenReturn(Page.empty());
+
         // When & Then
         assertThrows(TitleNotFoundException.class, () -> movieService.findMoviesByTitle(invalidTitle, page, size));
     }
@@ -283,13 +363,203 @@ public class MovieServiceTest {
         // Given
         String title = "Non Existent Title";
 
-        when(movieRepository.findByTitleContainingIgnoreCase(title, PageRequest.of(0, 10))).thenReturn(Page.empty());
+        when(movieRepository.findWithGenreByTitleContaining(title, PageRequest.of(0, 10))).thenReturn(Page.empty());
 
         // When & Then
         assertThrows(TitleNotFoundException.class, () -> movieService.findMoviesByTitle(title, 0, 10));
     }
 
 
+    @Test
+    void testFindMoviesByTitle_whenIndexIsLoadedReturnsRankedPageWithoutScanning() {
+        // Given
+        when(movieRepository.findAllTitles()).thenReturn(List.of(
+                new MovieTitleDTO(1, "The Godfather Part II"),
+                new MovieTitleDTO(2, "Godfather"),
+                new MovieTitleDTO(3, "The Godfather"),
+                new MovieTitleDTO(4, "Heat")));
+        movieTitleIndex.refresh();
+        when(movieRepository.findWithGenreByIdMovieIn(List.of(2, 3))).thenReturn(List.of(
+                new MovieWithGenreDTO(3, "The Godfather", "Description", 175, "image.jpg", 2),
+                new MovieWithGenreDTO(2, "Godfather", "Description", 175, "image.jpg", 2)));
+
+        // When
+        Page<MovieWithGenreDTO> result = movieService.findMoviesByTitle("godfater", 0, 2);
+
+        // Then
+        assertEquals(List.of(2, 3), result.getContent().stream().map(MovieWithGenreDTO::getIdMovie).toList());
+        assertEquals(3, result.getTotalElements());
+        verify(movieRepository, never()).findWithGenreByTitleContaining(anyString(), any());
+    }
+
+    @Test
+    void testFindMoviesByTitle_whenIndexIsLoadedAndNothingMatches() {
+        // Given
+        when(movieRepository.findAllTitles()).thenReturn(List.of(new MovieTitleDTO(4, "Heat")));
+        movieTitleIndex.refresh();
+
+        // When & Then
+        assertThrows(TitleNotFoundException.class, () -> movieService.findMoviesByTitle("Casablanca", 0, 10));
+        verify(movieRepository, never()).findWithGenreByTitleContaining(anyString(), any());
+    }
+
+    @Test
+    void testOnMovieChanged_whenMovieIsDeletedItLeavesTheIndex() {
+        // Given
+        int idMovie = 4;
+        when(movieRepository.findAllTitles()).thenReturn(List.of(new MovieTitleDTO(idMovie, "Heat")));
+        when(movieRepository.deleteByIdMovie(idMovie)).thenReturn(1);
+        movieTitleIndex.refresh();
+
+        // When
+        movieService.deleteMovie(idMovie);
+        movieTitleIndex.onMovieChanged(MovieChangedEvent.deleted(idMovie));
+
+        // Then
+        verify(eventPublisher).publishEvent(MovieChangedEvent.deleted(idMovie));
+        assertEquals(Optional.of(List.of()), movieTitleIndex.search("heat"));
+    }
+
+
+    //-----Tests for the slice methods-----
+    @Test
+    void testFindAllMoviesSlice_whenSliceIsLoadedDoesNotCount() {
+        // Given
+        PageRequest pageRequest = PageRequest.of(0, 1);
+        when(movieRepository.findSliceWithGenre(pageRequest)).thenReturn(new SliceImpl<>(
+                List.of(new MovieWithGenreDTO(1, "Heat", "Description", 170, "image.jpg", 1)), pageRequest, true));
+
+        // When
+        Slice<MovieWithGenreDTO> result = movieService.findAllMoviesSlice(0, 1, MovieFields.ALL);
+
+        // Then
+        assertTrue(result.hasNext());
+        assertEquals("Action", result.getContent().get(0).getGenreName());
+        verify(movieRepository, never()).findAllWithGenre(any());
+    }
+
+    @Test
+    void testFindMoviesByGenreSlice_whenGenreDoesNotExist() {
+        // When & Then
+        assertThrows(GenreNotFoundException.class, () -> movieService.findMoviesByGenreSlice(9, 0, 10, MovieFields.ALL));
+        verifyNoInteractions(movieRepository);
+    }
+
+    @Test
+    void testFindMoviesByTitleSlice_whenIndexIsLoadedTellsWhetherMoreRankedMoviesFollow() {
+        // Given
+        when(movieRepository.findAllTitles()).thenReturn(List.of(
+                new MovieTitleDTO(1, "The Godfather Part II"),
+                new MovieTitleDTO(2, "Godfather"),
+                new MovieTitleDTO(3, "The Godfather")));
+        movieTitleIndex.refresh();
+        when(movieRepository.findWithGenreByIdMovieIn(List.of(2, 3))).thenReturn(List.of(
+                new MovieWithGenreDTO(3, "The Godfather", "Description", 175, "image.jpg", 2),
+                new MovieWithGenreDTO(2, "Godfather", "Description", 175, "image.jpg", 2)));
+        when(movieRepository.findWithGenreByIdMovieIn(List.of(1))).thenReturn(List.of(
+                new MovieWithGenreDTO(1, "The Godfather Part II", "Description", 200, "image.jpg", 2)));
+
+        // When
+        Slice<MovieWithGenreDTO> first = movieService.findMoviesByTitleSlice("godfather", 0, 2, MovieFields.ALL);
+        Slice<MovieWithGenreDTO> second = movieService.findMoviesByTitleSlice("godfather", 1, 2, MovieFields.ALL);
+
+        // Then
+        assertEquals(List.of(2, 3), first.getContent().stream().map(MovieWithGenreDTO::getIdMovie).toList());
+        assertTrue(first.hasNext());
+        assertEquals(List.of(1), second.getContent().stream().map(MovieWithGenreDTO::getIdMovie).toList());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void testFindMoviesByTitleSlice_whenIndexIsNotLoadedAndNothingMatches() {
+        // Given
+        when(movieRepository.findSliceWithGenreByTitleContaining(eq("Heat"), any()))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 10), false));
+
+        // When & Then
+        assertThrows(TitleNotFoundException.class, () -> movieService.findMoviesByTitleSlice("Heat", 0, 10, MovieFields.ALL));
+        verify(movieRepository, never()).findWithGenreByTitleContaining(anyString(), any());
+    }
+
+
+    //-----Tests for the sparse fieldsets-----
+    @Test
+    void testFindAllMovies_whenOnlyCardFieldsAreRequestedReadsTheNarrowProjection() {
+        // Given
+        PageRequest pageRequest = PageRequest.of(0, 10);
+        when(movieRepository.findAllCards(pageRequest)).thenReturn(new PageImpl<>(
+                List.of(new MovieWithGenreDTO(1, "Heat", "heat.jpg")), pageRequest, 1));
+
+        // When
+        Page<MovieWithGenreDTO> result = movieService.findAllMovies(0, 10, MovieFields.parse("title, imageUrl"));
+
+        // Then
+        assertEquals("Heat", result.getContent().get(0).getTitle());
+        verify(movieRepository, never()).findAllWithGenre(any());
+    }
+
+    @Test
+    void testFindMoviesByGenre_whenGenreNameIsRequestedReadsTheFullProjection() {
+        // Given
+        PageRequest pageRequest = PageRequest.of(0, 10);
+        when(movieRepository.findWithGenreByIdGenre(1, pageRequest)).thenReturn(new PageImpl<>(
+                List.of(new MovieWithGenreDTO(1, "Heat", "Description", 170, "heat.jpg", 1)), pageRequest, 1));
+
+        // When
+        Page<MovieWithGenreDTO> result = movieService.findMoviesByGenre(1, 0, 10, MovieFields.parse("title,genreName"));
+
+        // Then
+        assertEquals("Action", result.getContent().get(0).getGenreName());
+        verify(movieRepository, never()).findCardsByIdGenre(anyInt(), any());
+    }
+
+    @Test
+    void testMovieFields_whenFieldsAreRequestedSerializesOnlyThose() throws Exception {
+        // Given
+        ObjectMapper objectMapper = new ObjectMapper();
+        MovieWithGenreDTO movie = new MovieWithGenreDTO(1, "Heat", "Description", 170, "heat.jpg", 1);
+
+        // When
+        String card = objectMapper.writer(MovieFields.parse("idMovie,title").filters()).writeValueAsString(movie);
+        String all = objectMapper.writer(MovieFields.parse(null).filters()).writeValueAsString(movie);
+
+        // Then
+        assertEquals("{\"idMovie\":1,\"title\":\"Heat\"}", card);
+        assertTrue(all.contains("\"description\":\"Description\""));
+        assertTrue(MovieFields.parse("idMovie,title").isCard());
+        assertFalse(MovieFields.parse("title,duration").isCard());
+        assertThrows(InvalidMovieDataException.class, () -> MovieFields.parse("title,budget"));
+    }
+
+
+    //-----Tests for the autocompleteTitles method-----
+    @Test
+    void testAutocompleteTitles_whenIndexIsLoadedAnswersWithoutTheDatabase() {
+        // Given
+        when(movieRepository.findAllTitles()).thenReturn(List.of(
+                new MovieTitleDTO(1, "The Godfather"),
+                new MovieTitleDTO(2, "Gone Girl"),
+                new MovieTitleDTO(3, "Heat")));
+        movieTitleIndex.refresh();
+        clearInvocations(movieRepository);
+
+        // When
+        List<MovieTitleDTO> result = movieService.autocompleteTitles("go", 10);
+
+        // Then
+        assertEquals(List.of(2, 1), result.stream().map(MovieTitleDTO::getIdMovie).toList());
+        verifyNoInteractions(movieRepository);
+    }
+
+    @Test
+    void testAutocompleteTitles_whenPrefixIsBlankOrLimitIsInvalid() {
+        // When & Then
+        assertThrows(InvalidMovieDataException.class, () -> movieService.autocompleteTitles(" ", 10));
+        assertThrows(InvalidMovieDataException.class, () -> movieService.autocompleteTitles("go", 0));
+        assertTrue(movieService.autocompleteTitles("go", 10).isEmpty());
+    }
+
+
     //-----Tests for the existsMovie method-----
     @Test
     void testExistsMovie_whenIdMovieIsZeroOrNegative() {
@@ -431,7 +701,7 @@ public class MovieServiceTest {
     void testDeleteMovie_whenMovieDoesNotExist() {
         // Given
         int idMovie = 1;
-        when(movieRepository.existsByIdMovie(idMovie)).thenReturn(false);
+        when(movieRepository.deleteByIdMovie(idMovie)).thenReturn(0);
 
         // When & Then
         assertThrows(MovieNotFoundException.class, () -> movieService.deleteMovie(idMovie));
@@ -445,13 +715,93 @@ public class MovieServiceTest {
         movie.setIdMovie(idMovie);
         movie.setTitle("Valid Movie");
 
-        when(movieRepository.existsByIdMovie(idMovie)).thenReturn(true);
+        when(movieRepository.deleteByIdMovie(idMovie)).thenReturn(1);
 
         // When
         movieService.deleteMovie(idMovie);
 
         // Then
-        verify(movieRepository, times(1)).deleteById(idMovie);
+        verify(movieRepository, times(1)).deleteByIdMovie(idMovie);
+    }
+
+
+    //-----Tests for the scroll methods-----
+    private static MovieWithGenreDTO movie(int idMovie, String title) {
+        return new MovieWithGenreDTO(idMovie, title, "Description", 120, "image.jpg", 1);
+    }
+
+    @Test
+    void testScrollAllMovies_whenMoreMoviesExistReturnsCursorOfTheLastOne() {
+        // Given
+        when(movieRepository.findWithGenreAfter(0, Limit.of(3)))
+                .thenReturn(List.of(movie(4, "Alien"), movie(7, "Brazil"), movie(9, "Casablanca")));
+        when(movieRepository.findWithGenreAfter(7, Limit.of(3)))
+                .thenReturn(List.of(movie(9, "Casablanca")));
+
+        // When
+        MovieScrollDTO first = movieService.scrollAllMovies(null, 2, "id");
+        MovieScrollDTO second = movieService.scrollAllMovies(first.getNextCursor(), 2, "id");
+
+        // Then
+        assertEquals(List.of(4, 7), first.getContent().stream().map(MovieWithGenreDTO::getIdMovie).toList());
+        assertNotNull(first.getNextCursor());
+        assertEquals(List.of(9), second.getContent().stream().map(MovieWithGenreDTO::getIdMovie).toList());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void testScrollAllMovies_whenSortedByTitleSeeksOnTitleAndId() {
+        // Given
+        when(movieRepository.findWithGenreOrderByTitleAfter("", 0, Limit.of(2)))
+                .thenReturn(List.of(movie(7, "Alien"), movie(3, "Alien 3")));
+        when(movieRepository.findWithGenreOrderByTitleAfter("Alien", 7, Limit.of(2)))
+                .thenReturn(List.of(movie(3, "Alien 3")));
+
+        // When
+        MovieScrollDTO first = movieService.scrollAllMovies(null, 1, "title");
+        MovieScrollDTO second = movieService.scrollAllMovies(first.getNextCursor(), 1, "title");
+
+        // Then
+        assertEquals("Alien 3", second.getContent().get(0).getTitle());
+        assertNull(second.getNextCursor());
+        verify(movieRepository, never()).findWithGenreAfter(anyInt(), any());
+    }
+
+    @Test
+    void testScrollAllMovies_whenCursorIsInvalidOrFromAnotherSort() {
+        // Given
+        when(movieRepository.findWithGenreAfter(0, Limit.of(2)))
+                .thenReturn(List.of(movie(1, "Alien"), movie(2, "Brazil")));
+        String idCursor = movieService.scrollAllMovies(null, 1, "id").getNextCursor();
+
+        // When & Then
+        assertThrows(InvalidMovieDataException.class, () -> movieService.scrollAllMovies("not-a-cursor", 1, "id"));
+        assertThrows(InvalidMovieDataException.class, () -> movieService.scrollAllMovies(idCursor, 1, "title"));
+        assertThrows(InvalidMovieDataException.class, () -> movieService.scrollAllMovies(null, 1, "duration"));
+        assertThrows(InvalidMovieDataException.class, () -> movieService.scrollAllMovies(null, 0, "id"));
+    }
+
+    @Test
+    void testScrollMoviesByGenre_whenGenreExists() {
+        // Given
+        int idGenre = 2;
+        when(movieRepository.findWithGenreByIdGenreAfter(idGenre, 0, Limit.of(11)))
+                .thenReturn(List.of(movie(5, "Heat")));
+
+        // When
+        MovieScrollDTO result = movieService.scrollMoviesByGenre(idGenre, null, 10);
+
+        // Then
+        assertEquals(1, result.getContent().size());
+        assertNull(result.getNextCursor());
+        verify(movieRepository, never()).findWithGenreByIdGenre(anyInt(), any());
+    }
+
+    @Test
+    void testScrollMoviesByTitle_whenTitleIsBlank() {
+        // When & Then
+        assertThrows(TitleNotFoundException.class, () -> movieService.scrollMoviesByTitle(" ", null, 10));
+        verifyNoInteractions(movieRepository);
     }
 
 
@@ -499,7 +849,6 @@ public class MovieServiceTest {
         movieEntity.setGenreEntity(genre);
 
         when(movieRepository.findById(idMovie)).thenReturn(Optional.empty());
-        when(movieRepository.existsByGenreEntityIdGenre(1)).thenReturn(true);
 
         // When & Then
         assertThrows(MovieNotFoundException.class, () -> movieService.updateMovie(idMovie, movieEntity));
@@ -529,8 +878,6 @@ public class MovieServiceTest {
 
         when(movieRepository.findById(idMovie)).thenReturn(Optional.of(existingMovie));
         when(movieRepository.save(existingMovie)).thenReturn(updatedMovie);
-        when(movieRepository.existsByIdMovie(idMovie)).thenReturn(true);
-        when(movieRepository.existsByGenreEntityIdGenre(1)).thenReturn(true);
 
         // When
         MovieEntity result = movieService.updateMovie(idMovie, updatedMovie);
@@ -542,4 +889,132 @@ public class MovieServiceTest {
         assertEquals(120, result.getDuration());
         assertEquals("http://example.com/updated-image.jpg", result.getImageUrl());
     }
+
+
+    //-----Round trip regression tests: each endpoint makes exactly these repository calls-----
+    private MovieEntity validMovie() {
+        MovieEntity movieEntity = new MovieEntity();
+        movieEntity.setTitle("Heat");
+        movieEntity.setDescription("Los Angeles");
+        movieEntity.setDuration(170);
+        movieEntity.setImageUrl("heat.jpg");
+        movieEntity.setGenreEntity(genre(1, "Action"));
+        return movieEntity;
+    }
+
+    @Test
+    void testRoundTrips_findAllMoviesRunsOnePagedQuery() {
+        // Given
+        when(movieRepository.findAllWithGenre(any())).thenReturn(Page.empty());
+
+        // When
+        movieService.findAllMovies(0, 10);
+
+        // Then
+        verify(movieRepository).findAllWithGenre(PageRequest.of(0, 10));
+        verifyNoMoreInteractions(movieRepository, genreRepository);
+    }
+
+    @Test
+    void testRoundTrips_findMovieByIdRunsOneQueryWhetherOrNotTheMovieExists() {
+        // Given
+        when(movieRepository.findWithGenreByIdMovie(1)).thenReturn(Optional.of(movie(1, "Heat")));
+        when(movieRepository.findWithGenreByIdMovie(2)).thenReturn(Optional.empty());
+
+        // When
+        movieService.findMovieById(1);
+        assertThrows(MovieNotFoundException.class, () -> movieService.findMovieById(2));
+
+        // Then
+        verify(movieRepository).findWithGenreByIdMovie(1);
+        verify(movieRepository).findWithGenreByIdMovie(2);
+        verifyNoMoreInteractions(movieRepository, genreRepository);
+    }
+
+    @Test
+    void testRoundTrips_findMoviesByGenreRunsOnePagedQuery() {
+        // Given
+        when(movieRepository.findWithGenreByIdGenre(anyInt(), any())).thenReturn(Page.empty());
+
+        // When
+        movieService.findMoviesByGenre(1, 0, 10);
+        assertThrows(GenreNotFoundException.class, () -> movieService.findMoviesByGenre(3, 0, 10));
+
+        // Then
+        verify(movieRepository).findWithGenreByIdGenre(1, PageRequest.of(0, 10));
+        verifyNoMoreInteractions(movieRepository, genreRepository);
+    }
+
+    @Test
+    void testRoundTrips_findMoviesByTitleRunsOnePagedQueryBeforeTheIndexIsLoaded() {
+        // Given
+        when(movieRepository.findWithGenreByTitleContaining(anyString(), any())).thenReturn(Page.empty());
+
+        // When
+        assertThrows(TitleNotFoundException.class, () -> movieService.findMoviesByTitle("Heat", 0, 10));
+
+        // Then
+        verify(movieRepository).findWithGenreByTitleContaining("Heat", PageRequest.of(0, 10));
+        verifyNoMoreInteractions(movieRepository, genreRepository);
+    }
+
+    @Test
+    void testRoundTrips_existsMovieRunsOneQuery() {
+        // Given
+        when(movieRepository.existsByIdMovie(1)).thenReturn(true);
+
+        // When
+        movieService.existsMovie(1);
+
+        // Then
+        verify(movieRepository).existsByIdMovie(1);
+        verifyNoMoreInteractions(movieRepository, genreRepository);
+    }
+
+    @Test
+    void testRoundTrips_saveMovieOnlyInserts() {
+        // Given
+        MovieEntity movieEntity = validMovie();
+        when(movieRepository.save(movieEntity)).thenReturn(movieEntity);
+
+        // When
+        movieService.saveMovie(movieEntity);
+
+        // Then
+        verify(movieRepository).save(movieEntity);
+        verifyNoMoreInteractions(movieRepository, genreRepository);
+    }
+
+    @Test
+    void testRoundTrips_updateMovieLoadsOnceAndSaves() {
+        // Given
+        MovieEntity existingMovie = validMovie();
+        existingMovie.setIdMovie(1);
+        when(movieRepository.findById(1)).thenReturn(Optional.of(existingMovie));
+        when(movieRepository.save(existingMovie)).thenReturn(existingMovie);
+
+        // When
+        movieService.updateMovie(1, validMovie());
+
+        // Then
+        verify(movieRepository).findById(1);
+        verify(movieRepository).save(existingMovie);
+        verifyNoMoreInteractions(movieRepository, genreRepository);
+    }
+
+    @Test
+    void testRoundTrips_deleteMovieRunsOneDeleteWhetherOrNotTheMovieExists() {
+        // Given
+        when(movieRepository.deleteByIdMovie(1)).thenReturn(1);
+        when(movieRepository.deleteByIdMovie(2)).thenReturn(0);
+
+        // When
+        movieService.deleteMovie(1);
+        assertThrows(MovieNotFoundException.class, () -> movieService.deleteMovie(2));
+
+        // Then
+        verify(movieRepository).deleteByIdMovie(1);
+        verify(movieRepository).deleteByIdMovie(2);
+        verifyNoMoreInteractions(movieRepository, genreRepository);
+    }
 }
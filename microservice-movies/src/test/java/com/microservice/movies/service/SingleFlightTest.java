@@ -0,0 +1,191 @@
+package com.microservice.movies.service;
+
+import com.microservice.movies.exception.MovieNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SingleFlightTest {
+
+    private CatalogVersion catalogVersion;
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        catalogVersion = mock(CatalogVersion.class);
+        when(catalogVersion.eTag()).thenReturn("\"1-0\"");
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight(catalogVersion, meterRegistry);
+    }
+
+    /**
+     * A read that signals when it starts and then waits for {@code release}.
+     */
+    private static <T> Supplier<T> blockingRead(CountDownLatch started, CountDownLatch release, Supplier<T> result) {
+        return () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            return result.get();
+        };
+    }
+
+    private void awaitCoalesced(long calls) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.coalescedCalls() < calls && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    void testExecute_whenIdenticalReadsOverlapRunsOneRead() throws Exception {
+        // Given
+        AtomicInteger reads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<String> read = () -> {
+            reads.incrementAndGet();
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            return "Heat";
+        };
+
+        // When
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute("search-movie:1", read));
+        started.await();
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> singleFlight.execute("search-movie:1", read));
+        awaitCoalesced(1);
+        release.countDown();
+
+        // Then
+        assertEquals("Heat", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("Heat", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, reads.get());
+        assertEquals(1.0, meterRegistry.get("movies.single-flight.calls").tag("result", "coalesced").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("movies.single-flight.calls").tag("result", "executed").functionCounter().count());
+    }
+
+    @Test
+    void testExecute_whenReadsDoNotOverlapRunsEachOne() {
+        // Given
+        AtomicInteger reads = new AtomicInteger();
+
+        // When
+        singleFlight.execute("search-movie:1", reads::incrementAndGet);
+        singleFlight.execute("search-movie:1", reads::incrementAndGet);
+        singleFlight.execute("search-movie:2", reads::incrementAndGet);
+
+        // Then
+        assertEquals(3, reads.get());
+        assertEquals(0, singleFlight.coalescedCalls());
+        assertEquals(0.0, meterRegistry.get("movies.single-flight.in-flight").gauge().value());
+    }
+
+    @Test
+    void testExecute_whenReadFailsEveryCallerGetsTheException() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<String> read = () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            throw new MovieNotFoundException("The movie with ID 9 does not exist.");
+        };
+
+        // When
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute("search-movie:9", read));
+        started.await();
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> singleFlight.execute("search-movie:9", read));
+        awaitCoalesced(1);
+        release.countDown();
+
+        // Then
+        Exception leaderFailure = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        Exception followerFailure = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(MovieNotFoundException.class, leaderFailure.getCause());
+        assertInstanceOf(MovieNotFoundException.class, followerFailure.getCause());
+    }
+
+    @Test
+    void testExecute_whenCatalogChangedSinceTheReadStartedRunsANewRead() throws Exception {
+        // Given
+        AtomicInteger reads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> before = CompletableFuture.supplyAsync(() -> singleFlight.execute("search-movie:1",
+                blockingRead(started, release, reads::incrementAndGet)));
+        started.await();
+
+        // When
+        when(catalogVersion.eTag()).thenReturn("\"2-0\"");
+        int after = singleFlight.execute("search-movie:1", reads::incrementAndGet);
+        release.countDown();
+
+        // Then
+        assertEquals(1, after);
+        assertEquals(2, before.get(5, TimeUnit.SECONDS));
+        assertEquals(0, singleFlight.coalescedCalls());
+    }
+
+    @Test
+    void testExecute_whenReadThrowsAnErrorCallersGetTheErrorItself() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        StackOverflowError error = new StackOverflowError("too deep");
+        Supplier<String> read = blockingRead(started, release, () -> {
+            throw error;
+        });
+        AtomicReference<Throwable> leaderFailure = new AtomicReference<>();
+        AtomicReference<Throwable> followerFailure = new AtomicReference<>();
+        Thread leader = new Thread(() -> {
+            try {
+                singleFlight.execute("search-movie:9", read);
+            } catch (Throwable failure) {
+                leaderFailure.set(failure);
+            }
+        });
+        Thread follower = new Thread(() -> {
+            try {
+                singleFlight.execute("search-movie:9", read);
+            } catch (Throwable failure) {
+                followerFailure.set(failure);
+            }
+        });
+
+        // When
+        leader.start();
+        started.await();
+        follower.start();
+        awaitCoalesced(1);
+        release.countDown();
+        leader.join(5000);
+        follower.join(5000);
+
+        // Then
+        assertSame(error, leaderFailure.get());
+        assertSame(error, followerFailure.get());
+    }
+}
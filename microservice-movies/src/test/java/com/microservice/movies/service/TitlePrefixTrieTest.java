@@ -0,0 +1,68 @@
+package com.microservice.movies.service;
+
+import com.microservice.movies.dto.MovieTitleDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TitlePrefixTrieTest {
+
+    private static List<Integer> ids(List<MovieTitleDTO> titles) {
+        return titles.stream().map(MovieTitleDTO::getIdMovie).toList();
+    }
+
+    private static TitlePrefixTrie catalog(int maxResults) {
+        return TitlePrefixTrie.build(Map.of(
+                1, "The Godfather",
+                2, "The Godfather Part II",
+                3, "Godzilla",
+                4, "Gone Girl",
+                5, "Heat",
+                6, "The Good, the Bad and the Ugly"
+        ), maxResults);
+    }
+
+    @Test
+    void testComplete_whenPrefixStartsTheTitleItRanksBeforeLaterWords() {
+        // Given
+        TitlePrefixTrie trie = catalog(10);
+
+        // When
+        List<MovieTitleDTO> result = trie.complete("GO", 10);
+
+        // Then
+        assertEquals(List.of(3, 4, 1, 2, 6), ids(result));
+        assertEquals("Godzilla", result.get(0).getTitle());
+    }
+
+    @Test
+    void testComplete_whenPrefixIsLongerNarrowsTheMatches() {
+        // Given
+        TitlePrefixTrie trie = catalog(10);
+
+        // When & Then
+        assertEquals(List.of(1, 2), ids(trie.complete("the godf", 10)));
+        assertEquals(List.of(6), ids(trie.complete("ugl", 10)));
+        assertTrue(trie.complete("godx", 10).isEmpty());
+        assertTrue(trie.complete("  ", 10).isEmpty());
+    }
+
+    @Test
+    void testComplete_whenMoreTitlesMatchThanAreKeptReturnsTheBestOnes() {
+        // Given
+        Map<Integer, String> titles = new HashMap<>();
+        for (int i = 1; i <= 50; i++) {
+            titles.put(i, "Star " + "x".repeat(i));
+        }
+        TitlePrefixTrie trie = TitlePrefixTrie.build(titles, 3);
+
+        // When & Then
+        assertEquals(List.of(1, 2, 3), ids(trie.complete("star", 10)));
+        assertEquals(List.of(1, 2), ids(trie.complete("st", 2)));
+        assertEquals(50, trie.size());
+    }
+}
@@ -0,0 +1,62 @@
+package com.microservice.movies.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TitleTrigramIndexTest {
+
+    private TitleTrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TitleTrigramIndex();
+        index.put(1, "The Godfather");
+        index.put(2, "The Godfather Part II");
+        index.put(3, "Godfather");
+        index.put(4, "Am\u00e9lie");
+        index.put(5, "The Matrix");
+        index.put(6, "Titanic");
+    }
+
+    @Test
+    void testSearch_whenQueryIsASubstringRanksExactThenPrefixThenContains() {
+        // When
+        List<Integer> result = index.search("GODFATHER");
+
+        // Then
+        assertEquals(List.of(3, 1, 2), result);
+    }
+
+    @Test
+    void testSearch_whenQueryHasATypoReturnsSimilarTitles() {
+        // When & Then
+        assertEquals(List.of(3, 1, 2), index.search("godfater"));
+        assertEquals(List.of(5), index.search("matrx"));
+        assertTrue(index.search("zzzz").isEmpty());
+    }
+
+    @Test
+    void testSearch_whenQueryIsShortOrAccented() {
+        // When & Then
+        assertEquals(List.of(4), index.search("amelie"));
+        assertEquals(List.of(5, 1, 2, 3), index.search("th"));
+        assertTrue(index.search(" ").isEmpty());
+    }
+
+    @Test
+    void testPut_whenTitleChangesOrMovieIsRemoved() {
+        // When
+        index.put(6, "Titanic II");
+        index.remove(5);
+
+        // Then
+        assertEquals(5, index.size());
+        assertTrue(index.search("matrix").isEmpty());
+        assertEquals(List.of(6), index.search("titanic ii"));
+        assertEquals(List.of(6, 2), index.search("ii"));
+    }
+}
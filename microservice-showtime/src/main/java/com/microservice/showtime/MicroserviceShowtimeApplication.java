@@ -2,10 +2,8 @@ package com.microservice.showtime;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.cloud.openfeign.EnableFeignClients;
 
 @SpringBootApplication
-@EnableFeignClients
 public class MicroserviceShowtimeApplication {
 
 	public static void main(String[] args) {
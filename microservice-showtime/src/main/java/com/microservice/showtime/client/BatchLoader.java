@@ -0,0 +1,115 @@
+package com.microservice.showtime.client;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Merges single-key lookups into batched calls, in the style of a data loader.
+ * <p>
+ * The first key of a batch starts a timer of {@code window}; every key requested before it fires, or until
+ * {@code maxBatchSize} distinct keys are collected, is loaded by the same call to {@code loadAll}. Callers
+ * asking for a key that is already in the open batch share its future. Keys missing from the result complete
+ * with {@code null}, and a failed call fails every caller of the batch.
+ */
+public class BatchLoader<K, V> implements AutoCloseable {
+
+    private final Duration window;
+    private final int maxBatchSize;
+    private final Function<Set<K>, Map<K, V>> loadAll;
+    private final ScheduledExecutorService timer;
+    private final ExecutorService loader;
+    private Map<K, CompletableFuture<V>> batch = new LinkedHashMap<>();
+
+    public BatchLoader(String name, Duration window, int maxBatchSize, Function<Set<K>, Map<K, V>> loadAll) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("The batch size must be greater than zero.");
+        }
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.loadAll = loadAll;
+        this.timer = Executors.newSingleThreadScheduledExecutor(daemonThreads(name + "-timer"));
+        this.loader = Executors.newCachedThreadPool(daemonThreads(name));
+    }
+
+    public CompletableFuture<V> load(K key) {
+        Map<K, CompletableFuture<V>> full = null;
+        CompletableFuture<V> future;
+        synchronized (this) {
+            future = batch.get(key);
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            batch.put(key, future);
+            if (batch.size() == 1) {
+                Map<K, CompletableFuture<V>> opened = batch;
+                timer.schedule(() -> dispatch(opened), window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+            if (batch.size() >= maxBatchSize) {
+                full = batch;
+                batch = new LinkedHashMap<>();
+            }
+        }
+        if (full != null) {
+            Map<K, CompletableFuture<V>> keys = full;
+            loader.execute(() -> run(keys));
+        }
+        return future;
+    }
+
+    public V get(K key) {
+        try {
+            return load(key).join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+        loader.shutdownNow();
+    }
+
+    private void dispatch(Map<K, CompletableFuture<V>> opened) {
+        synchronized (this) {
+            if (batch != opened) {
+                return;
+            }
+            batch = new LinkedHashMap<>();
+        }
+        loader.execute(() -> run(opened));
+    }
+
+    private void run(Map<K, CompletableFuture<V>> keys) {
+        try {
+            Map<K, V> values = loadAll.apply(keys.keySet());
+            keys.forEach((key, future) -> future.complete(values.get(key)));
+        } catch (RuntimeException exception) {
+            keys.values().forEach(future -> future.completeExceptionally(exception));
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,171 @@
+package com.microservice.showtime.client;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.microservice.showtime.dto.MovieResponseDTO;
+import com.microservice.showtime.exception.MovieNotFoundException;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded cache of the movies fetched through {@link MovieClient}.
+ * <p>
+ * An entry older than {@code refresh-after} is still returned, and the first read after that point starts a
+ * single background reload for its key. If the reload fails, the old movie stays in the cache, so showtime
+ * keeps working while microservice-movies is slow or down. Entries are evicted after {@code expire-after}.
+ * Once the cache is full, Caffeine's W-TinyLFU policy picks the entries to evict: it keeps the movies read most
+ * often recently, and may turn away a new movie instead of evicting one of them. Hits, misses and load times
+ * are published as {@code cache.*} metrics tagged {@code cache=movies}.
+ * <p>
+ * Misses and reloads of single movies go through a {@link BatchLoader}, so lookups that arrive within
+ * {@code showtime.movie-batch.window} of each other are fetched with one call to the batch endpoint. A reload
+ * only hands its key to the batch and returns the batch's future, so no Caffeine executor thread waits for
+ * the window to close or for the remote call.
+ * <p>
+ * Every movie is kept with the catalog ETag it was fetched under. When all the movies of a reload share one
+ * ETag, it is sent as {@code If-None-Match}; a 304 answer keeps them as they are without transferring them.
+ */
+@Component
+public class MovieCache {
+
+    private final MovieClient movieClient;
+    private final int maxBatchSize;
+    private final BatchLoader<Long, CachedMovie> batchLoader;
+    private final LoadingCache<Long, CachedMovie> movies;
+
+    @Autowired
+    public MovieCache(MovieClient movieClient, MeterRegistry meterRegistry,
+                      @Value("${showtime.movie-cache.maximum-size:10000}") long maximumSize,
+                      @Value("${showtime.movie-cache.refresh-after:PT5M}") Duration refreshAfter,
+                      @Value("${showtime.movie-cache.expire-after:PT24H}") Duration expireAfter,
+                      @Value("${showtime.movie-batch.window:PT0.005S}") Duration batchWindow,
+                      @Value("${showtime.movie-batch.max-size:100}") int maxBatchSize) {
+        this(movieClient, meterRegistry, maximumSize, refreshAfter, expireAfter, batchWindow, maxBatchSize,
+                Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    MovieCache(MovieClient movieClient, MeterRegistry meterRegistry, long maximumSize, Duration refreshAfter,
+               Duration expireAfter, Duration batchWindow, int maxBatchSize, Ticker ticker, Executor executor) {
+        this.movieClient = movieClient;
+        this.maxBatchSize = maxBatchSize;
+        this.batchLoader = new BatchLoader<>("movie-batch", batchWindow, maxBatchSize, this::fetchAll);
+        this.movies = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .refreshAfterWrite(refreshAfter)
+                .expireAfterWrite(expireAfter)
+                .ticker(ticker)
+                .executor(executor)
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public CachedMovie load(Long idMovie) {
+                        return batchLoader.get(idMovie);
+                    }
+
+                    @Override
+                    public Map<Long, CachedMovie> loadAll(Set<? extends Long> idMovies) {
+                        return fetchAll(idMovies);
+                    }
+
+                    @Override
+                    public CompletableFuture<CachedMovie> asyncReload(Long idMovie, CachedMovie oldMovie,
+                                                                      Executor executor) {
+                        return batchLoader.load(idMovie);
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, movies, "movies");
+    }
+
+    public MovieResponseDTO getMovieById(Long idMovie) {
+        CachedMovie cached = movies.get(idMovie);
+        if (cached == null) {
+            throw new MovieNotFoundException("The movie with ID " + idMovie + " does not exist.");
+        }
+        return cached.movie();
+    }
+
+    public Map<Long, MovieResponseDTO> getMoviesByIds(Collection<Long> idMovies) {
+        return movies.getAll(idMovies).entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().movie()));
+    }
+
+    public void invalidate(Long idMovie) {
+        movies.invalidate(idMovie);
+    }
+
+    public void invalidateAll() {
+        movies.invalidateAll();
+    }
+
+    @PreDestroy
+    public void close() {
+        batchLoader.close();
+    }
+
+    private Map<Long, CachedMovie> fetchAll(Collection<? extends Long> idMovies) {
+        List<Long> ids = List.copyOf(idMovies);
+        Map<Long, CachedMovie> fetched = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += maxBatchSize) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + maxBatchSize));
+            Map<Long, CachedMovie> cached = new HashMap<>();
+            for (Long idMovie : chunk) {
+                CachedMovie movie = movies.policy().getIfPresentQuietly(idMovie);
+                if (movie != null) {
+                    cached.put(idMovie, movie);
+                }
+            }
+            String eTag = commonETag(chunk, cached);
+            try {
+                ResponseEntity<List<MovieResponseDTO>> response = movieClient.getMoviesByIds(chunk, eTag);
+                String fetchedETag = response.getHeaders().getFirst(HttpHeaders.ETAG);
+                for (MovieResponseDTO movie : Objects.requireNonNullElse(response.getBody(), List.<MovieResponseDTO>of())) {
+                    fetched.put(movie.getIdMovie().longValue(), new CachedMovie(movie, fetchedETag));
+                }
+            } catch (FeignException exception) {
+                if (eTag == null || exception.status() != HttpStatus.NOT_MODIFIED.value()) {
+                    throw exception;
+                }
+                fetched.putAll(cached);
+            }
+        }
+        return fetched;
+    }
+
+    private static String commonETag(List<Long> chunk, Map<Long, CachedMovie> cached) {
+        if (cached.size() != chunk.size()) {
+            return null;
+        }
+        String eTag = cached.get(chunk.get(0)).eTag();
+        for (CachedMovie movie : cached.values()) {
+            if (movie.eTag() == null || !movie.eTag().equals(eTag)) {
+                return null;
+            }
+        }
+        return eTag;
+    }
+
+    private record CachedMovie(MovieResponseDTO movie, String eTag) {
+    }
+}
@@ -0,0 +1,93 @@
+package com.microservice.showtime.client;
+
+import com.microservice.showtime.dto.MovieChangeResponseDTO;
+import com.microservice.showtime.dto.MovieChangesResponseDTO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Follows the change feed of microservice-movies and evicts exactly the changed movies from the
+ * {@link MovieCache}, so edits show up without waiting for the cache to refresh.
+ * <p>
+ * A daemon thread long-polls the feed from the version it was at when it started. When the feed cannot be
+ * reached the cache is kept and polling resumes from the same version after
+ * {@code showtime.movie-changes.retry-delay}; if the changes since then are no longer kept, the feed answers
+ * with a resync and the whole cache is dropped.
+ */
+@Component
+public class MovieChangeSubscriber {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieChangeSubscriber.class);
+
+    private final MovieClient movieClient;
+    private final MovieCache movieCache;
+    private final boolean enabled;
+    private final Duration retryDelay;
+    private volatile Thread poller;
+    private long version = -1;
+
+    public MovieChangeSubscriber(MovieClient movieClient, MovieCache movieCache,
+                                 @Value("${showtime.movie-changes.enabled:true}") boolean enabled,
+                                 @Value("${showtime.movie-changes.retry-delay:PT5S}") Duration retryDelay) {
+        this.movieClient = movieClient;
+        this.movieCache = movieCache;
+        this.enabled = enabled;
+        this.retryDelay = retryDelay;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::run, "movie-change-subscriber");
+        thread.setDaemon(true);
+        poller = thread;
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread thread = poller;
+        poller = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void run() {
+        while (poller == Thread.currentThread()) {
+            try {
+                apply(movieClient.getChanges(version));
+            } catch (RuntimeException exception) {
+                log.warn("Could not read the movie change feed, retrying in {}", retryDelay, exception);
+                try {
+                    Thread.sleep(retryDelay.toMillis());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies one answer of the feed and moves to its version.
+     */
+    void apply(MovieChangesResponseDTO changes) {
+        if (changes.isResync()) {
+            movieCache.invalidateAll();
+        } else if (changes.getChanges() != null) {
+            for (MovieChangeResponseDTO change : changes.getChanges()) {
+                movieCache.invalidate(change.getIdMovie());
+            }
+        }
+        version = changes.getVersion();
+    }
+}
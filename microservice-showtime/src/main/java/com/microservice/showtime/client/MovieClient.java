@@ -1,12 +1,19 @@
 package com.microservice.showtime.client;
 
+import com.microservice.showtime.dto.MovieChangesResponseDTO;
 import com.microservice.showtime.dto.MovieResponseDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.Collection;
+import java.util.List;
+
 
 @FeignClient(name = "microservice-movies", url = "localhost:8090/movies")
 public interface MovieClient {
@@ -14,7 +21,21 @@ public interface MovieClient {
     @GetMapping("/search-movie/{idMovie}")
     MovieResponseDTO getMovieById(@PathVariable("idMovie") Long id);
 
+    /**
+     * Answers 304, surfaced as a {@link feign.FeignException}, when {@code ifNoneMatch} is still the catalog ETag.
+     */
+    @GetMapping("/search-movies")
+    ResponseEntity<List<MovieResponseDTO>> getMoviesByIds(@RequestParam("ids") Collection<Long> ids,
+                                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
+
+    /**
+     * Long-polls the movie change feed; {@code since = -1} returns the current version without changes.
+     */
+    @GetMapping("/changes")
+    MovieChangesResponseDTO getChanges(@RequestParam("since") long since);
+
     @GetMapping("all-movies")
-    Page<MovieResponseDTO> getAllMovies(@RequestParam(defaultValue = "0") int page,
-                                        @RequestParam(defaultValue = "10") int elements);
+    ResponseEntity<Page<MovieResponseDTO>> getAllMovies(@RequestParam(defaultValue = "0") int page,
+                                                        @RequestParam(defaultValue = "10") int elements,
+                                                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
 }
@@ -0,0 +1,9 @@
+package com.microservice.showtime.configuration;
+
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableFeignClients(basePackages = "com.microservice.showtime.client")
+public class FeignConfig {
+}
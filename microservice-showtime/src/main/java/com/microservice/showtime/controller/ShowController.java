@@ -1,11 +1,26 @@
 package com.microservice.showtime.controller;
 
+import com.microservice.showtime.dto.HoldResponseDTO;
 import com.microservice.showtime.dto.MovieResponseDTO;
+import com.microservice.showtime.dto.ReservationResponseDTO;
+import com.microservice.showtime.dto.SeatSelectionDTO;
+import com.microservice.showtime.dto.ShowRequestDTO;
+import com.microservice.showtime.dto.ShowResponseDTO;
 import com.microservice.showtime.repository.SeatRepository;
+import com.microservice.showtime.service.SeatHoldService;
 import com.microservice.showtime.service.ShowService;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
 
 
 @RestController
@@ -14,10 +29,12 @@ public class ShowController {
 
     private final ShowService showService;
     private final SeatRepository seatRepository;
+    private final SeatHoldService seatHoldService;
 
-    public ShowController(ShowService showService, SeatRepository seatRepository) {
+    public ShowController(ShowService showService, SeatRepository seatRepository, SeatHoldService seatHoldService) {
         this.showService = showService;
         this.seatRepository = seatRepository;
+        this.seatHoldService = seatHoldService;
     }
 
     @GetMapping
@@ -27,11 +44,80 @@ public class ShowController {
 
     @GetMapping("/movies")
     public ResponseEntity<Page<MovieResponseDTO>> getAllMovies(@RequestParam(defaultValue = "0") int page,
-                                                               @RequestParam(defaultValue = "10") int elements) {
-        Page<MovieResponseDTO> movies = showService.getAllMovies(page, elements);
-        return ResponseEntity.ok(movies);
+                                                               @RequestParam(defaultValue = "10") int elements,
+                                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return showService.getAllMovies(page, elements, ifNoneMatch);
+    }
+
+    @GetMapping("/schedule")
+    public ResponseEntity<List<ShowResponseDTO>> getSchedule(
+            @RequestParam(required = false) Long idMovie,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime start = from != null ? from : LocalDateTime.now();
+        LocalDateTime end = to != null ? to : start.toLocalDate().plusDays(7).atStartOfDay();
+        return ResponseEntity.ok(showService.getSchedule(idMovie, start, end));
+    }
+
+    @PostMapping
+    public ResponseEntity<ShowResponseDTO> createShow(@RequestBody ShowRequestDTO showRequestDTO) {
+        ShowResponseDTO show = showService.createShow(showRequestDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).body(show);
+    }
+
+    @PutMapping("/{idShow}")
+    public ResponseEntity<ShowResponseDTO> updateShow(@PathVariable Long idShow,
+                                                      @RequestBody ShowRequestDTO showRequestDTO) {
+        return ResponseEntity.ok(showService.updateShow(idShow, showRequestDTO));
+    }
+
+    @DeleteMapping("/{idShow}")
+    public ResponseEntity<Void> deleteShow(@PathVariable Long idShow) {
+        showService.deleteShow(idShow);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping(value = "/{idShow}/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSeats(@PathVariable Long idShow) {
+        return showService.streamSeats(idShow);
+    }
+
+    @PutMapping("/{idShow}/seats/{seatNumber}/reserve")
+    public ResponseEntity<ReservationResponseDTO> reserveSeat(@PathVariable Long idShow,
+                                                              @PathVariable String seatNumber) {
+        return ResponseEntity.ok(showService.reserveSeat(idShow, seatNumber));
+    }
+
+    @PostMapping("/{idShow}/reservations")
+    public ResponseEntity<ReservationResponseDTO> reserveSeats(@PathVariable Long idShow,
+                                                               @RequestBody SeatSelectionDTO seatSelectionDTO) {
+        ReservationResponseDTO reservation = showService.reserveSeats(idShow, seatSelectionDTO.getSeatNumbers());
+        return ResponseEntity.status(HttpStatus.CREATED).body(reservation);
     }
 
+    @PostMapping("/{idShow}/reservations/best-available")
+    public ResponseEntity<ReservationResponseDTO> reserveBestAvailable(@PathVariable Long idShow,
+                                                                       @RequestParam(defaultValue = "1") int seats) {
+        ReservationResponseDTO reservation = showService.reserveBestAvailable(idShow, seats);
+        return ResponseEntity.status(HttpStatus.CREATED).body(reservation);
+    }
 
+    @PostMapping("/{idShow}/holds")
+    public ResponseEntity<HoldResponseDTO> holdSeats(@PathVariable Long idShow,
+                                                     @RequestBody SeatSelectionDTO seatSelectionDTO) {
+        HoldResponseDTO hold = seatHoldService.hold(idShow, seatSelectionDTO.getSeatNumbers());
+        return ResponseEntity.status(HttpStatus.CREATED).body(hold);
+    }
 
+    @PostMapping("/{idShow}/holds/{idHold}/confirm")
+    public ResponseEntity<ReservationResponseDTO> confirmHold(@PathVariable Long idShow,
+                                                              @PathVariable UUID idHold) {
+        return ResponseEntity.ok(seatHoldService.confirm(idShow, idHold));
+    }
+
+    @DeleteMapping("/{idShow}/holds/{idHold}")
+    public ResponseEntity<Void> releaseHold(@PathVariable Long idShow, @PathVariable UUID idHold) {
+        seatHoldService.release(idShow, idHold);
+        return ResponseEntity.noContent().build();
+    }
 }
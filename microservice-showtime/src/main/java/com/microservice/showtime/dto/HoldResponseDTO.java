@@ -0,0 +1,22 @@
+package com.microservice.showtime.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoldResponseDTO {
+    private UUID idHold;
+    private Long idShow;
+    private List<String> seatNumbers;
+    private Instant expiresAt;
+    private int availableSeats;
+}
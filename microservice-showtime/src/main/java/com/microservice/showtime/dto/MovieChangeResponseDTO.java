@@ -0,0 +1,13 @@
+package com.microservice.showtime.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class MovieChangeResponseDTO {
+
+    private long version;
+    private Long idMovie;
+    private String type;
+}
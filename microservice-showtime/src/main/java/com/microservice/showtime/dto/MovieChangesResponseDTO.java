@@ -0,0 +1,15 @@
+package com.microservice.showtime.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class MovieChangesResponseDTO {
+
+    private long version;
+    private boolean resync;
+    private List<MovieChangeResponseDTO> changes;
+}
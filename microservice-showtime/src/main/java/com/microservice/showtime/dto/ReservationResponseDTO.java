@@ -0,0 +1,18 @@
+package com.microservice.showtime.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationResponseDTO {
+    private Long idShow;
+    private List<String> seatNumbers;
+    private int availableSeats;
+}
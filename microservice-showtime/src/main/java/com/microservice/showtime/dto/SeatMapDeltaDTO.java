@@ -0,0 +1,18 @@
+package com.microservice.showtime.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatMapDeltaDTO {
+    private Long idShow;
+    private int availableSeats;
+    private Map<String, SeatState> seats;
+}
@@ -0,0 +1,19 @@
+package com.microservice.showtime.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatMapSnapshotDTO {
+    private Long idShow;
+    private int availableSeats;
+    private List<String> heldSeats;
+    private List<String> reservedSeats;
+}
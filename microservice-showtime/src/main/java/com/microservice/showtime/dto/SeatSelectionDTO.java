@@ -0,0 +1,12 @@
+package com.microservice.showtime.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class SeatSelectionDTO {
+    private List<String> seatNumbers;
+}
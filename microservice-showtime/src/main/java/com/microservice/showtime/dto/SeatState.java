@@ -0,0 +1,7 @@
+package com.microservice.showtime.dto;
+
+public enum SeatState {
+    FREE,
+    HELD,
+    RESERVED
+}
@@ -12,5 +12,4 @@ public class ShowRequestDTO {
     private LocalDateTime showtime;
     private int totalSeats;
     private int availableSeats;
-    private Long seatId;
 }
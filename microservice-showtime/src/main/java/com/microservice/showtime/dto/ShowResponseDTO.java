@@ -0,0 +1,19 @@
+package com.microservice.showtime.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShowResponseDTO {
+    private Long idShow;
+    private Long idMovie;
+    private LocalDateTime showtime;
+    private int totalSeats;
+}
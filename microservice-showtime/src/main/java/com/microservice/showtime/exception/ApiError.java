@@ -0,0 +1,21 @@
+package com.microservice.showtime.exception;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApiError {
+
+    private HttpStatus status;
+    private String message;
+    private List<String> details = new ArrayList<>();
+}
@@ -0,0 +1,74 @@
+package com.microservice.showtime.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.List;
+
+@ControllerAdvice
+public class GlobalExceptionHandler {
+
+    @ExceptionHandler(ShowNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ResponseEntity<ApiError> handleShowNotFound(ShowNotFoundException exception) {
+        ApiError apiError = new ApiError(
+                HttpStatus.NOT_FOUND,
+                exception.getMessage(),
+                List.of(exception.getMessage() + " was not found in the database.")
+        );
+        return new ResponseEntity<>(apiError, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(MovieNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ResponseEntity<ApiError> handleMovieNotFound(MovieNotFoundException exception) {
+        ApiError apiError = new ApiError(HttpStatus.NOT_FOUND, exception.getMessage(), List.of(exception.getMessage()));
+        return new ResponseEntity<>(apiError, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(SeatNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ResponseEntity<ApiError> handleSeatNotFound(SeatNotFoundException exception) {
+        ApiError apiError = new ApiError(HttpStatus.NOT_FOUND, exception.getMessage(), List.of(exception.getMessage()));
+        return new ResponseEntity<>(apiError, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(SeatUnavailableException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<ApiError> handleSeatUnavailable(SeatUnavailableException exception) {
+        ApiError apiError = new ApiError(
+                HttpStatus.CONFLICT,
+                exception.getMessage(),
+                List.of("Please choose other seats and try again.", exception.getMessage())
+        );
+        return new ResponseEntity<>(apiError, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(HoldNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ResponseEntity<ApiError> handleHoldNotFound(HoldNotFoundException exception) {
+        ApiError apiError = new ApiError(
+                HttpStatus.NOT_FOUND,
+                exception.getMessage(),
+                List.of(exception.getMessage(), "Holds expire after a few minutes, please select your seats again.")
+        );
+        return new ResponseEntity<>(apiError, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(InvalidSeatSelectionException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ApiError> handleInvalidSeatSelection(InvalidSeatSelectionException exception) {
+        ApiError apiError = new ApiError(HttpStatus.BAD_REQUEST, exception.getMessage(), List.of(exception.getMessage()));
+        return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidShowException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ApiError> handleInvalidShow(InvalidShowException exception) {
+        ApiError apiError = new ApiError(HttpStatus.BAD_REQUEST, exception.getMessage(), List.of(exception.getMessage()));
+        return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,7 @@
+package com.microservice.showtime.exception;
+
+public class InvalidSeatSelectionException extends RuntimeException {
+    public InvalidSeatSelectionException(String message) {
+        super(message);
+    }
+}
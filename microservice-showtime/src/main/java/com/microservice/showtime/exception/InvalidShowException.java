@@ -0,0 +1,7 @@
+package com.microservice.showtime.exception;
+
+public class InvalidShowException extends RuntimeException {
+    public InvalidShowException(String message) {
+        super(message);
+    }
+}
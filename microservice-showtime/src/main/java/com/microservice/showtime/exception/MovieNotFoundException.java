@@ -0,0 +1,7 @@
+package com.microservice.showtime.exception;
+
+public class MovieNotFoundException extends RuntimeException {
+    public MovieNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.microservice.showtime.exception;
+
+public class SeatNotFoundException extends RuntimeException {
+    public SeatNotFoundException(String message) {
+        super(message);
+    }
+}
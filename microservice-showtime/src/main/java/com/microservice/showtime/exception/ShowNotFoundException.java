@@ -0,0 +1,7 @@
+package com.microservice.showtime.exception;
+
+public class ShowNotFoundException extends RuntimeException {
+    public ShowNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -6,13 +6,12 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.util.List;
-
 @Getter
 @Setter
 @NoArgsConstructor
 @Entity
-@Table(name = "seats")
+@Table(name = "seats",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"id_show", "seat_number"}))
 public class SeatEntity {
 
     @Id
@@ -26,8 +25,9 @@ public class SeatEntity {
     @Column(nullable = false)
     private boolean reserved;
 
-    @OneToMany(mappedBy = "seatEntity")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_show", referencedColumnName = "id_show", nullable = false)
     @JsonIgnore
-    private List<ShowEntity> showEntities;
+    private ShowEntity showEntity;
 
 }
@@ -1,17 +1,23 @@
 package com.microservice.showtime.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Getter
 @Setter
 @NoArgsConstructor
 @Entity
-@Table(name = "shows")
+@Table(name = "shows", indexes = {
+        @Index(name = "idx_shows_movie_showtime", columnList = "id_movie, showtime"),
+        @Index(name = "idx_shows_showtime", columnList = "showtime"),
+        @Index(name = "idx_shows_journal_sequence", columnList = "journal_sequence")
+})
 public class ShowEntity {
 
     @Id
@@ -28,10 +34,17 @@ public class ShowEntity {
     @Column(name = "total_seats", nullable = false)
     private int totalSeats;
 
-    @Column(name = "available_seats", nullable = false)
+    @Column(name = "available_seats", nullable = false, updatable = false)
     private int availableSeats;
 
-    @ManyToOne
-    @JoinColumn(name = "id_seat", referencedColumnName = "id_seat", nullable = false)
-    private SeatEntity seatEntity;
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
+    @Column(name = "journal_sequence", nullable = false, columnDefinition = "bigint default 0")
+    private long journalSequence;
+
+    @OneToMany(mappedBy = "showEntity")
+    @JsonIgnore
+    private List<SeatEntity> seatEntities;
 }
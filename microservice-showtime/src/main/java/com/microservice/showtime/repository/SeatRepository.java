@@ -2,9 +2,26 @@ package com.microservice.showtime.repository;
 
 import com.microservice.showtime.model.SeatEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface SeatRepository extends JpaRepository<SeatEntity, Long> {
     Optional<SeatEntity> findById(Long id);
+    List<SeatEntity> findByShowEntityIdShow(Long idShow);
+
+    @Modifying
+    @Query("UPDATE SeatEntity s SET s.reserved = :reserved " +
+           "WHERE s.showEntity.idShow = :idShow AND s.seatNumber IN :seatNumbers AND s.reserved <> :reserved")
+    int updateReserved(@Param("idShow") Long idShow,
+                       @Param("seatNumbers") Collection<String> seatNumbers,
+                       @Param("reserved") boolean reserved);
+
+    @Modifying
+    @Query("DELETE FROM SeatEntity s WHERE s.showEntity.idShow = :idShow")
+    int deleteByIdShow(@Param("idShow") Long idShow);
 }
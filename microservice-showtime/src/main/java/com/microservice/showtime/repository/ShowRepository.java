@@ -2,8 +2,51 @@ package com.microservice.showtime.repository;
 
 import com.microservice.showtime.model.ShowEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface ShowRepository extends JpaRepository<ShowEntity, Long> {
+
+    List<ShowEntity> findByIdMovieAndShowtimeGreaterThanEqualAndShowtimeBeforeOrderByShowtime(
+            Long idMovie, LocalDateTime from, LocalDateTime to);
+
+    List<ShowEntity> findByShowtimeGreaterThanEqualAndShowtimeBeforeOrderByShowtime(LocalDateTime from, LocalDateTime to);
+
+    @Modifying
+    @Query("UPDATE ShowEntity s SET s.availableSeats = s.availableSeats - :seats " +
+           "WHERE s.idShow = :idShow AND s.availableSeats >= :seats")
+    int reserveSeats(@Param("idShow") Long idShow, @Param("seats") int seats);
+
+    @Modifying
+    @Query("UPDATE ShowEntity s SET s.availableSeats = s.availableSeats + :seats " +
+           "WHERE s.idShow = :idShow AND s.availableSeats + :seats <= s.totalSeats")
+    int releaseSeats(@Param("idShow") Long idShow, @Param("seats") int seats);
+
+    @Modifying
+    @Query("UPDATE ShowEntity s SET s.availableSeats = :availableSeats WHERE s.idShow = :idShow")
+    int updateAvailableSeats(@Param("idShow") Long idShow, @Param("availableSeats") int availableSeats);
+
+    @Modifying
+    @Query("UPDATE ShowEntity s SET s.availableSeats = CASE " +
+           "WHEN s.availableSeats + :delta < 0 THEN 0 " +
+           "WHEN s.availableSeats + :delta > s.totalSeats THEN s.totalSeats " +
+           "ELSE s.availableSeats + :delta END, s.journalSequence = :sequence " +
+           "WHERE s.idShow = :idShow AND s.journalSequence < :sequence")
+    int applyJournal(@Param("idShow") Long idShow, @Param("delta") int delta, @Param("sequence") long sequence);
+
+    @Query("SELECT s.journalSequence FROM ShowEntity s WHERE s.idShow = :idShow")
+    Optional<Long> findJournalSequenceByIdShow(@Param("idShow") Long idShow);
+
+    @Query("SELECT COALESCE(MAX(s.journalSequence), 0) FROM ShowEntity s")
+    long findMaxJournalSequence();
+
+    @Query("SELECT s.idShow FROM ShowEntity s WHERE s.journalSequence > :sequence")
+    List<Long> findIdShowByJournalSequenceGreaterThan(@Param("sequence") long sequence);
 }
@@ -0,0 +1,68 @@
+package com.microservice.showtime.service;
+
+import com.microservice.showtime.exception.SeatUnavailableException;
+import com.microservice.showtime.repository.SeatRepository;
+import com.microservice.showtime.repository.ShowRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes every seat change to the database before the request returns, with guarded statements that
+ * refuse to oversell even if another instance changed the show in the meantime.
+ */
+@Component
+@ConditionalOnProperty(name = "showtime.write-behind.enabled", havingValue = "false", matchIfMissing = true)
+public class DatabaseSeatStore implements SeatStore {
+
+    private final ShowRepository showRepository;
+    private final SeatRepository seatRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public DatabaseSeatStore(ShowRepository showRepository, SeatRepository seatRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.showRepository = showRepository;
+        this.seatRepository = seatRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void reserve(Long idShow, List<String> seatNumbers) {
+        transactionTemplate.executeWithoutResult(status -> {
+            decrementAvailableSeats(idShow, seatNumbers.size());
+            markReserved(idShow, seatNumbers);
+        });
+    }
+
+    @Override
+    public void hold(Long idShow, List<String> seatNumbers) {
+        transactionTemplate.executeWithoutResult(status -> decrementAvailableSeats(idShow, seatNumbers.size()));
+    }
+
+    @Override
+    public void confirm(Long idShow, List<String> seatNumbers) {
+        transactionTemplate.executeWithoutResult(status -> markReserved(idShow, seatNumbers));
+    }
+
+    @Override
+    public void release(Map<Long, List<String>> seatNumbersByShow) {
+        transactionTemplate.executeWithoutResult(status -> seatNumbersByShow.forEach((idShow, seatNumbers) ->
+                showRepository.releaseSeats(idShow, seatNumbers.size())));
+    }
+
+    private void decrementAvailableSeats(Long idShow, int seats) {
+        if (showRepository.reserveSeats(idShow, seats) != 1) {
+            throw new SeatUnavailableException("There are not enough seats left for the show with ID " + idShow + ".");
+        }
+    }
+
+    private void markReserved(Long idShow, List<String> seatNumbers) {
+        if (seatRepository.updateReserved(idShow, seatNumbers, true) != seatNumbers.size()) {
+            throw new SeatUnavailableException("Some of the seats " + seatNumbers + " are already reserved.");
+        }
+    }
+}
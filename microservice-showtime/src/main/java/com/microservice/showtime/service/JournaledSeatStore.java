@@ -0,0 +1,219 @@
+package com.microservice.showtime.service;
+
+import com.microservice.showtime.repository.SeatRepository;
+import com.microservice.showtime.repository.ShowRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Write-behind store: a seat change is acknowledged as soon as it is durable in the local {@link SeatJournal},
+ * and a background task applies the pending entries to the database in batches, one update per show and
+ * batch. Every show row remembers the last journal sequence applied to it and only entries above it are added
+ * up, so entries replayed after a crash are skipped one by one instead of being counted twice; skipped entries
+ * are logged. Numbering continues after the highest sequence in the database, so a lost or recreated journal
+ * file never reuses sequences that are already applied. Pending entries are replayed on startup before any
+ * seat map is loaded.
+ * <p>
+ * The seat map is the only oversell guard in this mode, so it must only be enabled when a single instance
+ * books the seats of a show.
+ */
+@Component
+@ConditionalOnProperty(name = "showtime.write-behind.enabled", havingValue = "true")
+public class JournaledSeatStore implements SeatStore {
+
+    private static final Logger log = LoggerFactory.getLogger(JournaledSeatStore.class);
+
+    private final ShowRepository showRepository;
+    private final SeatRepository seatRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SeatJournal journal;
+    private final int batchSize;
+
+    public JournaledSeatStore(ShowRepository showRepository, SeatRepository seatRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${showtime.write-behind.journal-path:data/seat-journal.log}") String journalPath,
+                              @Value("${showtime.write-behind.journal-size:64MB}") DataSize journalSize,
+                              @Value("${showtime.write-behind.batch-size:500}") int batchSize) {
+        this.showRepository = showRepository;
+        this.seatRepository = seatRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.journal = SeatJournal.open(Path.of(journalPath), Math.toIntExact(journalSize.toBytes()));
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    public void replay() {
+        int replayed = drain();
+        if (replayed > 0) {
+            log.info("Replayed {} seat journal entries", replayed);
+        }
+
+        long applied = showRepository.findMaxJournalSequence();
+        if (journal.advanceTo(applied)) {
+            log.warn("The seat journal is behind the database, numbering continues after sequence {}", applied);
+        }
+    }
+
+    @Override
+    public void reserve(Long idShow, List<String> seatNumbers) {
+        journal.sync(append(idShow, SeatJournal.Operation.RESERVE, seatNumbers));
+    }
+
+    @Override
+    public void hold(Long idShow, List<String> seatNumbers) {
+        journal.sync(append(idShow, SeatJournal.Operation.HOLD, seatNumbers));
+    }
+
+    @Override
+    public void confirm(Long idShow, List<String> seatNumbers) {
+        journal.sync(append(idShow, SeatJournal.Operation.CONFIRM, seatNumbers));
+    }
+
+    @Override
+    public void release(Map<Long, List<String>> seatNumbersByShow) {
+        long sequence = 0;
+        for (Map.Entry<Long, List<String>> show : seatNumbersByShow.entrySet()) {
+            sequence = append(show.getKey(), SeatJournal.Operation.RELEASE, show.getValue());
+        }
+        journal.sync(sequence);
+    }
+
+    public long lastSequence() {
+        return journal.lastSequence();
+    }
+
+    public long checkpoint() {
+        return journal.checkpoint();
+    }
+
+    @Scheduled(fixedDelayString = "${showtime.write-behind.flush-millis:200}")
+    public void flushPending() {
+        try {
+            while (flush() == batchSize) {
+                // keep going while full batches are waiting
+            }
+        } catch (RuntimeException exception) {
+            log.error("Could not flush the seat journal, the entries will be retried", exception);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            journal.close();
+        }
+    }
+
+    synchronized int flush() {
+        List<SeatJournal.Entry> entries = journal.pending(batchSize);
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, List<SeatJournal.Entry>> entriesByShow = new LinkedHashMap<>();
+        for (SeatJournal.Entry entry : entries) {
+            entriesByShow.computeIfAbsent(entry.idShow(), idShow -> new ArrayList<>()).add(entry);
+        }
+        transactionTemplate.executeWithoutResult(status -> entriesByShow.forEach(this::apply));
+
+        journal.markFlushed(entries.get(entries.size() - 1).sequence());
+        return entries.size();
+    }
+
+    private void apply(Long idShow, List<SeatJournal.Entry> entries) {
+        Optional<Long> applied = showRepository.findJournalSequenceByIdShow(idShow);
+        if (applied.isEmpty()) {
+            log.warn("Skipped {} seat journal entries for the show with ID {}: the show does not exist",
+                    entries.size(), idShow);
+            return;
+        }
+
+        ShowChanges changes = new ShowChanges();
+        int skipped = 0;
+        for (SeatJournal.Entry entry : entries) {
+            if (entry.sequence() > applied.get()) {
+                changes.add(entry);
+            } else {
+                skipped++;
+            }
+        }
+        if (skipped > 0) {
+            log.warn("Skipped {} seat journal entries for the show with ID {}: sequences up to {} are already applied",
+                    skipped, idShow, applied.get());
+        }
+        if (changes.sequence == 0) {
+            return;
+        }
+
+        if (showRepository.applyJournal(idShow, changes.delta, changes.sequence) != 1) {
+            throw new IllegalStateException("The show with ID " + idShow + " changed while its seat journal entries "
+                    + "were being applied.");
+        }
+        if (!changes.reserved.isEmpty()) {
+            seatRepository.updateReserved(idShow, changes.reserved, true);
+        }
+    }
+
+    private int drain() {
+        int flushed = 0;
+        while (journal.hasPending()) {
+            flushed += flush();
+        }
+        return flushed;
+    }
+
+    private long append(Long idShow, SeatJournal.Operation operation, List<String> seatNumbers) {
+        while (true) {
+            try {
+                return journal.append(idShow, operation, seatNumbers);
+            } catch (IllegalStateException full) {
+                // only reached when the pending entries alone fill the ring; every flush frees room for the retry
+                if (flush() == 0) {
+                    throw full;
+                }
+            }
+        }
+    }
+
+    private static final class ShowChanges {
+
+        private final Set<String> reserved = new LinkedHashSet<>();
+        private int delta;
+        private long sequence;
+
+        private void add(SeatJournal.Entry entry) {
+            int seats = entry.seatNumbers().size();
+            switch (entry.operation()) {
+                case RESERVE -> {
+                    delta -= seats;
+                    reserved.addAll(entry.seatNumbers());
+                }
+                case HOLD -> delta -= seats;
+                case CONFIRM -> reserved.addAll(entry.seatNumbers());
+                case RELEASE -> delta += seats;
+            }
+            sequence = Math.max(sequence, entry.sequence());
+        }
+    }
+}
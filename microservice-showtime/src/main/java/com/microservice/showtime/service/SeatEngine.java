@@ -0,0 +1,203 @@
+package com.microservice.showtime.service;
+
+import com.microservice.showtime.dto.SeatState;
+import com.microservice.showtime.exception.SeatNotFoundException;
+import com.microservice.showtime.exception.SeatUnavailableException;
+import com.microservice.showtime.exception.ShowNotFoundException;
+import com.microservice.showtime.model.SeatEntity;
+import com.microservice.showtime.model.ShowEntity;
+import com.microservice.showtime.repository.SeatRepository;
+import com.microservice.showtime.repository.ShowRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps one {@link SeatMap} per show in memory and uses it to decide every seat reservation before
+ * anything is written. A seat map is built from the {@link SeatEntity} rows the first time a show is booked,
+ * and each successful change is handed to the {@link SeatStore} afterwards. If the store fails the bits are
+ * given back, so the bitmap never claims more than what was persisted.
+ */
+@Service
+public class SeatEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatEngine.class);
+
+    private final ShowRepository showRepository;
+    private final SeatRepository seatRepository;
+    private final SeatStore seatStore;
+    private final SeatMapPublisher seatMapPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentHashMap<Long, SeatMap> seatMaps = new ConcurrentHashMap<>();
+
+    public SeatEngine(ShowRepository showRepository, SeatRepository seatRepository, SeatStore seatStore,
+                      SeatMapPublisher seatMapPublisher, PlatformTransactionManager transactionManager) {
+        this.showRepository = showRepository;
+        this.seatRepository = seatRepository;
+        this.seatStore = seatStore;
+        this.seatMapPublisher = seatMapPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Returns the seat map of the show, building it on first use. The rows are read outside the map so no
+     * other show waits on this query; if two callers race, the first map stored wins.
+     */
+    public SeatMap seatMap(Long idShow) {
+        SeatMap seatMap = seatMaps.get(idShow);
+        if (seatMap != null) {
+            return seatMap;
+        }
+        SeatMap loaded = load(idShow);
+        SeatMap existing = seatMaps.putIfAbsent(idShow, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    public Map<Long, SeatMap> seatMaps() {
+        return Map.copyOf(seatMaps);
+    }
+
+    public void restore(Long idShow, SeatMap seatMap) {
+        seatMaps.putIfAbsent(idShow, seatMap);
+    }
+
+    public int reserve(Long idShow, List<String> seatNumbers) {
+        SeatMap seatMap = seatMap(idShow);
+        int[] seats = take(idShow, seatMap, seatNumbers);
+        persistReservation(idShow, seatMap, seats, seatNumbers);
+        return seatMap.available();
+    }
+
+    public List<String> reserveBestAvailable(Long idShow, int count) {
+        SeatMap seatMap = seatMap(idShow);
+        int[] seats = seatMap.takeBestAvailable(count);
+        if (seats == null) {
+            throw new SeatUnavailableException("There are no " + count + " adjacent seats left for the show with ID " + idShow + ".");
+        }
+
+        List<String> seatNumbers = Arrays.stream(seats).mapToObj(seatMap::seatNumber).toList();
+        persistReservation(idShow, seatMap, seats, seatNumbers);
+        return seatNumbers;
+    }
+
+    public int[] hold(Long idShow, List<String> seatNumbers) {
+        SeatMap seatMap = seatMap(idShow);
+        int[] seats = take(idShow, seatMap, seatNumbers);
+
+        try {
+            seatStore.hold(idShow, seatNumbers);
+        } catch (RuntimeException exception) {
+            seatMap.releaseAll(seats);
+            throw exception;
+        }
+        seatMapPublisher.publish(idShow, seatNumbers, SeatState.HELD);
+        return seats;
+    }
+
+    public void confirm(Long idShow, List<String> seatNumbers) {
+        seatStore.confirm(idShow, seatNumbers);
+
+        SeatMap seatMap = seatMap(idShow);
+        seatMap.markReserved(seatNumbers.stream().mapToInt(seatMap::indexOf).toArray());
+        seatMapPublisher.publish(idShow, seatNumbers, SeatState.RESERVED);
+    }
+
+    /**
+     * Gives held seats back. The store is written first and the bits are cleared only once it succeeded, so
+     * a booking that finds the seats free can never fail on an available count that was not raised yet.
+     */
+    public void release(Map<Long, List<int[]>> seatsByShow) {
+        Map<Long, SeatMap> releasedMaps = new HashMap<>();
+        Map<Long, List<String>> seatNumbersByShow = new HashMap<>();
+        seatsByShow.forEach((idShow, holds) -> {
+            SeatMap seatMap = seatMaps.get(idShow);
+            if (seatMap != null) {
+                releasedMaps.put(idShow, seatMap);
+                seatNumbersByShow.put(idShow, holds.stream()
+                        .flatMapToInt(Arrays::stream)
+                        .mapToObj(seatMap::seatNumber)
+                        .toList());
+            }
+        });
+
+        seatStore.release(seatNumbersByShow);
+
+        releasedMaps.forEach((idShow, seatMap) -> {
+            for (int[] seats : seatsByShow.get(idShow)) {
+                if (!seatMap.releaseAll(seats)) {
+                    log.warn("Some of the seats {} of the show with ID {} were already free",
+                            Arrays.stream(seats).mapToObj(seatMap::seatNumber).toList(), idShow);
+                }
+            }
+            seatMapPublisher.publish(idShow, seatNumbersByShow.get(idShow), SeatState.FREE);
+        });
+    }
+
+    public void evict(Long idShow) {
+        seatMaps.remove(idShow);
+        seatMapPublisher.close(idShow);
+    }
+
+    @TransactionalEventListener
+    public void onShowChanged(ShowChangedEvent event) {
+        if (event.show() == null) {
+            evict(event.idShow());
+        }
+    }
+
+    private int[] take(Long idShow, SeatMap seatMap, Collection<String> seatNumbers) {
+        int[] seats = new int[seatNumbers.size()];
+        int i = 0;
+        for (String seatNumber : seatNumbers) {
+            seats[i] = seatMap.indexOf(seatNumber);
+            if (seats[i++] < 0) {
+                throw new SeatNotFoundException("The seat " + seatNumber + " does not exist for the show with ID " + idShow + ".");
+            }
+        }
+        if (!seatMap.tryTakeAll(seats)) {
+            throw new SeatUnavailableException("Some of the seats " + seatNumbers + " are already taken.");
+        }
+        return seats;
+    }
+
+    private void persistReservation(Long idShow, SeatMap seatMap, int[] seats, List<String> seatNumbers) {
+        try {
+            seatStore.reserve(idShow, seatNumbers);
+        } catch (RuntimeException exception) {
+            seatMap.releaseAll(seats);
+            throw exception;
+        }
+        seatMap.markReserved(seats);
+        seatMapPublisher.publish(idShow, seatNumbers, SeatState.RESERVED);
+    }
+
+    private SeatMap load(Long idShow) {
+        ShowEntity showEntity = showRepository.findById(idShow)
+                .orElseThrow(() -> new ShowNotFoundException("The show with ID " + idShow));
+        List<SeatEntity> seats = seatRepository.findByShowEntityIdShow(idShow);
+
+        SeatMap seatMap = SeatMap.of(seats.stream().map(SeatEntity::getSeatNumber).toList());
+        int[] reservedSeats = seats.stream()
+                .filter(SeatEntity::isReserved)
+                .mapToInt(seat -> seatMap.indexOf(seat.getSeatNumber()))
+                .toArray();
+        seatMap.tryTakeAll(reservedSeats);
+        seatMap.markReserved(reservedSeats);
+
+        if (showEntity.getAvailableSeats() != seatMap.available()) {
+            transactionTemplate.executeWithoutResult(status ->
+                    showRepository.updateAvailableSeats(idShow, seatMap.available()));
+        }
+        return seatMap;
+    }
+}
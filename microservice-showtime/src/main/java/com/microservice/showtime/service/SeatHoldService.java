@@ -0,0 +1,109 @@
+package com.microservice.showtime.service;
+
+import com.microservice.showtime.dto.HoldResponseDTO;
+import com.microservice.showtime.dto.ReservationResponseDTO;
+import com.microservice.showtime.exception.HoldNotFoundException;
+import com.microservice.showtime.validation.SeatValidation;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Time-limited seat holds. A hold takes its seats in the {@link SeatEngine} and lowers the available
+ * count right away, but only marks the seats as reserved when it is confirmed. Expiry runs on a
+ * {@link TimingWheel}, and all holds that expire in the same tick are released together with one
+ * available-seats update per show.
+ */
+@Service
+public class SeatHoldService {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatHoldService.class);
+
+    private final SeatEngine seatEngine;
+    private final SeatValidation seatValidation;
+    private final Duration holdDuration;
+    private final TimingWheel<SeatHold> timingWheel;
+    private final ConcurrentHashMap<UUID, TimingWheel.Timeout<SeatHold>> holds = new ConcurrentHashMap<>();
+
+    public SeatHoldService(SeatEngine seatEngine, SeatValidation seatValidation,
+                           @Value("${showtime.holds.duration:PT10M}") Duration holdDuration,
+                           @Value("${showtime.holds.tick:PT0.1S}") Duration tick) {
+        this.seatEngine = seatEngine;
+        this.seatValidation = seatValidation;
+        this.holdDuration = holdDuration;
+        this.timingWheel = new TimingWheel<>("seat-hold-expiry", tick, 512, this::expire);
+    }
+
+    public HoldResponseDTO hold(Long idShow, List<String> seatNumbers) {
+        seatValidation.validateSeatSelection(seatNumbers);
+        List<String> selection = seatNumbers.stream().distinct().toList();
+        int[] seats = seatEngine.hold(idShow, selection);
+
+        SeatHold seatHold = new SeatHold(UUID.randomUUID(), idShow, selection, seats, Instant.now().plus(holdDuration));
+        TimingWheel.Timeout<SeatHold> timeout = timingWheel.schedule(seatHold, holdDuration);
+        holds.put(seatHold.idHold(), timeout);
+        if (timeout.isExpired()) {
+            holds.remove(seatHold.idHold(), timeout);
+        }
+
+        return new HoldResponseDTO(seatHold.idHold(), idShow, selection, seatHold.expiresAt(),
+                seatEngine.seatMap(idShow).available());
+    }
+
+    public ReservationResponseDTO confirm(Long idShow, UUID idHold) {
+        SeatHold seatHold = settle(idShow, idHold);
+        try {
+            seatEngine.confirm(idShow, seatHold.seatNumbers());
+        } catch (RuntimeException exception) {
+            seatEngine.release(Map.of(idShow, List.of(seatHold.seats())));
+            throw exception;
+        }
+        return new ReservationResponseDTO(idShow, seatHold.seatNumbers(), seatEngine.seatMap(idShow).available());
+    }
+
+    public void release(Long idShow, UUID idHold) {
+        SeatHold seatHold = settle(idShow, idHold);
+        seatEngine.release(Map.of(idShow, List.of(seatHold.seats())));
+    }
+
+    @PreDestroy
+    public void stop() {
+        timingWheel.stop();
+    }
+
+    private SeatHold settle(Long idShow, UUID idHold) {
+        TimingWheel.Timeout<SeatHold> timeout = holds.get(idHold);
+        if (timeout == null || !timeout.item().idShow().equals(idShow) || !timeout.cancel()) {
+            throw new HoldNotFoundException("The hold " + idHold + " does not exist or has expired.");
+        }
+        holds.remove(idHold);
+        return timeout.item();
+    }
+
+    private void expire(List<SeatHold> expired) {
+        Map<Long, List<int[]>> seatsByShow = new HashMap<>();
+        for (SeatHold seatHold : expired) {
+            holds.remove(seatHold.idHold());
+            seatsByShow.computeIfAbsent(seatHold.idShow(), idShow -> new ArrayList<>()).add(seatHold.seats());
+        }
+        try {
+            seatEngine.release(seatsByShow);
+        } catch (RuntimeException exception) {
+            log.error("Could not release the seats of {} expired holds", expired.size(), exception);
+        }
+    }
+
+    private record SeatHold(UUID idHold, Long idShow, List<String> seatNumbers, int[] seats, Instant expiresAt) {
+    }
+}
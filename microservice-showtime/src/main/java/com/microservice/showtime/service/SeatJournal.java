@@ -0,0 +1,281 @@
+package com.microservice.showtime.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of seat changes on a memory-mapped file.
+ * <p>
+ * Layout: a 64 byte header (magic, format version, last flushed sequence, offset of the oldest pending entry)
+ * followed by entries of {@code [length][crc32][sequence, idShow, operation, seat numbers]}. A zero length marks
+ * the end of the log. {@link #sync(long)} is a group commit: the thread that gets to force the mapping makes every
+ * entry appended so far durable, and the threads queued behind it usually find their entry already covered.
+ * <p>
+ * The data area is a ring: entries stay pending until {@link #markFlushed(long)}, which moves the head past them,
+ * and an entry that does not fit before the end of the file wraps to the start once the head has freed enough
+ * room there, leaving a wrap marker behind. The file therefore only fills up when the pending entries alone
+ * take all of it, not after a long run of traffic that never lets the log go empty.
+ */
+public class SeatJournal implements Closeable {
+
+    public enum Operation {
+        RESERVE,
+        HOLD,
+        CONFIRM,
+        RELEASE
+    }
+
+    public record Entry(long sequence, long idShow, Operation operation, List<String> seatNumbers) {
+    }
+
+    private static final int MAGIC = 0x5EA710A1;
+    private static final int FORMAT_VERSION = 1;
+    private static final int CHECKPOINT_OFFSET = 8;
+    private static final int HEAD_OFFSET = 16;
+    private static final int DATA_START = 64;
+    private static final int ENTRY_HEADER = 8;
+    private static final int WRAP = -1;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final Queue<Slot> pending = new ConcurrentLinkedQueue<>();
+    private final Object syncLock = new Object();
+    private int position = DATA_START;
+    private int head = DATA_START;
+    private long nextSequence;
+    private volatile long appendedSequence;
+    private volatile long durableSequence;
+
+    private SeatJournal(FileChannel channel, MappedByteBuffer buffer, int capacity) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+    }
+
+    public static SeatJournal open(Path path, int capacity) {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            SeatJournal journal = new SeatJournal(channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity), capacity);
+            journal.recover();
+            return journal;
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Could not open the seat journal " + path, exception);
+        }
+    }
+
+    public synchronized long append(long idShow, Operation operation, List<String> seatNumbers) {
+        List<byte[]> encoded = new ArrayList<>(seatNumbers.size());
+        int length = Long.BYTES * 2 + 1 + Short.BYTES;
+        for (String seatNumber : seatNumbers) {
+            byte[] bytes = seatNumber.getBytes(StandardCharsets.UTF_8);
+            encoded.add(bytes);
+            length += Short.BYTES + bytes.length;
+        }
+        int size = ENTRY_HEADER + length;
+        int start = position;
+        int limit = position < head ? head : capacity;
+        if (start + size + Integer.BYTES > limit && limit == capacity) {
+            start = DATA_START;
+            limit = head;
+        }
+        if (start + size + Integer.BYTES > limit) {
+            throw new IllegalStateException("The seat journal is full, pending entries must be flushed first.");
+        }
+        int wrapAt = start == position ? -1 : position;
+        position = start;
+
+        long sequence = nextSequence++;
+        ByteBuffer payload = buffer.slice(position + ENTRY_HEADER, length);
+        payload.putLong(sequence).putLong(idShow).put((byte) operation.ordinal()).putShort((short) encoded.size());
+        for (byte[] bytes : encoded) {
+            payload.putShort((short) bytes.length).put(bytes);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(position + ENTRY_HEADER, length));
+
+        buffer.putInt(position + ENTRY_HEADER + length, 0);
+        buffer.putInt(position + Integer.BYTES, (int) crc.getValue());
+        buffer.putInt(position, length);
+        if (wrapAt >= 0) {
+            buffer.putInt(wrapAt, WRAP);
+        }
+
+        pending.add(new Slot(new Entry(sequence, idShow, operation, List.copyOf(seatNumbers)), position));
+        position += size;
+        appendedSequence = sequence;
+        return sequence;
+    }
+
+    public void sync(long sequence) {
+        if (durableSequence >= sequence) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (durableSequence >= sequence) {
+                return;
+            }
+            long target = appendedSequence;
+            buffer.force();
+            durableSequence = target;
+        }
+    }
+
+    public List<Entry> pending(int limit) {
+        List<Entry> entries = new ArrayList<>(Math.min(limit, 1024));
+        for (Slot slot : pending) {
+            if (entries.size() == limit) {
+                break;
+            }
+            entries.add(slot.entry());
+        }
+        return entries;
+    }
+
+    public long lastSequence() {
+        return appendedSequence;
+    }
+
+    /**
+     * Makes the next entry follow {@code sequence} if the journal is behind it, e.g. because the file was
+     * lost while the database had already applied later sequences. When nothing is pending the checkpoint
+     * moves along, since everything up to {@code sequence} is applied. Returns whether the journal was behind.
+     */
+    public synchronized boolean advanceTo(long sequence) {
+        if (sequence < nextSequence) {
+            return false;
+        }
+        nextSequence = sequence + 1;
+        appendedSequence = sequence;
+        durableSequence = Math.max(durableSequence, sequence);
+        if (pending.isEmpty()) {
+            buffer.putLong(CHECKPOINT_OFFSET, sequence);
+        }
+        return true;
+    }
+
+    /**
+     * The last sequence marked as flushed in this file.
+     */
+    public long checkpoint() {
+        return buffer.getLong(CHECKPOINT_OFFSET);
+    }
+
+    public boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    public synchronized void markFlushed(long sequence) {
+        Slot oldest;
+        while ((oldest = pending.peek()) != null && oldest.entry().sequence() <= sequence) {
+            pending.poll();
+        }
+        buffer.putLong(CHECKPOINT_OFFSET, sequence);
+        if (oldest == null) {
+            rewind();
+        } else {
+            moveHead(oldest.offset());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (syncLock) {
+            buffer.force();
+        }
+        channel.close();
+    }
+
+    private void rewind() {
+        buffer.putInt(DATA_START, 0);
+        position = DATA_START;
+        moveHead(DATA_START);
+    }
+
+    private void moveHead(int offset) {
+        head = offset;
+        buffer.putInt(HEAD_OFFSET, offset);
+    }
+
+    private void recover() {
+        if (buffer.getInt(0) != MAGIC) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(Integer.BYTES, FORMAT_VERSION);
+            buffer.putLong(CHECKPOINT_OFFSET, 0);
+            buffer.putInt(HEAD_OFFSET, DATA_START);
+            buffer.putInt(DATA_START, 0);
+            buffer.force();
+        }
+        long checkpoint = buffer.getLong(CHECKPOINT_OFFSET);
+        nextSequence = checkpoint + 1;
+        int start = buffer.getInt(HEAD_OFFSET);
+        position = start < DATA_START || start > capacity - Integer.BYTES ? DATA_START : start;
+
+        boolean wrapped = false;
+        while (position + ENTRY_HEADER <= capacity) {
+            int length = buffer.getInt(position);
+            if (length == WRAP && !wrapped) {
+                wrapped = true;
+                position = DATA_START;
+                continue;
+            }
+            if (length <= 0 || position + ENTRY_HEADER + length > capacity) {
+                break;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(position + ENTRY_HEADER, length));
+            if ((int) crc.getValue() != buffer.getInt(position + Integer.BYTES)) {
+                break;
+            }
+
+            Entry entry = decode(buffer.slice(position + ENTRY_HEADER, length));
+            if (entry.sequence() > checkpoint) {
+                pending.add(new Slot(entry, position));
+            }
+            position += ENTRY_HEADER + length;
+            nextSequence = Math.max(nextSequence, entry.sequence() + 1);
+        }
+        appendedSequence = nextSequence - 1;
+        durableSequence = appendedSequence;
+        if (pending.isEmpty()) {
+            rewind();
+        } else {
+            buffer.putInt(position, 0);
+            moveHead(pending.peek().offset());
+        }
+    }
+
+    private record Slot(Entry entry, int offset) {
+    }
+
+    private static Entry decode(ByteBuffer payload) {
+        long sequence = payload.getLong();
+        long idShow = payload.getLong();
+        Operation operation = Operation.values()[payload.get()];
+        int count = payload.getShort();
+        List<String> seatNumbers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] bytes = new byte[payload.getShort()];
+            payload.get(bytes);
+            seatNumbers.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return new Entry(sequence, idShow, operation, List.copyOf(seatNumbers));
+    }
+}
@@ -0,0 +1,361 @@
+package com.microservice.showtime.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Occupancy bitmap of the seats of a single show.
+ * <p>
+ * Every seat is one bit in an {@link AtomicLongArray}; a set bit means the seat is taken. Seats are grouped
+ * by row (the leading letters of the seat number) and every row starts on a fresh 64-bit word, so a row can
+ * be scanned with plain word operations. The unused bits at the end of a row are permanently set, which
+ * keeps them out of the free count. All state changes are compare-and-set loops on a single word, so
+ * concurrent bookings never block each other and a seat can only be taken once.
+ */
+public class SeatMap {
+
+    private static final Comparator<String> ROW_ORDER =
+            Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder());
+
+    private static final Comparator<String> SEAT_ORDER =
+            Comparator.comparingInt(SeatMap::columnOf).thenComparing(Comparator.naturalOrder());
+
+    private static final int MAX_ATTEMPTS = 8;
+
+    private final String[] seatNumbers;
+    private final Map<String, Integer> positions;
+    private final int[] rowStarts;
+    private final int[] rowLengths;
+    private final int capacity;
+    private final AtomicLongArray taken;
+    private final AtomicLongArray reserved;
+
+    private SeatMap(String[] seatNumbers, Map<String, Integer> positions, int[] rowStarts, int[] rowLengths) {
+        this.seatNumbers = seatNumbers;
+        this.positions = positions;
+        this.rowStarts = rowStarts;
+        this.rowLengths = rowLengths;
+        this.capacity = positions.size();
+        this.taken = new AtomicLongArray(seatNumbers.length >>> 6);
+        this.reserved = new AtomicLongArray(seatNumbers.length >>> 6);
+
+        for (int position = 0; position < seatNumbers.length; position++) {
+            if (seatNumbers[position] == null) {
+                int word = position >>> 6;
+                taken.set(word, taken.get(word) | 1L << position);
+            }
+        }
+    }
+
+    public static SeatMap of(Collection<String> seatNumbers) {
+        Map<String, List<String>> rows = new TreeMap<>(ROW_ORDER);
+        for (String seatNumber : new LinkedHashSet<>(seatNumbers)) {
+            rows.computeIfAbsent(rowOf(seatNumber), row -> new ArrayList<>()).add(seatNumber);
+        }
+
+        int words = 0;
+        for (List<String> row : rows.values()) {
+            words += wordsFor(row.size());
+        }
+
+        String[] numbers = new String[words << 6];
+        Map<String, Integer> positions = new HashMap<>();
+        int[] rowStarts = new int[rows.size()];
+        int[] rowLengths = new int[rows.size()];
+        int position = 0;
+        int rowIndex = 0;
+        for (List<String> row : rows.values()) {
+            row.sort(SEAT_ORDER);
+            rowStarts[rowIndex] = position;
+            rowLengths[rowIndex++] = row.size();
+            for (int i = 0; i < row.size(); i++) {
+                numbers[position + i] = row.get(i);
+                positions.put(row.get(i), position + i);
+            }
+            position += wordsFor(row.size()) << 6;
+        }
+        return new SeatMap(numbers, positions, rowStarts, rowLengths);
+    }
+
+    /**
+     * Rebuilds a seat map whose reserved seats are given by {@code reservedWords}, as returned by
+     * {@link #reservedWords()} of a map built from the same seat numbers.
+     */
+    public static SeatMap restore(Collection<String> seatNumbers, long[] reservedWords) {
+        SeatMap seatMap = of(seatNumbers);
+        if (reservedWords.length != seatMap.reserved.length()) {
+            throw new IllegalArgumentException("The reserved seats do not match the layout of the seat map.");
+        }
+        for (int word = 0; word < reservedWords.length; word++) {
+            seatMap.taken.set(word, seatMap.taken.get(word) | reservedWords[word]);
+            seatMap.reserved.set(word, reservedWords[word]);
+        }
+        return seatMap;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int positions() {
+        return seatNumbers.length;
+    }
+
+    public int indexOf(String seatNumber) {
+        Integer position = positions.get(seatNumber);
+        return position == null ? -1 : position;
+    }
+
+    public String seatNumber(int index) {
+        return seatNumbers[index];
+    }
+
+    public boolean isTaken(int index) {
+        return (taken.get(index >>> 6) & 1L << index) != 0;
+    }
+
+    public boolean isReserved(int index) {
+        return (reserved.get(index >>> 6) & 1L << index) != 0;
+    }
+
+    public boolean tryTake(int index) {
+        return tryTakeWord(index >>> 6, 1L << index);
+    }
+
+    public boolean release(int index) {
+        if (seatNumbers[index] == null) {
+            return false;
+        }
+        int word = index >>> 6;
+        long mask = 1L << index;
+        long current;
+        do {
+            current = taken.get(word);
+            if ((current & mask) == 0) {
+                return false;
+            }
+        } while (!taken.compareAndSet(word, current, current & ~mask));
+        reserved.getAndUpdate(word, bits -> bits & ~mask);
+        return true;
+    }
+
+    public boolean tryTakeAll(int[] indices) {
+        int[] sorted = indices.clone();
+        Arrays.sort(sorted);
+        int from = 0;
+        while (from < sorted.length) {
+            int word = sorted[from] >>> 6;
+            int to = from;
+            long mask = 0;
+            while (to < sorted.length && sorted[to] >>> 6 == word) {
+                mask |= 1L << sorted[to++];
+            }
+            if (!tryTakeWord(word, mask)) {
+                releaseWords(sorted, from);
+                return false;
+            }
+            from = to;
+        }
+        return true;
+    }
+
+    /**
+     * Frees the given seats and returns whether all of them were taken, so a double release can be noticed.
+     */
+    public boolean releaseAll(int[] indices) {
+        int[] sorted = indices.clone();
+        Arrays.sort(sorted);
+        return releaseWords(sorted, sorted.length);
+    }
+
+    public void markReserved(int[] indices) {
+        for (int index : indices) {
+            if (isTaken(index)) {
+                reserved.getAndUpdate(index >>> 6, current -> current | 1L << index);
+            }
+        }
+    }
+
+    /**
+     * Finds the run of {@code count} adjacent free seats in one row that is closest to the centre of the
+     * auditorium and returns the position of its first seat, or -1 if no row has such a run.
+     */
+    public int findBestAvailable(int count) {
+        if (count <= 0 || rowStarts.length == 0) {
+            return -1;
+        }
+        double centreRow = (rowStarts.length - 1) / 2.0;
+        double bestDistance = Double.MAX_VALUE;
+        int best = -1;
+
+        for (int row = 0; row < rowStarts.length; row++) {
+            double rowDistance = Math.abs(row - centreRow);
+            if (rowDistance >= bestDistance || rowLengths[row] < count) {
+                continue;
+            }
+            int rowStart = rowStarts[row];
+            int rowEnd = rowStart + rowLengths[row];
+            int idealStart = rowStart + (rowLengths[row] - count) / 2;
+
+            int position = rowStart;
+            while (position < rowEnd) {
+                int runStart = nextFree(position, rowEnd);
+                if (runStart < 0) {
+                    break;
+                }
+                int runEnd = nextTaken(runStart, rowEnd);
+                if (runEnd - runStart >= count) {
+                    int start = Math.max(runStart, Math.min(idealStart, runEnd - count));
+                    double distance = Math.hypot(rowDistance, Math.abs(start - idealStart));
+                    if (distance < bestDistance) {
+                        bestDistance = distance;
+                        best = start;
+                    }
+                }
+                position = runEnd;
+            }
+        }
+        return best;
+    }
+
+    public int[] takeBestAvailable(int count) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            int start = findBestAvailable(count);
+            if (start < 0) {
+                return null;
+            }
+            int[] seats = new int[count];
+            for (int i = 0; i < count; i++) {
+                seats[i] = start + i;
+            }
+            if (tryTakeAll(seats)) {
+                return seats;
+            }
+        }
+        return null;
+    }
+
+    public int available() {
+        int available = 0;
+        for (int word = 0; word < taken.length(); word++) {
+            available += Long.bitCount(~taken.get(word));
+        }
+        return available;
+    }
+
+    public int held() {
+        int reservedSeats = 0;
+        for (int word = 0; word < reserved.length(); word++) {
+            reservedSeats += Long.bitCount(reserved.get(word));
+        }
+        return capacity - available() - reservedSeats;
+    }
+
+    public List<String> seatNumbers() {
+        List<String> numbers = new ArrayList<>(capacity);
+        for (String seatNumber : seatNumbers) {
+            if (seatNumber != null) {
+                numbers.add(seatNumber);
+            }
+        }
+        return numbers;
+    }
+
+    public long[] reservedWords() {
+        long[] words = new long[reserved.length()];
+        for (int word = 0; word < words.length; word++) {
+            words[word] = reserved.get(word);
+        }
+        return words;
+    }
+
+    private int nextFree(int from, int end) {
+        int word = from >>> 6;
+        long free = ~taken.get(word) & -1L << from;
+        while (free == 0) {
+            if (++word << 6 >= end) {
+                return -1;
+            }
+            free = ~taken.get(word);
+        }
+        int position = word << 6 | Long.numberOfTrailingZeros(free);
+        return position < end ? position : -1;
+    }
+
+    private int nextTaken(int from, int end) {
+        int word = from >>> 6;
+        long occupied = taken.get(word) & -1L << from;
+        while (occupied == 0) {
+            if (++word << 6 >= end) {
+                return end;
+            }
+            occupied = taken.get(word);
+        }
+        return Math.min(end, word << 6 | Long.numberOfTrailingZeros(occupied));
+    }
+
+    private boolean tryTakeWord(int word, long mask) {
+        long current;
+        do {
+            current = taken.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+        } while (!taken.compareAndSet(word, current, current | mask));
+        return true;
+    }
+
+    private boolean releaseWords(int[] sorted, int end) {
+        boolean allTaken = true;
+        int from = 0;
+        while (from < end) {
+            int word = sorted[from] >>> 6;
+            long mask = 0;
+            while (from < end && sorted[from] >>> 6 == word) {
+                if (seatNumbers[sorted[from]] != null) {
+                    mask |= 1L << sorted[from];
+                }
+                from++;
+            }
+            long current;
+            do {
+                current = taken.get(word);
+            } while (!taken.compareAndSet(word, current, current & ~mask));
+            allTaken &= (current & mask) == mask;
+            long clearReserved = ~mask;
+            reserved.getAndUpdate(word, bits -> bits & clearReserved);
+        }
+        return allTaken;
+    }
+
+    private static int wordsFor(int seats) {
+        return (seats + 63) >>> 6;
+    }
+
+    private static String rowOf(String seatNumber) {
+        int end = 0;
+        while (end < seatNumber.length() && Character.isLetter(seatNumber.charAt(end))) {
+            end++;
+        }
+        return seatNumber.substring(0, end).toUpperCase();
+    }
+
+    private static int columnOf(String seatNumber) {
+        int start = seatNumber.length();
+        while (start > 0 && Character.isDigit(seatNumber.charAt(start - 1))) {
+            start--;
+        }
+        if (start == seatNumber.length() || seatNumber.length() - start > 9) {
+            return 0;
+        }
+        return Integer.parseInt(seatNumber.substring(start));
+    }
+}
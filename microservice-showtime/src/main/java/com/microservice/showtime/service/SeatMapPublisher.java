@@ -0,0 +1,202 @@
+package com.microservice.showtime.service;
+
+import com.microservice.showtime.dto.SeatMapDeltaDTO;
+import com.microservice.showtime.dto.SeatMapSnapshotDTO;
+import com.microservice.showtime.dto.SeatState;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Fans seat changes out to the Server-Sent Events subscribers of each show. Changes are only recorded for
+ * shows that have subscribers, coalesced per seat (the latest state wins) and sent as one frame per show
+ * every {@code showtime.seat-stream.frame-millis}.
+ * <p>
+ * Frames are written on virtual threads, one send at a time per subscriber and in the order they were
+ * queued, so a slow client never holds up the scheduler or the other shows. A subscriber whose send takes
+ * longer than {@code showtime.seat-stream.send-timeout} is dropped and can reconnect for a fresh snapshot.
+ * The snapshot is queued before the subscriber is registered for deltas, so it always arrives first.
+ * Channels are closed when the seat map of their show is evicted, since they read the map they were
+ * opened with.
+ */
+@Component
+public class SeatMapPublisher {
+
+    private final Duration streamTimeout;
+    private final Duration sendTimeout;
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    private final ConcurrentHashMap<Long, ShowChannel> channels = new ConcurrentHashMap<>();
+
+    public SeatMapPublisher(@Value("${showtime.seat-stream.timeout:PT30M}") Duration streamTimeout,
+                            @Value("${showtime.seat-stream.send-timeout:PT5S}") Duration sendTimeout) {
+        this.streamTimeout = streamTimeout;
+        this.sendTimeout = sendTimeout;
+    }
+
+    public SseEmitter subscribe(Long idShow, SeatMap seatMap) {
+        Subscriber subscriber = new Subscriber(createEmitter(streamTimeout.toMillis()));
+        subscriber.emitter.onCompletion(() -> unsubscribe(idShow, subscriber));
+        subscriber.emitter.onTimeout(() -> unsubscribe(idShow, subscriber));
+        subscriber.emitter.onError(exception -> unsubscribe(idShow, subscriber));
+
+        while (true) {
+            ShowChannel channel = channels.computeIfAbsent(idShow, id -> new ShowChannel(seatMap));
+            synchronized (channel) {
+                if (channel.closed) {
+                    continue;
+                }
+                SeatMapSnapshotDTO snapshot = snapshot(idShow, channel.seatMap);
+                send(idShow, subscriber, () -> SseEmitter.event().name("snapshot").data(snapshot));
+                channel.subscribers.add(subscriber);
+                return subscriber.emitter;
+            }
+        }
+    }
+
+    public void publish(Long idShow, Collection<String> seatNumbers, SeatState state) {
+        ShowChannel channel = channels.get(idShow);
+        if (channel == null) {
+            return;
+        }
+        for (String seatNumber : seatNumbers) {
+            channel.pending.put(seatNumber, state);
+        }
+    }
+
+    /**
+     * Completes the streams of the show once their queued frames are sent.
+     */
+    public void close(Long idShow) {
+        ShowChannel channel = channels.remove(idShow);
+        if (channel == null) {
+            return;
+        }
+        synchronized (channel) {
+            channel.closed = true;
+            for (Subscriber subscriber : channel.subscribers) {
+                subscriber.sending.whenCompleteAsync((ignored, failure) -> subscriber.emitter.complete(), sender);
+            }
+            channel.subscribers.clear();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${showtime.seat-stream.frame-millis:100}")
+    public void flush() {
+        channels.forEach(this::flush);
+    }
+
+    @PreDestroy
+    public void stop() {
+        sender.shutdownNow();
+    }
+
+    SseEmitter createEmitter(long timeout) {
+        return new SseEmitter(timeout);
+    }
+
+    private void flush(Long idShow, ShowChannel channel) {
+        synchronized (channel) {
+            if (channel.pending.isEmpty()) {
+                return;
+            }
+            Map<String, SeatState> seats = new HashMap<>();
+            for (Map.Entry<String, SeatState> entry : channel.pending.entrySet()) {
+                seats.put(entry.getKey(), entry.getValue());
+                channel.pending.remove(entry.getKey(), entry.getValue());
+            }
+
+            SeatMapDeltaDTO delta = new SeatMapDeltaDTO(idShow, channel.seatMap.available(), seats);
+            for (Subscriber subscriber : channel.subscribers) {
+                send(idShow, subscriber, () -> SseEmitter.event().name("delta").data(delta));
+            }
+        }
+    }
+
+    /**
+     * Queues the event after the previous send of the subscriber. Called while holding the channel.
+     */
+    private void send(Long idShow, Subscriber subscriber, Supplier<SseEmitter.SseEventBuilder> event) {
+        subscriber.sending = subscriber.sending
+                .thenRunAsync(() -> {
+                    try {
+                        subscriber.emitter.send(event.get());
+                    } catch (IOException exception) {
+                        throw new UncheckedIOException(exception);
+                    }
+                }, sender)
+                .orTimeout(sendTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenCompleteAsync((ignored, failure) -> {
+                    if (failure != null && subscriber.dropped.compareAndSet(false, true)) {
+                        unsubscribe(idShow, subscriber);
+                        subscriber.emitter.completeWithError(failure);
+                    }
+                }, sender);
+    }
+
+    private void unsubscribe(Long idShow, Subscriber subscriber) {
+        ShowChannel channel = channels.get(idShow);
+        if (channel == null) {
+            return;
+        }
+        synchronized (channel) {
+            if (channel.subscribers.remove(subscriber) && channel.subscribers.isEmpty() && !channel.closed) {
+                channel.closed = true;
+                channels.remove(idShow, channel);
+            }
+        }
+    }
+
+    private SeatMapSnapshotDTO snapshot(Long idShow, SeatMap seatMap) {
+        List<String> heldSeats = new ArrayList<>();
+        List<String> reservedSeats = new ArrayList<>();
+        for (int index = 0; index < seatMap.positions(); index++) {
+            String seatNumber = seatMap.seatNumber(index);
+            if (seatNumber == null || !seatMap.isTaken(index)) {
+                continue;
+            }
+            (seatMap.isReserved(index) ? reservedSeats : heldSeats).add(seatNumber);
+        }
+        return new SeatMapSnapshotDTO(idShow, seatMap.available(), heldSeats, reservedSeats);
+    }
+
+    private static final class ShowChannel {
+
+        private final SeatMap seatMap;
+        private final List<Subscriber> subscribers = new ArrayList<>();
+        private final Map<String, SeatState> pending = new ConcurrentHashMap<>();
+        private boolean closed;
+
+        private ShowChannel(SeatMap seatMap) {
+            this.seatMap = seatMap;
+        }
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean dropped = new AtomicBoolean();
+        private CompletableFuture<Void> sending = CompletableFuture.completedFuture(null);
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
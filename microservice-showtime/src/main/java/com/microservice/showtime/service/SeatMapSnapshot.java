@@ -0,0 +1,101 @@
+package com.microservice.showtime.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary snapshot of the reserved seats of many shows, taken at a journal sequence.
+ * <p>
+ * Layout: magic, format version, sequence and show count, then per show its id, seat numbers and reserved
+ * bitmap words, followed by a CRC32 of everything before it. The file is written next to the target and
+ * moved into place, so a crash while writing leaves the previous snapshot intact.
+ */
+public final class SeatMapSnapshot {
+
+    public record Snapshot(long sequence, Map<Long, SeatMap> seatMaps) {
+    }
+
+    private static final int MAGIC = 0x5EA75A95;
+    private static final int FORMAT_VERSION = 1;
+
+    private SeatMapSnapshot() {
+    }
+
+    public static void write(Path path, long sequence, Map<Long, SeatMap> seatMaps) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        CheckedOutputStream checked = new CheckedOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporary)), new CRC32());
+        try (DataOutputStream out = new DataOutputStream(checked)) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(sequence);
+            out.writeInt(seatMaps.size());
+            for (Map.Entry<Long, SeatMap> show : seatMaps.entrySet()) {
+                List<String> seatNumbers = show.getValue().seatNumbers();
+                long[] reservedWords = show.getValue().reservedWords();
+                out.writeLong(show.getKey());
+                out.writeInt(seatNumbers.size());
+                for (String seatNumber : seatNumbers) {
+                    out.writeUTF(seatNumber);
+                }
+                out.writeInt(reservedWords.length);
+                for (long word : reservedWords) {
+                    out.writeLong(word);
+                }
+            }
+            out.writeLong(checked.getChecksum().getValue());
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static Snapshot read(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        CheckedInputStream checked = new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(path)), new CRC32());
+        try (DataInputStream in = new DataInputStream(checked)) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("The file " + path + " is not a seat map snapshot.");
+            }
+            long sequence = in.readLong();
+            int shows = in.readInt();
+            Map<Long, SeatMap> seatMaps = new HashMap<>();
+            for (int show = 0; show < shows; show++) {
+                long idShow = in.readLong();
+                int seats = in.readInt();
+                List<String> seatNumbers = new ArrayList<>(seats);
+                for (int seat = 0; seat < seats; seat++) {
+                    seatNumbers.add(in.readUTF());
+                }
+                long[] reservedWords = new long[in.readInt()];
+                for (int word = 0; word < reservedWords.length; word++) {
+                    reservedWords[word] = in.readLong();
+                }
+                seatMaps.put(idShow, SeatMap.restore(seatNumbers, reservedWords));
+            }
+
+            long checksum = checked.getChecksum().getValue();
+            if (in.readLong() != checksum) {
+                throw new IOException("The seat map snapshot " + path + " is corrupted.");
+            }
+            return new Snapshot(sequence, seatMaps);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.microservice.showtime.service;
+
+import com.microservice.showtime.repository.ShowRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Periodically writes the seat maps held by the {@link SeatEngine} to a {@link SeatMapSnapshot} and restores
+ * them on startup, so a restarted node does not have to read the seat rows of every show again.
+ * <p>
+ * The journal sequence is read before the seat maps, so every change up to it is in the snapshot. On startup
+ * the journal has already been replayed into the database, and only the shows whose journal sequence moved
+ * past the snapshot are loaded from their rows again. Shows with seats on hold are left out of the snapshot,
+ * because holds do not survive a restart and those shows must be reconciled from the database anyway.
+ * <p>
+ * A snapshot taken at a sequence that neither the journal file nor the database has reached means the journal
+ * was truncated or recreated, or the database restored from an older backup. Its seat maps may hold
+ * reservations that were never applied, so startup fails instead of serving them; delete the snapshot to load
+ * the seat maps from the database. An unreadable snapshot is ignored for the same result.
+ */
+@Component
+@ConditionalOnProperty(name = "showtime.write-behind.enabled", havingValue = "true")
+public class SeatSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatSnapshotService.class);
+
+    private final SeatEngine seatEngine;
+    private final JournaledSeatStore seatStore;
+    private final ShowRepository showRepository;
+    private final Path snapshotPath;
+
+    public SeatSnapshotService(SeatEngine seatEngine, JournaledSeatStore seatStore, ShowRepository showRepository,
+                               @Value("${showtime.write-behind.snapshot-path:data/seat-maps.snapshot}") String snapshotPath) {
+        this.seatEngine = seatEngine;
+        this.seatStore = seatStore;
+        this.showRepository = showRepository;
+        this.snapshotPath = Path.of(snapshotPath);
+    }
+
+    @PostConstruct
+    public void restore() {
+        SeatMapSnapshot.Snapshot snapshot;
+        try {
+            snapshot = SeatMapSnapshot.read(snapshotPath);
+        } catch (IOException exception) {
+            log.warn("Could not read the seat map snapshot, seat maps will be loaded from the database", exception);
+            return;
+        }
+        if (snapshot == null) {
+            return;
+        }
+        long checkpoint = seatStore.checkpoint();
+        long applied = showRepository.findMaxJournalSequence();
+        if (snapshot.sequence() > checkpoint || snapshot.sequence() > applied) {
+            throw new IllegalStateException("The seat map snapshot " + snapshotPath + " was taken at sequence "
+                    + snapshot.sequence() + ", past the seat journal (" + checkpoint + ") or the database (" + applied
+                    + "). Delete it to load the seat maps from the database.");
+        }
+
+        Set<Long> changed = new HashSet<>(showRepository.findIdShowByJournalSequenceGreaterThan(snapshot.sequence()));
+        int restored = 0;
+        for (Map.Entry<Long, SeatMap> show : snapshot.seatMaps().entrySet()) {
+            if (!changed.contains(show.getKey())) {
+                seatEngine.restore(show.getKey(), show.getValue());
+                restored++;
+            }
+        }
+        log.info("Restored {} seat maps from the snapshot at sequence {}", restored, snapshot.sequence());
+    }
+
+    @Scheduled(fixedDelayString = "${showtime.write-behind.snapshot-interval:PT1M}",
+               initialDelayString = "${showtime.write-behind.snapshot-interval:PT1M}")
+    public void snapshot() {
+        long sequence = seatStore.lastSequence();
+        Map<Long, SeatMap> seatMaps = new LinkedHashMap<>();
+        seatEngine.seatMaps().forEach((idShow, seatMap) -> {
+            if (seatMap.held() == 0) {
+                seatMaps.put(idShow, seatMap);
+            }
+        });
+
+        try {
+            SeatMapSnapshot.write(snapshotPath, sequence, seatMaps);
+        } catch (IOException exception) {
+            log.error("Could not write the seat map snapshot", exception);
+        }
+    }
+}
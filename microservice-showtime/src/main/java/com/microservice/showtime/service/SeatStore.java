@@ -0,0 +1,18 @@
+package com.microservice.showtime.service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persists the seat changes the {@link SeatEngine} has already decided in the seat map.
+ */
+public interface SeatStore {
+
+    void reserve(Long idShow, List<String> seatNumbers);
+
+    void hold(Long idShow, List<String> seatNumbers);
+
+    void confirm(Long idShow, List<String> seatNumbers);
+
+    void release(Map<Long, List<String>> seatNumbersByShow);
+}
@@ -0,0 +1,7 @@
+package com.microservice.showtime.service;
+
+/**
+ * Published when a show is created, updated or deleted; {@code show} is null for a deleted show.
+ */
+public record ShowChangedEvent(Long idShow, ShowSchedule.ScheduledShow show) {
+}
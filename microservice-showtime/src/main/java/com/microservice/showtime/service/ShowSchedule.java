@@ -0,0 +1,124 @@
+package com.microservice.showtime.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Upcoming shows of a fixed range of days, bucketed by day and sorted by showtime inside each bucket.
+ * Buckets are immutable lists that are replaced on every change, so reads never lock; a range query
+ * binary-searches the first day and walks the buckets until the end of the range.
+ */
+public class ShowSchedule {
+
+    public record ScheduledShow(Long idShow, Long idMovie, LocalDateTime showtime, int totalSeats) {
+    }
+
+    private static final Comparator<ScheduledShow> SHOWTIME_ORDER =
+            Comparator.comparing(ScheduledShow::showtime).thenComparing(ScheduledShow::idShow);
+
+    private final LocalDate firstDay;
+    private final LocalDate endDay;
+    private final ConcurrentHashMap<LocalDate, List<ScheduledShow>> days = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, ScheduledShow> shows = new ConcurrentHashMap<>();
+
+    public ShowSchedule(LocalDate firstDay, LocalDate endDay, Collection<ScheduledShow> scheduledShows) {
+        this.firstDay = firstDay;
+        this.endDay = endDay;
+
+        Map<LocalDate, List<ScheduledShow>> buckets = new HashMap<>();
+        for (ScheduledShow show : scheduledShows) {
+            if (isCovered(show.showtime())) {
+                shows.put(show.idShow(), show);
+                buckets.computeIfAbsent(show.showtime().toLocalDate(), day -> new ArrayList<>()).add(show);
+            }
+        }
+        buckets.forEach((day, bucket) -> {
+            bucket.sort(SHOWTIME_ORDER);
+            days.put(day, List.copyOf(bucket));
+        });
+    }
+
+    public boolean covers(LocalDateTime from, LocalDateTime to) {
+        return !from.toLocalDate().isBefore(firstDay) && !to.isAfter(endDay.atStartOfDay());
+    }
+
+    public int size() {
+        return shows.size();
+    }
+
+    /**
+     * Returns the shows starting in {@code [from, to)}, optionally only those of one movie, in showtime order.
+     */
+    public List<ScheduledShow> find(Long idMovie, LocalDateTime from, LocalDateTime to) {
+        List<ScheduledShow> result = new ArrayList<>();
+        for (LocalDate day = from.toLocalDate(); day.atStartOfDay().isBefore(to); day = day.plusDays(1)) {
+            List<ScheduledShow> bucket = days.getOrDefault(day, List.of());
+            for (int i = firstAtOrAfter(bucket, from); i < bucket.size(); i++) {
+                ScheduledShow show = bucket.get(i);
+                if (!show.showtime().isBefore(to)) {
+                    return result;
+                }
+                if (idMovie == null || idMovie.equals(show.idMovie())) {
+                    result.add(show);
+                }
+            }
+        }
+        return result;
+    }
+
+    public synchronized void put(ScheduledShow show) {
+        remove(show.idShow());
+        if (!isCovered(show.showtime())) {
+            return;
+        }
+        shows.put(show.idShow(), show);
+        days.compute(show.showtime().toLocalDate(), (day, bucket) -> {
+            List<ScheduledShow> updated = bucket == null ? new ArrayList<>() : new ArrayList<>(bucket);
+            int index = 0;
+            while (index < updated.size() && SHOWTIME_ORDER.compare(updated.get(index), show) < 0) {
+                index++;
+            }
+            updated.add(index, show);
+            return List.copyOf(updated);
+        });
+    }
+
+    public synchronized void remove(Long idShow) {
+        ScheduledShow current = shows.remove(idShow);
+        if (current == null) {
+            return;
+        }
+        days.computeIfPresent(current.showtime().toLocalDate(), (day, bucket) -> {
+            List<ScheduledShow> updated = bucket.stream()
+                    .filter(show -> !show.idShow().equals(idShow))
+                    .toList();
+            return updated.isEmpty() ? null : updated;
+        });
+    }
+
+    private boolean isCovered(LocalDateTime showtime) {
+        LocalDate day = showtime.toLocalDate();
+        return !day.isBefore(firstDay) && day.isBefore(endDay);
+    }
+
+    private static int firstAtOrAfter(List<ScheduledShow> bucket, LocalDateTime from) {
+        int low = 0;
+        int high = bucket.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (bucket.get(middle).showtime().isBefore(from)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,79 @@
+package com.microservice.showtime.service;
+
+import com.microservice.showtime.model.ShowEntity;
+import com.microservice.showtime.repository.ShowRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps the shows of the next {@code showtime.schedule.horizon-days} days in a {@link ShowSchedule} so that
+ * schedule reads inside that window do not hit the database. The index is loaded with one range query when
+ * the application is ready and rebuilt every night to move the window forward; in between it follows the
+ * show changes of this instance once their transaction has committed.
+ */
+@Component
+public class ShowScheduleIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ShowScheduleIndex.class);
+
+    private final ShowRepository showRepository;
+    private final int horizonDays;
+    private volatile ShowSchedule schedule;
+
+    public ShowScheduleIndex(ShowRepository showRepository,
+                             @Value("${showtime.schedule.horizon-days:14}") int horizonDays) {
+        this.showRepository = showRepository;
+        this.horizonDays = horizonDays;
+    }
+
+    public Optional<List<ShowSchedule.ScheduledShow>> find(Long idMovie, LocalDateTime from, LocalDateTime to) {
+        ShowSchedule current = schedule;
+        if (current == null || !current.covers(from, to)) {
+            return Optional.empty();
+        }
+        return Optional.of(current.find(idMovie, from, to));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${showtime.schedule.refresh-cron:0 0 4 * * *}")
+    public synchronized void refresh() {
+        LocalDate firstDay = LocalDate.now();
+        LocalDate endDay = firstDay.plusDays(horizonDays);
+        List<ShowSchedule.ScheduledShow> shows = showRepository
+                .findByShowtimeGreaterThanEqualAndShowtimeBeforeOrderByShowtime(firstDay.atStartOfDay(), endDay.atStartOfDay())
+                .stream()
+                .map(ShowScheduleIndex::toScheduledShow)
+                .toList();
+        schedule = new ShowSchedule(firstDay, endDay, shows);
+        log.info("Indexed {} shows between {} and {}", shows.size(), firstDay, endDay);
+    }
+
+    @TransactionalEventListener
+    public synchronized void onShowChanged(ShowChangedEvent event) {
+        ShowSchedule current = schedule;
+        if (current == null) {
+            return;
+        }
+        if (event.show() == null) {
+            current.remove(event.idShow());
+        } else {
+            current.put(event.show());
+        }
+    }
+
+    static ShowSchedule.ScheduledShow toScheduledShow(ShowEntity showEntity) {
+        return new ShowSchedule.ScheduledShow(showEntity.getIdShow(), showEntity.getIdMovie(),
+                showEntity.getShowtime(), showEntity.getTotalSeats());
+    }
+}
@@ -1,41 +1,225 @@
 package com.microservice.showtime.service;
 
+import com.microservice.showtime.client.MovieCache;
 import com.microservice.showtime.client.MovieClient;
 import com.microservice.showtime.dto.MovieResponseDTO;
+import com.microservice.showtime.dto.ReservationResponseDTO;
+import com.microservice.showtime.dto.ShowRequestDTO;
+import com.microservice.showtime.dto.ShowResponseDTO;
+import com.microservice.showtime.exception.InvalidShowException;
+import com.microservice.showtime.exception.MovieNotFoundException;
+import com.microservice.showtime.exception.ShowNotFoundException;
 import com.microservice.showtime.model.SeatEntity;
 import com.microservice.showtime.model.ShowEntity;
+import com.microservice.showtime.repository.SeatRepository;
 import com.microservice.showtime.repository.ShowRepository;
+import com.microservice.showtime.validation.SeatValidation;
+import com.microservice.showtime.validation.ShowValidation;
+import feign.FeignException;
 import jakarta.servlet.http.HttpSession;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
 public class ShowService {
 
+    private static final int SEATS_PER_ROW = 20;
+
     private final MovieClient movieClient;
+    private final MovieCache movieCache;
     private final ShowRepository showRepository;
+    private final SeatRepository seatRepository;
+    private final SeatEngine seatEngine;
+    private final SeatMapPublisher seatMapPublisher;
+    private final ShowScheduleIndex showScheduleIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SeatValidation seatValidation;
+    private final ShowValidation showValidation;
+    private final TransactionTemplate transactionTemplate;
 
-    public ShowService(MovieClient movieClient, ShowRepository showRepository) {
+    public ShowService(MovieClient movieClient, MovieCache movieCache, ShowRepository showRepository,
+                       SeatRepository seatRepository, SeatEngine seatEngine, SeatMapPublisher seatMapPublisher,
+                       ShowScheduleIndex showScheduleIndex, ApplicationEventPublisher eventPublisher,
+                       SeatValidation seatValidation, ShowValidation showValidation,
+                       PlatformTransactionManager transactionManager) {
         this.movieClient = movieClient;
+        this.movieCache = movieCache;
         this.showRepository = showRepository;
+        this.seatRepository = seatRepository;
+        this.seatEngine = seatEngine;
+        this.seatMapPublisher = seatMapPublisher;
+        this.showScheduleIndex = showScheduleIndex;
+        this.eventPublisher = eventPublisher;
+        this.seatValidation = seatValidation;
+        this.showValidation = showValidation;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * The movie is checked against microservice-movies before the transaction starts, so no connection is held
+     * while waiting on the remote call.
+     */
+    public ShowResponseDTO createShow(ShowRequestDTO showRequestDTO) {
+        showValidation.validateShowRequest(showRequestDTO);
+        validateMovieExists(showRequestDTO.getIdMovie());
+
+        return transactionTemplate.execute(status -> {
+            ShowEntity showEntity = new ShowEntity();
+            showEntity.setIdMovie(showRequestDTO.getIdMovie());
+            showEntity.setShowtime(showRequestDTO.getShowtime());
+            showEntity.setTotalSeats(showRequestDTO.getTotalSeats());
+            showEntity.setAvailableSeats(showRequestDTO.getTotalSeats());
+            ShowEntity savedShow = showRepository.save(showEntity);
+            seatRepository.saveAll(createSeats(savedShow));
+
+            eventPublisher.publishEvent(new ShowChangedEvent(savedShow.getIdShow(), ShowScheduleIndex.toScheduledShow(savedShow)));
+            return toResponse(savedShow);
+        });
+    }
+
+    public ShowResponseDTO updateShow(Long idShow, ShowRequestDTO showRequestDTO) {
+        showValidation.validateShowRequest(showRequestDTO);
+        ShowEntity current = findShow(idShow);
+        if (showRequestDTO.getTotalSeats() != current.getTotalSeats()) {
+            throw new InvalidShowException("The number of seats of an existing show cannot be changed.");
+        }
+        if (!showRequestDTO.getIdMovie().equals(current.getIdMovie())) {
+            validateMovieExists(showRequestDTO.getIdMovie());
+        }
+
+        return transactionTemplate.execute(status -> {
+            ShowEntity showEntity = findShow(idShow);
+            showEntity.setIdMovie(showRequestDTO.getIdMovie());
+            showEntity.setShowtime(showRequestDTO.getShowtime());
+            ShowEntity savedShow = showRepository.save(showEntity);
+
+            eventPublisher.publishEvent(new ShowChangedEvent(idShow, ShowScheduleIndex.toScheduledShow(savedShow)));
+            return toResponse(savedShow);
+        });
+    }
+
+    /**
+     * The seat map and the seat streams of the show are dropped by {@link SeatEngine} once the deletion has
+     * committed, so a rollback leaves them in place.
+     */
+    @Transactional
+    public void deleteShow(Long idShow) {
+        if (!showRepository.existsById(idShow)) {
+            throw new ShowNotFoundException("The show with ID " + idShow);
+        }
+        seatRepository.deleteByIdShow(idShow);
+        showRepository.deleteById(idShow);
+
+        eventPublisher.publishEvent(new ShowChangedEvent(idShow, null));
     }
 
-    /*@Transactional
-    public ShowEntity createShow(ShowEntity showEntity) {
-        MovieResponseDTO movie = movieClient.getMovieById(showEntity.getIdMovie());
-        SeatEntity seatEntity = showEntity.getSeatEntity();
-        ShowEntity savedShow = showRepository.save(showEntity);
-        return savedShow;
-    }*/
+    public List<ShowResponseDTO> getSchedule(Long idMovie, LocalDateTime from, LocalDateTime to) {
+        showValidation.validateScheduleRange(from, to);
+
+        return showScheduleIndex.find(idMovie, from, to)
+                .map(shows -> shows.stream()
+                        .map(show -> new ShowResponseDTO(show.idShow(), show.idMovie(), show.showtime(), show.totalSeats()))
+                        .toList())
+                .orElseGet(() -> (idMovie == null
+                        ? showRepository.findByShowtimeGreaterThanEqualAndShowtimeBeforeOrderByShowtime(from, to)
+                        : showRepository.findByIdMovieAndShowtimeGreaterThanEqualAndShowtimeBeforeOrderByShowtime(idMovie, from, to))
+                        .stream()
+                        .map(this::toResponse)
+                        .toList());
+    }
 
     public MovieResponseDTO getMovieById(Long idMovie) {
-        return movieClient.getMovieById(idMovie);
+        return movieCache.getMovieById(idMovie);
+    }
+
+    /**
+     * Relays the catalog validators of microservice-movies both ways, so a client revalidating its copy gets a
+     * 304 without the page being transferred twice.
+     */
+    public ResponseEntity<Page<MovieResponseDTO>> getAllMovies(int page, int elements, String ifNoneMatch) {
+        try {
+            ResponseEntity<Page<MovieResponseDTO>> response = movieClient.getAllMovies(page, elements, ifNoneMatch);
+            HttpHeaders headers = response.getHeaders();
+            ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+            if (headers.getETag() != null) {
+                builder.eTag(headers.getETag());
+            }
+            return builder.body(response.getBody());
+        } catch (FeignException exception) {
+            if (ifNoneMatch == null || exception.status() != HttpStatus.NOT_MODIFIED.value()) {
+                throw exception;
+            }
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ifNoneMatch).build();
+        }
+    }
+
+    public ReservationResponseDTO reserveSeat(Long idShow, String seatNumber) {
+        return reserveSeats(idShow, List.of(seatNumber));
+    }
+
+    public ReservationResponseDTO reserveSeats(Long idShow, List<String> seatNumbers) {
+        seatValidation.validateSeatSelection(seatNumbers);
+        List<String> selection = seatNumbers.stream().distinct().toList();
+        int availableSeats = seatEngine.reserve(idShow, selection);
+        return new ReservationResponseDTO(idShow, selection, availableSeats);
+    }
+
+    public ReservationResponseDTO reserveBestAvailable(Long idShow, int seats) {
+        seatValidation.validateSeatCount(seats);
+        List<String> seatNumbers = seatEngine.reserveBestAvailable(idShow, seats);
+        return new ReservationResponseDTO(idShow, seatNumbers, seatEngine.seatMap(idShow).available());
+    }
+
+    public SseEmitter streamSeats(Long idShow) {
+        return seatMapPublisher.subscribe(idShow, seatEngine.seatMap(idShow));
+    }
+
+    private ShowEntity findShow(Long idShow) {
+        return showRepository.findById(idShow)
+                .orElseThrow(() -> new ShowNotFoundException("The show with ID " + idShow));
+    }
+
+    private void validateMovieExists(Long idMovie) {
+        try {
+            movieCache.getMovieById(idMovie);
+        } catch (MovieNotFoundException exception) {
+            throw new InvalidShowException("The movie with ID " + idMovie + " does not exist.");
+        }
+    }
+
+    private List<SeatEntity> createSeats(ShowEntity showEntity) {
+        List<SeatEntity> seats = new ArrayList<>(showEntity.getTotalSeats());
+        for (int i = 0; i < showEntity.getTotalSeats(); i++) {
+            SeatEntity seatEntity = new SeatEntity();
+            seatEntity.setSeatNumber(rowName(i / SEATS_PER_ROW) + (i % SEATS_PER_ROW + 1));
+            seatEntity.setShowEntity(showEntity);
+            seats.add(seatEntity);
+        }
+        return seats;
+    }
+
+    private static String rowName(int row) {
+        StringBuilder name = new StringBuilder();
+        for (int index = row + 1; index > 0; index = (index - 1) / 26) {
+            name.insert(0, (char) ('A' + (index - 1) % 26));
+        }
+        return name.toString();
     }
 
-    public Page<MovieResponseDTO> getAllMovies(int page, int elements) {
-        return movieClient.getAllMovies(page, elements);
+    private ShowResponseDTO toResponse(ShowEntity showEntity) {
+        return new ShowResponseDTO(showEntity.getIdShow(), showEntity.getIdMovie(),
+                showEntity.getShowtime(), showEntity.getTotalSeats());
     }
 }
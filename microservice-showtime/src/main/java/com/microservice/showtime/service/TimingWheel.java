@@ -0,0 +1,198 @@
+package com.microservice.showtime.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Hashed timing wheel that expires items in batches.
+ * <p>
+ * Scheduling is O(1): the item is queued and the single worker thread drops it into the bucket of its
+ * deadline tick. On every tick the worker walks one bucket and hands all items that are due to the expiry
+ * callback in one list. Cancelling only flips the state of the timeout; the worker discards it later.
+ */
+public class TimingWheel<T> {
+
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final List<Timeout<T>>[] buckets;
+    private final int mask;
+    private final Queue<Timeout<T>> scheduled = new ConcurrentLinkedQueue<>();
+    private final Consumer<List<T>> onExpired;
+    private final LongSupplier clock;
+    private final long startTime;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final Thread worker;
+    private volatile boolean running = true;
+    private long tick;
+
+    public TimingWheel(String name, Duration tickDuration, int ticksPerWheel, Consumer<List<T>> onExpired) {
+        this(name, tickDuration, ticksPerWheel, onExpired, System::nanoTime);
+    }
+
+    /**
+     * Builds a wheel without a worker thread that reads the time from {@code clock}; ticks only run when
+     * {@link #advance()} is called.
+     */
+    TimingWheel(Duration tickDuration, int ticksPerWheel, Consumer<List<T>> onExpired, LongSupplier clock) {
+        this(null, tickDuration, ticksPerWheel, onExpired, clock);
+    }
+
+    @SuppressWarnings("unchecked")
+    private TimingWheel(String name, Duration tickDuration, int ticksPerWheel, Consumer<List<T>> onExpired,
+                        LongSupplier clock) {
+        if (tickDuration.isNegative() || tickDuration.isZero()) {
+            throw new IllegalArgumentException("Tick duration must be greater than zero.");
+        }
+        if (ticksPerWheel <= 0 || Integer.bitCount(ticksPerWheel) != 1) {
+            throw new IllegalArgumentException("Ticks per wheel must be a power of two.");
+        }
+        this.tickNanos = tickDuration.toNanos();
+        this.buckets = new List[ticksPerWheel];
+        for (int i = 0; i < ticksPerWheel; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        this.mask = ticksPerWheel - 1;
+        this.onExpired = onExpired;
+        this.clock = clock;
+        this.startTime = clock.getAsLong();
+        if (name == null) {
+            this.worker = null;
+        } else {
+            this.worker = new Thread(this::run, name);
+            this.worker.setDaemon(true);
+        }
+    }
+
+    public Timeout<T> schedule(T item, Duration delay) {
+        if (!running) {
+            throw new IllegalStateException("The timing wheel has been stopped.");
+        }
+        if (worker != null && started.compareAndSet(false, true)) {
+            worker.start();
+        }
+        Timeout<T> timeout = new Timeout<>(item, elapsed() + Math.max(0, delay.toNanos()));
+        scheduled.add(timeout);
+        return timeout;
+    }
+
+    public void stop() {
+        running = false;
+        if (started.get()) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            long sleep = tickNanos * (tick + 1) - elapsed();
+            if (sleep > 0) {
+                LockSupport.parkNanos(this, sleep);
+            } else {
+                advance();
+            }
+        }
+    }
+
+    /**
+     * Runs every tick whose deadline has passed. Only the worker thread calls this, or the test driving a
+     * wheel built without one.
+     */
+    void advance() {
+        long deadline;
+        while ((deadline = tickNanos * (tick + 1)) <= elapsed()) {
+            transferScheduled();
+            List<T> expired = expireBucket(buckets[(int) (tick & mask)], deadline);
+            tick++;
+            if (!expired.isEmpty()) {
+                try {
+                    onExpired.accept(expired);
+                } catch (RuntimeException exception) {
+                    Thread current = Thread.currentThread();
+                    current.getUncaughtExceptionHandler().uncaughtException(current, exception);
+                }
+            }
+        }
+    }
+
+    private long elapsed() {
+        return clock.getAsLong() - startTime;
+    }
+
+    private void transferScheduled() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout<T> timeout = scheduled.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            long deadlineTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (deadlineTick - tick) / buckets.length;
+            buckets[(int) (Math.max(deadlineTick, tick) & mask)].add(timeout);
+        }
+    }
+
+    private List<T> expireBucket(List<Timeout<T>> bucket, long deadline) {
+        List<T> expired = new ArrayList<>();
+        int kept = 0;
+        for (Timeout<T> timeout : bucket) {
+            if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+                if (timeout.expire()) {
+                    expired.add(timeout.item);
+                }
+            } else if (!timeout.isCancelled()) {
+                timeout.remainingRounds--;
+                bucket.set(kept++, timeout);
+            }
+        }
+        bucket.subList(kept, bucket.size()).clear();
+        return expired;
+    }
+
+    public static final class Timeout<T> {
+
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final T item;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private long remainingRounds;
+
+        private Timeout(T item, long deadline) {
+            this.item = item;
+            this.deadline = deadline;
+        }
+
+        public T item() {
+            return item;
+        }
+
+        public boolean cancel() {
+            return state.compareAndSet(PENDING, CANCELLED);
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        private boolean expire() {
+            return state.compareAndSet(PENDING, EXPIRED);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.microservice.showtime.validation;
+
+import com.microservice.showtime.exception.InvalidSeatSelectionException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class SeatValidation {
+
+    private static final int MAX_SEATS_PER_BOOKING = 10;
+
+    public void validateSeatSelection(List<String> seatNumbers) {
+        if (seatNumbers == null || seatNumbers.isEmpty()) {
+            throw new InvalidSeatSelectionException("At least one seat number must be provided.");
+        }
+        if (seatNumbers.size() > MAX_SEATS_PER_BOOKING) {
+            throw new InvalidSeatSelectionException("No more than " + MAX_SEATS_PER_BOOKING + " seats can be booked at once.");
+        }
+        if (seatNumbers.stream().anyMatch(seatNumber -> seatNumber == null || seatNumber.isBlank())) {
+            throw new InvalidSeatSelectionException("Seat numbers cannot be null or empty.");
+        }
+    }
+
+    public void validateSeatCount(int seats) {
+        if (seats <= 0 || seats > MAX_SEATS_PER_BOOKING) {
+            throw new InvalidSeatSelectionException("The number of seats must be between 1 and " + MAX_SEATS_PER_BOOKING + ".");
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.microservice.showtime.validation;
+
+import com.microservice.showtime.dto.ShowRequestDTO;
+import com.microservice.showtime.exception.InvalidShowException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Component
+public class ShowValidation {
+
+    private static final int MAX_SEATS_PER_SHOW = 1000;
+    private static final Duration MAX_SCHEDULE_RANGE = Duration.ofDays(31);
+
+    public void validateShowRequest(ShowRequestDTO showRequestDTO) {
+        if (showRequestDTO == null) {
+            throw new InvalidShowException("Show data cannot be null.");
+        }
+        if (showRequestDTO.getIdMovie() == null || showRequestDTO.getIdMovie() <= 0) {
+            throw new InvalidShowException("Movie ID must be greater than 0.");
+        }
+        if (showRequestDTO.getShowtime() == null || showRequestDTO.getShowtime().isBefore(LocalDateTime.now())) {
+            throw new InvalidShowException("The showtime must be in the future.");
+        }
+        if (showRequestDTO.getTotalSeats() <= 0 || showRequestDTO.getTotalSeats() > MAX_SEATS_PER_SHOW) {
+            throw new InvalidShowException("The number of seats must be between 1 and " + MAX_SEATS_PER_SHOW + ".");
+        }
+    }
+
+    public void validateScheduleRange(LocalDateTime from, LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new InvalidShowException("The end of the schedule range must be after its start.");
+        }
+        if (Duration.between(from, to).compareTo(MAX_SCHEDULE_RANGE) > 0) {
+            throw new InvalidShowException("The schedule range cannot be longer than " + MAX_SCHEDULE_RANGE.toDays() + " days.");
+        }
+    }
+}
@@ -0,0 +1,3 @@
+-- Seats belong to a show since the seat engine was introduced; shows no longer point at a single seat.
+-- Hibernate's ddl-auto: update never drops columns, so the old NOT NULL column is removed here.
+ALTER TABLE IF EXISTS shows DROP COLUMN IF EXISTS id_seat;
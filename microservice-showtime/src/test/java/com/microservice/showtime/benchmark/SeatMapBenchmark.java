@@ -0,0 +1,87 @@
+package com.microservice.showtime.benchmark;
+
+import com.microservice.showtime.service.SeatMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Best-available search on a 500 seat hall (20 rows of 25). Run with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.microservice.showtime.benchmark.SeatMapBenchmark}
+ * or from the IDE through {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeatMapBenchmark {
+
+    private static final int ROWS = 20;
+    private static final int SEATS_PER_ROW = 25;
+
+    @Param({"0.0", "0.5", "0.9"})
+    private double occupancy;
+
+    @Param({"2", "4", "8"})
+    private int partySize;
+
+    private SeatMap seatMap;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> seatNumbers = new ArrayList<>();
+        for (int row = 0; row < ROWS; row++) {
+            for (int seat = 1; seat <= SEATS_PER_ROW; seat++) {
+                seatNumbers.add((char) ('A' + row) + String.valueOf(seat));
+            }
+        }
+        seatMap = SeatMap.of(seatNumbers);
+
+        Random random = new Random(42);
+        for (String seatNumber : seatNumbers) {
+            if (random.nextDouble() < occupancy) {
+                seatMap.tryTake(seatMap.indexOf(seatNumber));
+            }
+        }
+    }
+
+    @Benchmark
+    public int findBestAvailable() {
+        return seatMap.findBestAvailable(partySize);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void takeAndReleaseBestAvailable(Blackhole blackhole) {
+        int[] seats = seatMap.takeBestAvailable(partySize);
+        blackhole.consume(seats);
+        if (seats != null) {
+            seatMap.releaseAll(seats);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SeatMapBenchmark.class.getSimpleName()).build()).run();
+    }
+}
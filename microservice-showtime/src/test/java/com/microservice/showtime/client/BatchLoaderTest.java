@@ -0,0 +1,84 @@
+package com.microservice.showtime.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchLoaderTest {
+
+    private static Map<Long, String> titles(Set<Long> ids) {
+        Map<Long, String> titles = new HashMap<>();
+        for (Long id : ids) {
+            if (id < 100) {
+                titles.put(id, "Movie " + id);
+            }
+        }
+        return titles;
+    }
+
+    @Test
+    void testLoad_whenKeysArriveWithinTheWindowLoadsThemInOneCall() {
+        // Given
+        List<Set<Long>> calls = new CopyOnWriteArrayList<>();
+        try (BatchLoader<Long, String> batchLoader = new BatchLoader<>("test", Duration.ofMillis(50), 100, ids -> {
+            calls.add(Set.copyOf(ids));
+            return titles(ids);
+        })) {
+            // When
+            CompletableFuture<String> first = batchLoader.load(1L);
+            CompletableFuture<String> second = batchLoader.load(2L);
+            CompletableFuture<String> again = batchLoader.load(1L);
+            CompletableFuture<String> missing = batchLoader.load(500L);
+
+            // Then
+            assertEquals("Movie 1", first.join());
+            assertEquals("Movie 2", second.join());
+            assertSame(first, again);
+            assertNull(missing.join());
+            assertEquals(List.of(Set.of(1L, 2L, 500L)), calls);
+        }
+    }
+
+    @Test
+    void testLoad_whenBatchIsFullDispatchesWithoutWaitingForTheWindow() {
+        // Given
+        List<Set<Long>> calls = new CopyOnWriteArrayList<>();
+        try (BatchLoader<Long, String> batchLoader = new BatchLoader<>("test", Duration.ofMinutes(1), 2, ids -> {
+            calls.add(Set.copyOf(ids));
+            return titles(ids);
+        })) {
+            // When
+            CompletableFuture<String> first = batchLoader.load(1L);
+            CompletableFuture<String> second = batchLoader.load(2L);
+
+            // Then
+            assertEquals("Movie 1", first.join());
+            assertEquals("Movie 2", second.join());
+            assertEquals(List.of(Set.of(1L, 2L)), calls);
+        }
+    }
+
+    @Test
+    void testGet_whenLoadFailsEveryCallerOfTheBatchFails() {
+        // Given
+        try (BatchLoader<Long, String> batchLoader = new BatchLoader<>("test", Duration.ofMillis(10), 100, ids -> {
+            throw new IllegalStateException("movies is down");
+        })) {
+            // When
+            CompletableFuture<String> other = batchLoader.load(2L);
+
+            // Then
+            IllegalStateException exception = assertThrows(IllegalStateException.class, () -> batchLoader.get(1L));
+            assertEquals("movies is down", exception.getMessage());
+            assertTrue(other.isCompletedExceptionally());
+        }
+    }
+}
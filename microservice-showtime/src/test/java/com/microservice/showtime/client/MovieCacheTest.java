@@ -0,0 +1,208 @@
+package com.microservice.showtime.client;
+
+import com.microservice.showtime.dto.MovieResponseDTO;
+import com.microservice.showtime.exception.MovieNotFoundException;
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+public class MovieCacheTest {
+
+    @Mock
+    private MovieClient movieClient;
+
+    private final AtomicLong now = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private MovieCache movieCache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        movieCache = new MovieCache(movieClient, meterRegistry, 2, Duration.ofMinutes(5), Duration.ofHours(24),
+                Duration.ofMillis(1), 100, now::get, Runnable::run);
+        givenTitle("Heat");
+    }
+
+    @AfterEach
+    void tearDown() {
+        movieCache.close();
+    }
+
+    private void givenTitle(String title) {
+        when(movieClient.getMoviesByIds(anyCollection(), any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ResponseEntity.ok(ids.stream().filter(id -> id < 100).map(id -> movie(id, title)).toList());
+        });
+    }
+
+    private static MovieResponseDTO movie(Long idMovie, String title) {
+        MovieResponseDTO movie = new MovieResponseDTO();
+        movie.setIdMovie(idMovie.intValue());
+        movie.setTitle(title);
+        return movie;
+    }
+
+    private static FeignException notModified() {
+        Request request = Request.create(Request.HttpMethod.GET, "/movies/search-movies", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        return FeignException.errorStatus("MovieClient#getMoviesByIds", Response.builder()
+                .status(HttpStatus.NOT_MODIFIED.value())
+                .reason("Not Modified")
+                .request(request)
+                .headers(Map.of())
+                .build());
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    //-----Tests for the getMovieById method-----
+    @Test
+    void testGetMovieById_whenMovieIsCachedDoesNotCallMovies() {
+        // When
+        MovieResponseDTO first = movieCache.getMovieById(1L);
+        MovieResponseDTO second = movieCache.getMovieById(1L);
+
+        // Then
+        assertSame(first, second);
+        verify(movieClient, times(1)).getMoviesByIds(anyCollection(), any());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "movies").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void testGetMovieById_whenMovieDoesNotExist() {
+        // When & Then
+        assertThrows(MovieNotFoundException.class, () -> movieCache.getMovieById(500L));
+    }
+
+    @Test
+    void testGetMovieById_whenEntryIsPastRefreshAfterServesItAndReloadsInTheBackground() throws InterruptedException {
+        // Given
+        movieCache.getMovieById(1L);
+        givenTitle("Heat (Director's Cut)");
+        advance(Duration.ofMinutes(6));
+
+        // When
+        MovieResponseDTO stale = movieCache.getMovieById(1L);
+
+        // Then
+        assertEquals("Heat", stale.getTitle());
+        await(() -> movieCache.getMovieById(1L).getTitle().equals("Heat (Director's Cut)"));
+    }
+
+    @Test
+    void testGetMovieById_whenReloadIsWaitingForMoviesDoesNotBlockTheCacheExecutor() throws InterruptedException {
+        // Given
+        movieCache.getMovieById(1L);
+        CountDownLatch moviesAnswer = new CountDownLatch(1);
+        when(movieClient.getMoviesByIds(anyCollection(), any())).thenAnswer(invocation -> {
+            moviesAnswer.await();
+            return ResponseEntity.ok(List.of(movie(1L, "Heat (Director's Cut)")));
+        });
+        advance(Duration.ofMinutes(6));
+
+        // When
+        MovieResponseDTO stale = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> movieCache.getMovieById(1L));
+
+        // Then
+        assertEquals("Heat", stale.getTitle());
+        moviesAnswer.countDown();
+        await(() -> movieCache.getMovieById(1L).getTitle().equals("Heat (Director's Cut)"));
+    }
+
+    @Test
+    void testGetMovieById_whenReloadFailsKeepsTheCachedMovie() throws InterruptedException {
+        // Given
+        movieCache.getMovieById(1L);
+        when(movieClient.getMoviesByIds(anyCollection(), any())).thenThrow(new IllegalStateException("movies is down"));
+        advance(Duration.ofMinutes(6));
+
+        // When
+        MovieResponseDTO stale = movieCache.getMovieById(1L);
+
+        // Then
+        assertEquals("Heat", stale.getTitle());
+        await(() -> mockingDetails(movieClient).getInvocations().size() == 2);
+        assertEquals("Heat", movieCache.getMovieById(1L).getTitle());
+    }
+
+    @Test
+    void testGetMovieById_whenReloadedMoviesShareAnETagSendsItAndKeepsThemOnNotModified() throws InterruptedException {
+        // Given
+        String eTag = "\"7-1f\"";
+        doReturn(ResponseEntity.ok().eTag(eTag).body(List.of(movie(1L, "Heat"))))
+                .when(movieClient).getMoviesByIds(anyCollection(), isNull());
+        doThrow(notModified()).when(movieClient).getMoviesByIds(anyCollection(), eq(eTag));
+        MovieResponseDTO cached = movieCache.getMovieById(1L);
+        advance(Duration.ofMinutes(6));
+
+        // When
+        movieCache.getMovieById(1L);
+
+        // Then
+        await(() -> mockingDetails(movieClient).getInvocations().size() == 2);
+        verify(movieClient).getMoviesByIds(List.of(1L), eTag);
+        assertSame(cached, movieCache.getMovieById(1L));
+    }
+
+    @Test
+    void testGetMovieById_whenEntryIsPastExpireAfterLoadsItAgain() {
+        // Given
+        movieCache.getMovieById(1L);
+        givenTitle("Ran");
+        advance(Duration.ofHours(25));
+
+        // When
+        MovieResponseDTO reloaded = movieCache.getMovieById(1L);
+
+        // Then
+        assertEquals("Ran", reloaded.getTitle());
+    }
+
+    //-----Tests for the getMoviesByIds method-----
+    @Test
+    void testGetMoviesByIds_whenMoreMoviesThanTheMaximumSizeAreReadKeepsTheCacheBounded() {
+        // When
+        Map<Long, MovieResponseDTO> movies = movieCache.getMoviesByIds(List.of(1L, 2L, 3L, 4L));
+
+        // Then
+        assertEquals(4, movies.size());
+        assertTrue(meterRegistry.get("cache.size").tag("cache", "movies").gauge().value() <= 2);
+        assertTrue(meterRegistry.get("cache.evictions").tag("cache", "movies").functionCounter().count() >= 2);
+    }
+}
@@ -0,0 +1,64 @@
+package com.microservice.showtime.client;
+
+import com.microservice.showtime.dto.MovieChangeResponseDTO;
+import com.microservice.showtime.dto.MovieChangesResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+public class MovieChangeSubscriberTest {
+
+    @Mock
+    private MovieClient movieClient;
+
+    @Mock
+    private MovieCache movieCache;
+
+    private MovieChangeSubscriber movieChangeSubscriber;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        movieChangeSubscriber = new MovieChangeSubscriber(movieClient, movieCache, false, Duration.ofSeconds(5));
+    }
+
+    private static MovieChangesResponseDTO changes(long version, boolean resync, Long... idMovies) {
+        MovieChangesResponseDTO changes = new MovieChangesResponseDTO();
+        changes.setVersion(version);
+        changes.setResync(resync);
+        changes.setChanges(List.of(idMovies).stream().map(idMovie -> {
+            MovieChangeResponseDTO change = new MovieChangeResponseDTO();
+            change.setIdMovie(idMovie);
+            change.setType("UPDATED");
+            return change;
+        }).toList());
+        return changes;
+    }
+
+    @Test
+    void testApply_whenMoviesChangedEvictsOnlyThose() {
+        // When
+        movieChangeSubscriber.apply(changes(7, false, 1L, 2L));
+
+        // Then
+        verify(movieCache).invalidate(1L);
+        verify(movieCache).invalidate(2L);
+        verify(movieCache, never()).invalidateAll();
+    }
+
+    @Test
+    void testApply_whenFeedAsksForAResyncDropsTheWholeCache() {
+        // When
+        movieChangeSubscriber.apply(changes(9, true));
+
+        // Then
+        verify(movieCache).invalidateAll();
+        verify(movieCache, never()).invalidate(anyLong());
+    }
+}
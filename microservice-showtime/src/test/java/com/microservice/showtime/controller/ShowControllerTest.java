@@ -0,0 +1,232 @@
+package com.microservice.showtime.controller;
+
+import com.microservice.showtime.client.MovieCache;
+import com.microservice.showtime.client.MovieClient;
+import com.microservice.showtime.dto.MovieResponseDTO;
+import com.microservice.showtime.exception.GlobalExceptionHandler;
+import com.microservice.showtime.model.SeatEntity;
+import com.microservice.showtime.model.ShowEntity;
+import com.microservice.showtime.repository.SeatRepository;
+import com.microservice.showtime.repository.ShowRepository;
+import com.microservice.showtime.service.SeatEngine;
+import com.microservice.showtime.service.SeatHoldService;
+import com.microservice.showtime.service.SeatMapPublisher;
+import com.microservice.showtime.service.SeatStore;
+import com.microservice.showtime.service.ShowChangedEvent;
+import com.microservice.showtime.service.ShowScheduleIndex;
+import com.microservice.showtime.service.ShowService;
+import com.microservice.showtime.validation.SeatValidation;
+import com.microservice.showtime.validation.ShowValidation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class ShowControllerTest {
+
+    private static final Long ID_SHOW = 1L;
+
+    @Mock
+    private MovieClient movieClient;
+
+    @Mock
+    private MovieCache movieCache;
+
+    @Mock
+    private ShowRepository showRepository;
+
+    @Mock
+    private SeatRepository seatRepository;
+
+    @Mock
+    private SeatStore seatStore;
+
+    @Mock
+    private SeatMapPublisher seatMapPublisher;
+
+    @Mock
+    private ShowScheduleIndex showScheduleIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SeatHoldService seatHoldService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ShowEntity showEntity = new ShowEntity();
+        showEntity.setIdShow(ID_SHOW);
+        showEntity.setTotalSeats(3);
+        showEntity.setAvailableSeats(3);
+        when(showRepository.findById(ID_SHOW)).thenReturn(Optional.of(showEntity));
+        when(seatRepository.findByShowEntityIdShow(ID_SHOW)).thenReturn(List.of(seat("A1"), seat("A2"), seat("A3")));
+
+        SeatEngine seatEngine = new SeatEngine(showRepository, seatRepository, seatStore, seatMapPublisher, transactionManager);
+        ShowService showService = new ShowService(movieClient, movieCache, showRepository, seatRepository, seatEngine,
+                seatMapPublisher, showScheduleIndex, eventPublisher, new SeatValidation(), new ShowValidation(),
+                transactionManager);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ShowController(showService, seatRepository, seatHoldService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    private static SeatEntity seat(String seatNumber) {
+        SeatEntity seatEntity = new SeatEntity();
+        seatEntity.setSeatNumber(seatNumber);
+        return seatEntity;
+    }
+
+    private ResultActions reserve(Long idShow, String body) throws Exception {
+        return mockMvc.perform(post("/shows/{idShow}/reservations", idShow)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+    }
+
+    //-----Tests for the reserveSeats endpoint-----
+    @Test
+    void testReserveSeats_whenAllSeatsAreFreeReservesThemTogether() throws Exception {
+        // When & Then
+        reserve(ID_SHOW, "{\"seatNumbers\": [\"A1\", \"A2\"]}")
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.seatNumbers[0]").value("A1"))
+                .andExpect(jsonPath("$.seatNumbers[1]").value("A2"))
+                .andExpect(jsonPath("$.availableSeats").value(1));
+        verify(seatStore).reserve(ID_SHOW, List.of("A1", "A2"));
+    }
+
+    @Test
+    void testReserveSeats_whenSeatIsRepeatedReservesItOnce() throws Exception {
+        // When & Then
+        reserve(ID_SHOW, "{\"seatNumbers\": [\"A1\", \"A1\"]}")
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.seatNumbers.length()").value(1))
+                .andExpect(jsonPath("$.availableSeats").value(2));
+        verify(seatStore).reserve(ID_SHOW, List.of("A1"));
+    }
+
+    @Test
+    void testReserveSeats_whenShowDoesNotExist() throws Exception {
+        // Given
+        when(showRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // When & Then
+        reserve(99L, "{\"seatNumbers\": [\"A1\"]}")
+                .andExpect(status().isNotFound());
+        verify(seatStore, never()).reserve(anyLong(), anyList());
+    }
+
+    @Test
+    void testReserveSeats_whenSeatListIsEmpty() throws Exception {
+        // When & Then
+        reserve(ID_SHOW, "{\"seatNumbers\": []}")
+                .andExpect(status().isBadRequest());
+        reserve(ID_SHOW, "{}")
+                .andExpect(status().isBadRequest());
+        verify(seatStore, never()).reserve(anyLong(), anyList());
+    }
+
+    @Test
+    void testReserveSeats_whenSeatDoesNotExistReservesNothing() throws Exception {
+        // When & Then
+        reserve(ID_SHOW, "{\"seatNumbers\": [\"A1\", \"Z9\"]}")
+                .andExpect(status().isNotFound());
+        reserve(ID_SHOW, "{\"seatNumbers\": [\"A1\"]}")
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void testReserveSeats_whenSeatIsAlreadyTaken() throws Exception {
+        // Given
+        reserve(ID_SHOW, "{\"seatNumbers\": [\"A2\"]}")
+                .andExpect(status().isCreated());
+
+        // When & Then
+        reserve(ID_SHOW, "{\"seatNumbers\": [\"A1\", \"A2\"]}")
+                .andExpect(status().isConflict());
+        reserve(ID_SHOW, "{\"seatNumbers\": [\"A1\", \"A3\"]}")
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.availableSeats").value(0));
+    }
+
+    //-----Tests for the deleteShow endpoint-----
+    @Test
+    void testDeleteShow_whenShowExistsLeavesTheSeatMapToTheCommit() throws Exception {
+        // Given
+        when(showRepository.existsById(ID_SHOW)).thenReturn(true);
+
+        // When & Then
+        mockMvc.perform(delete("/shows/{idShow}", ID_SHOW))
+                .andExpect(status().isNoContent());
+        verify(eventPublisher).publishEvent(new ShowChangedEvent(ID_SHOW, null));
+        verify(seatMapPublisher, never()).close(ID_SHOW);
+    }
+
+    //-----Tests for the getAllMovies endpoint-----
+    @Test
+    void testGetAllMovies_whenMoviesAnswersRelaysThePageAndItsETag() throws Exception {
+        // Given
+        MovieResponseDTO movie = new MovieResponseDTO();
+        movie.setIdMovie(1);
+        movie.setTitle("Heat");
+        when(movieClient.getAllMovies(eq(0), eq(10), isNull()))
+                .thenReturn(ResponseEntity.ok().eTag("\"7-1f\"").body(new PageImpl<>(List.of(movie))));
+
+        // When & Then
+        mockMvc.perform(get("/shows/movies"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7-1f\""))
+                .andExpect(jsonPath("$.content[0].title").value("Heat"));
+    }
+
+    @Test
+    void testGetAllMovies_whenClientCopyIsCurrentRelaysNotModified() throws Exception {
+        // Given
+        Request request = Request.create(Request.HttpMethod.GET, "/movies/all-movies", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        when(movieClient.getAllMovies(0, 10, "\"7-1f\"")).thenThrow(FeignException.errorStatus("MovieClient#getAllMovies",
+                Response.builder().status(HttpStatus.NOT_MODIFIED.value()).reason("Not Modified").request(request)
+                        .headers(Map.of()).build()));
+
+        // When & Then
+        mockMvc.perform(get("/shows/movies").header(HttpHeaders.IF_NONE_MATCH, "\"7-1f\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7-1f\""));
+    }
+}
@@ -0,0 +1,174 @@
+package com.microservice.showtime.repository;
+
+import com.microservice.showtime.model.ShowEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.jpa.database=h2",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+public class ShowRepositoryTest {
+
+    @Autowired
+    private ShowRepository showRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ShowEntity createShow(int totalSeats) {
+        ShowEntity showEntity = new ShowEntity();
+        showEntity.setIdMovie(1L);
+        showEntity.setShowtime(LocalDateTime.now().plusDays(1));
+        showEntity.setTotalSeats(totalSeats);
+        showEntity.setAvailableSeats(totalSeats);
+        return showRepository.save(showEntity);
+    }
+
+    @Test
+    void testReserveSeats_whenNotEnoughSeatsAreLeft() {
+        // Given
+        ShowEntity showEntity = createShow(2);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // When
+        Integer updated = transactionTemplate.execute(status -> showRepository.reserveSeats(showEntity.getIdShow(), 3));
+
+        // Then
+        assertEquals(0, updated);
+        assertEquals(2, showRepository.findById(showEntity.getIdShow()).orElseThrow().getAvailableSeats());
+    }
+
+    @Test
+    void testReserveSeats_whenThousandsOfBookingsRaceTheCountNeverGoesNegative() throws InterruptedException {
+        // Given
+        ShowEntity showEntity = createShow(300);
+        Long idShow = showEntity.getIdShow();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger bookedSeats = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+
+        // When
+        for (int i = 0; i < 5_000; i++) {
+            executor.execute(() -> {
+                int seats = ThreadLocalRandom.current().nextInt(1, 5);
+                try {
+                    start.await();
+                    Integer updated = transactionTemplate.execute(status -> showRepository.reserveSeats(idShow, seats));
+                    if (updated != null && updated == 1) {
+                        bookedSeats.addAndGet(seats);
+                    } else {
+                        rejected.incrementAndGet();
+                    }
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES));
+
+        // Then
+        int availableSeats = showRepository.findById(idShow).orElseThrow().getAvailableSeats();
+        assertTrue(availableSeats >= 0);
+        assertTrue(availableSeats < 4);
+        assertEquals(300 - bookedSeats.get(), availableSeats);
+        assertTrue(rejected.get() > 0);
+    }
+
+    @Test
+    void testApplyJournal_whenDeltaLeavesTheSeatRangeCapsTheCount() {
+        // Given
+        ShowEntity showEntity = createShow(10);
+        Long idShow = showEntity.getIdShow();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // When
+        Integer overbooked = transactionTemplate.execute(status -> showRepository.applyJournal(idShow, -15, 1));
+        int afterOverbooking = showRepository.findById(idShow).orElseThrow().getAvailableSeats();
+        Integer overreleased = transactionTemplate.execute(status -> showRepository.applyJournal(idShow, 25, 2));
+
+        // Then
+        assertEquals(1, overbooked);
+        assertEquals(0, afterOverbooking);
+        assertEquals(1, overreleased);
+        assertEquals(10, showRepository.findById(idShow).orElseThrow().getAvailableSeats());
+    }
+
+    @Test
+    void testApplyJournal_whenSequenceWasAlreadyAppliedSkipsIt() {
+        // Given
+        ShowEntity showEntity = createShow(10);
+        Long idShow = showEntity.getIdShow();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.execute(status -> showRepository.applyJournal(idShow, -2, 5_000_000));
+
+        // When
+        Integer replayed = transactionTemplate.execute(status -> showRepository.applyJournal(idShow, -2, 5_000_000));
+
+        // Then
+        assertEquals(0, replayed);
+        assertEquals(8, showRepository.findById(idShow).orElseThrow().getAvailableSeats());
+        assertEquals(5_000_000, showRepository.findMaxJournalSequence());
+    }
+
+    @Test
+    void testSave_whenShowIsUpdatedItKeepsTheGuardedSeatCount() {
+        // Given
+        ShowEntity showEntity = createShow(100);
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> showRepository.reserveSeats(showEntity.getIdShow(), 10));
+
+        // When
+        showEntity.setShowtime(showEntity.getShowtime().plusHours(2));
+        ShowEntity updated = showRepository.save(showEntity);
+
+        // Then
+        assertEquals(1, updated.getVersion());
+        assertEquals(90, showRepository.findById(showEntity.getIdShow()).orElseThrow().getAvailableSeats());
+    }
+
+    @Test
+    void testFindByIdMovieAndShowtime_whenShowsSpanSeveralDaysReturnsTheRangeInOrder() {
+        // Given
+        LocalDateTime monday = LocalDateTime.of(2099, 6, 1, 0, 0);
+        for (LocalDateTime showtime : List.of(monday.plusDays(2).plusHours(20), monday.plusHours(18), monday.plusDays(8))) {
+            ShowEntity showEntity = new ShowEntity();
+            showEntity.setIdMovie(99L);
+            showEntity.setShowtime(showtime);
+            showEntity.setTotalSeats(50);
+            showEntity.setAvailableSeats(50);
+            showRepository.save(showEntity);
+        }
+
+        // When
+        List<ShowEntity> shows = showRepository.findByIdMovieAndShowtimeGreaterThanEqualAndShowtimeBeforeOrderByShowtime(
+                99L, monday, monday.plusDays(7));
+
+        // Then
+        assertEquals(List.of(monday.plusHours(18), monday.plusDays(2).plusHours(20)),
+                shows.stream().map(ShowEntity::getShowtime).toList());
+    }
+}
@@ -0,0 +1,124 @@
+package com.microservice.showtime.service;
+
+import com.microservice.showtime.model.ShowEntity;
+import com.microservice.showtime.repository.SeatRepository;
+import com.microservice.showtime.repository.ShowRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.jpa.database=h2",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+public class JournaledSeatStoreTest {
+
+    private static final DataSize JOURNAL_SIZE = DataSize.ofKilobytes(64);
+
+    @Autowired
+    private ShowRepository showRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Path path;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        path = Files.createTempFile("seat-journal", ".log");
+        Files.delete(path);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    private ShowEntity createShow(int totalSeats) {
+        ShowEntity showEntity = new ShowEntity();
+        showEntity.setIdMovie(1L);
+        showEntity.setShowtime(LocalDateTime.now().plusDays(1));
+        showEntity.setTotalSeats(totalSeats);
+        showEntity.setAvailableSeats(totalSeats);
+        return showRepository.save(showEntity);
+    }
+
+    private int availableSeats(Long idShow) {
+        return showRepository.findById(idShow).orElseThrow().getAvailableSeats();
+    }
+
+    @Test
+    void testReplay_whenBatchWasCommittedButNotMarkedAppliesOnlyTheNewEntries() throws IOException {
+        // Given
+        Long idShow = createShow(10).getIdShow();
+        try (SeatJournal journal = SeatJournal.open(path, Math.toIntExact(JOURNAL_SIZE.toBytes()))) {
+            journal.append(idShow, SeatJournal.Operation.RESERVE, List.of("A1", "A2"));
+            journal.sync(journal.append(idShow, SeatJournal.Operation.HOLD, List.of("B1")));
+        }
+        // the batch up to sequence 2 commits, then the process dies before the journal marks it as flushed
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> showRepository.applyJournal(idShow, -3, 2));
+        try (SeatJournal journal = SeatJournal.open(path, Math.toIntExact(JOURNAL_SIZE.toBytes()))) {
+            journal.append(idShow, SeatJournal.Operation.RELEASE, List.of("B1"));
+            journal.sync(journal.append(idShow, SeatJournal.Operation.HOLD, List.of("C1", "C2")));
+        }
+
+        // When
+        JournaledSeatStore store = new JournaledSeatStore(showRepository, seatRepository, transactionManager,
+                path.toString(), JOURNAL_SIZE, 500);
+        try {
+            store.replay();
+
+            // Then
+            assertEquals(6, availableSeats(idShow));
+            assertEquals(4, showRepository.findById(idShow).orElseThrow().getJournalSequence());
+        } finally {
+            store.close();
+        }
+    }
+
+    @Test
+    void testReplay_whenEveryEntryWasAlreadyAppliedLeavesTheShowAlone() throws IOException {
+        // Given
+        Long idShow = createShow(10).getIdShow();
+        try (SeatJournal journal = SeatJournal.open(path, Math.toIntExact(JOURNAL_SIZE.toBytes()))) {
+            journal.sync(journal.append(idShow, SeatJournal.Operation.RESERVE, List.of("A1", "A2")));
+        }
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> showRepository.applyJournal(idShow, -2, 1));
+
+        // When
+        JournaledSeatStore store = new JournaledSeatStore(showRepository, seatRepository, transactionManager,
+                path.toString(), JOURNAL_SIZE, 500);
+        try {
+            store.replay();
+
+            // Then
+            assertEquals(8, availableSeats(idShow));
+            assertEquals(1, showRepository.findById(idShow).orElseThrow().getJournalSequence());
+        } finally {
+            store.close();
+        }
+    }
+}
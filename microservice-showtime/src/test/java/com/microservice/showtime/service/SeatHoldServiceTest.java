@@ -0,0 +1,156 @@
+package com.microservice.showtime.service;
+
+import com.microservice.showtime.dto.HoldResponseDTO;
+import com.microservice.showtime.dto.SeatState;
+import com.microservice.showtime.exception.HoldNotFoundException;
+import com.microservice.showtime.model.SeatEntity;
+import com.microservice.showtime.model.ShowEntity;
+import com.microservice.showtime.repository.SeatRepository;
+import com.microservice.showtime.repository.ShowRepository;
+import com.microservice.showtime.validation.SeatValidation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+public class SeatHoldServiceTest {
+
+    private static final Long ID_SHOW = 1L;
+
+    @Mock
+    private ShowRepository showRepository;
+
+    @Mock
+    private SeatRepository seatRepository;
+
+    @Mock
+    private SeatStore seatStore;
+
+    @Mock
+    private SeatMapPublisher seatMapPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SeatEngine seatEngine;
+    private SeatHoldService seatHoldService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ShowEntity showEntity = new ShowEntity();
+        showEntity.setIdShow(ID_SHOW);
+        showEntity.setTotalSeats(3);
+        showEntity.setAvailableSeats(3);
+        when(showRepository.findById(ID_SHOW)).thenReturn(Optional.of(showEntity));
+        when(seatRepository.findByShowEntityIdShow(ID_SHOW)).thenReturn(List.of(seat("A1"), seat("A2"), seat("A3")));
+
+        seatEngine = new SeatEngine(showRepository, seatRepository, seatStore, seatMapPublisher, transactionManager);
+        seatHoldService = new SeatHoldService(seatEngine, new SeatValidation(), Duration.ofMinutes(10), Duration.ofMillis(100));
+    }
+
+    @AfterEach
+    void tearDown() {
+        seatHoldService.stop();
+    }
+
+    private static SeatEntity seat(String seatNumber) {
+        SeatEntity seatEntity = new SeatEntity();
+        seatEntity.setSeatNumber(seatNumber);
+        return seatEntity;
+    }
+
+    private boolean isTaken(String seatNumber) {
+        SeatMap seatMap = seatEngine.seatMap(ID_SHOW);
+        return seatMap.isTaken(seatMap.indexOf(seatNumber));
+    }
+
+    //-----Tests for the release method-----
+    @Test
+    void testRelease_whenHoldIsReleasedWritesTheStoreBeforeFreeingTheSeats() {
+        // Given
+        HoldResponseDTO hold = seatHoldService.hold(ID_SHOW, List.of("A1", "A2"));
+        AtomicBoolean takenWhileStoring = new AtomicBoolean();
+        doAnswer(invocation -> {
+            takenWhileStoring.set(isTaken("A1") && isTaken("A2"));
+            return null;
+        }).when(seatStore).release(anyMap());
+
+        // When
+        seatHoldService.release(ID_SHOW, hold.getIdHold());
+
+        // Then
+        assertTrue(takenWhileStoring.get());
+        assertFalse(isTaken("A1"));
+        assertFalse(isTaken("A2"));
+        verify(seatStore).release(Map.of(ID_SHOW, List.of("A1", "A2")));
+        verify(seatMapPublisher).publish(ID_SHOW, List.of("A1", "A2"), SeatState.FREE);
+    }
+
+    @Test
+    void testRelease_whenStoreFailsKeepsTheSeatsTaken() {
+        // Given
+        HoldResponseDTO hold = seatHoldService.hold(ID_SHOW, List.of("A1"));
+        doThrow(new IllegalStateException("database down")).when(seatStore).release(anyMap());
+
+        // When
+        assertThrows(IllegalStateException.class, () -> seatHoldService.release(ID_SHOW, hold.getIdHold()));
+
+        // Then
+        assertTrue(isTaken("A1"));
+        verify(seatMapPublisher, never()).publish(ID_SHOW, List.of("A1"), SeatState.FREE);
+    }
+
+    @Test
+    void testRelease_whenHoldWasAlreadyReleased() {
+        // Given
+        HoldResponseDTO hold = seatHoldService.hold(ID_SHOW, List.of("A1"));
+        seatHoldService.release(ID_SHOW, hold.getIdHold());
+
+        // When & Then
+        assertThrows(HoldNotFoundException.class, () -> seatHoldService.release(ID_SHOW, hold.getIdHold()));
+        verify(seatStore, times(1)).release(anyMap());
+    }
+
+    //-----Tests for the confirm method-----
+    @Test
+    void testConfirm_whenHoldIsActiveMarksTheSeatsReserved() {
+        // Given
+        HoldResponseDTO hold = seatHoldService.hold(ID_SHOW, List.of("A3"));
+
+        // When
+        seatHoldService.confirm(ID_SHOW, hold.getIdHold());
+
+        // Then
+        SeatMap seatMap = seatEngine.seatMap(ID_SHOW);
+        assertTrue(seatMap.isReserved(seatMap.indexOf("A3")));
+        verify(seatStore).confirm(ID_SHOW, List.of("A3"));
+        assertThrows(HoldNotFoundException.class, () -> seatHoldService.release(ID_SHOW, hold.getIdHold()));
+    }
+
+    @Test
+    void testConfirm_whenStoreFailsReleasesTheHold() {
+        // Given
+        HoldResponseDTO hold = seatHoldService.hold(ID_SHOW, List.of("A2"));
+        doThrow(new IllegalStateException("database down")).when(seatStore).confirm(ID_SHOW, List.of("A2"));
+
+        // When
+        assertThrows(IllegalStateException.class, () -> seatHoldService.confirm(ID_SHOW, hold.getIdHold()));
+
+        // Then
+        assertFalse(isTaken("A2"));
+        verify(seatStore).release(Map.of(ID_SHOW, List.of("A2")));
+    }
+}
@@ -0,0 +1,145 @@
+package com.microservice.showtime.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SeatJournalTest {
+
+    private static final int CAPACITY = 4096;
+
+    private Path path;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        path = Files.createTempFile("seat-journal", ".log");
+        Files.delete(path);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    void testOpen_whenEntriesWereNotFlushedReplaysThemInOrder() throws IOException {
+        // Given
+        try (SeatJournal journal = SeatJournal.open(path, CAPACITY)) {
+            journal.append(1L, SeatJournal.Operation.RESERVE, List.of("A1", "A2"));
+            journal.append(2L, SeatJournal.Operation.HOLD, List.of("B7"));
+            journal.sync(journal.append(1L, SeatJournal.Operation.RELEASE, List.of("A3")));
+            journal.markFlushed(1);
+        }
+
+        // When
+        try (SeatJournal journal = SeatJournal.open(path, CAPACITY)) {
+            List<SeatJournal.Entry> pending = journal.pending(10);
+
+            // Then
+            assertEquals(2, pending.size());
+            assertEquals(new SeatJournal.Entry(2, 2L, SeatJournal.Operation.HOLD, List.of("B7")), pending.get(0));
+            assertEquals(new SeatJournal.Entry(3, 1L, SeatJournal.Operation.RELEASE, List.of("A3")), pending.get(1));
+            assertEquals(4, journal.append(3L, SeatJournal.Operation.CONFIRM, List.of("C1")));
+        }
+    }
+
+    @Test
+    void testMarkFlushed_whenNothingIsPendingRewindsTheLog() throws IOException {
+        // Given
+        try (SeatJournal journal = SeatJournal.open(path, CAPACITY)) {
+            long last = 0;
+            for (int i = 0; i < 1_000; i++) {
+                last = journal.append(1L, SeatJournal.Operation.HOLD, List.of("A" + i));
+                journal.markFlushed(last);
+            }
+            journal.sync(last);
+
+            // When & Then
+            assertFalse(journal.hasPending());
+        }
+        try (SeatJournal journal = SeatJournal.open(path, CAPACITY)) {
+            assertTrue(journal.pending(10).isEmpty());
+            assertEquals(1_001, journal.append(1L, SeatJournal.Operation.HOLD, List.of("A1")));
+        }
+    }
+
+    @Test
+    void testAppend_whenEntriesAreAlwaysPendingWrapsAroundTheFile() throws IOException {
+        // Given
+        List<Long> window = List.of(996L, 997L, 998L, 999L, 1_000L);
+        try (SeatJournal journal = SeatJournal.open(path, CAPACITY)) {
+            // When
+            for (int i = 1; i <= 1_000; i++) {
+                long sequence = journal.append(1L, SeatJournal.Operation.HOLD, List.of("A" + i));
+                if (sequence > window.size()) {
+                    journal.markFlushed(sequence - window.size());
+                }
+            }
+            journal.sync(journal.lastSequence());
+
+            // Then
+            assertEquals(window, journal.pending(10).stream().map(SeatJournal.Entry::sequence).toList());
+        }
+        try (SeatJournal journal = SeatJournal.open(path, CAPACITY)) {
+            List<SeatJournal.Entry> pending = journal.pending(10);
+            assertEquals(window, pending.stream().map(SeatJournal.Entry::sequence).toList());
+            assertEquals(List.of("A996"), pending.get(0).seatNumbers());
+            assertEquals(1_001, journal.append(1L, SeatJournal.Operation.HOLD, List.of("A1")));
+        }
+    }
+
+    @Test
+    void testAdvanceTo_whenJournalWasRecreatedContinuesAfterTheDatabase() throws IOException {
+        // Given
+        try (SeatJournal journal = SeatJournal.open(path, CAPACITY)) {
+            journal.sync(journal.append(1L, SeatJournal.Operation.HOLD, List.of("A1")));
+
+            // When
+            boolean behind = journal.advanceTo(500);
+            boolean ahead = journal.advanceTo(20);
+
+            // Then
+            assertTrue(behind);
+            assertFalse(ahead);
+            assertEquals(500, journal.lastSequence());
+            assertEquals(501, journal.append(2L, SeatJournal.Operation.RESERVE, List.of("B2")));
+            assertEquals(List.of(1L, 501L), journal.pending(10).stream().map(SeatJournal.Entry::sequence).toList());
+        }
+    }
+
+    @Test
+    void testAdvanceTo_whenNothingIsPendingMovesTheCheckpoint() throws IOException {
+        // Given
+        try (SeatJournal journal = SeatJournal.open(path, CAPACITY)) {
+            // When
+            journal.advanceTo(300);
+
+            // Then
+            assertEquals(300, journal.checkpoint());
+        }
+        try (SeatJournal journal = SeatJournal.open(path, CAPACITY)) {
+            assertEquals(301, journal.append(1L, SeatJournal.Operation.HOLD, List.of("A1")));
+        }
+    }
+
+    @Test
+    void testAppend_whenJournalIsFull() throws IOException {
+        // Given
+        try (SeatJournal journal = SeatJournal.open(path, CAPACITY)) {
+            // When & Then
+            assertThrows(IllegalStateException.class, () -> {
+                for (int i = 0; i < CAPACITY; i++) {
+                    journal.append(1L, SeatJournal.Operation.HOLD, List.of("A" + i));
+                }
+            });
+            assertEquals(10, journal.pending(10).size());
+        }
+    }
+}
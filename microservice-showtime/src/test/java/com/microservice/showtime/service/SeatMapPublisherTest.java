@@ -0,0 +1,190 @@
+package com.microservice.showtime.service;
+
+import com.microservice.showtime.dto.SeatMapDeltaDTO;
+import com.microservice.showtime.dto.SeatMapSnapshotDTO;
+import com.microservice.showtime.dto.SeatState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SeatMapPublisherTest {
+
+    private final Queue<RecordingEmitter> emitters = new ArrayDeque<>();
+    private SeatMapPublisher seatMapPublisher;
+    private SeatMap seatMap;
+
+    @BeforeEach
+    void setUp() {
+        seatMapPublisher = new SeatMapPublisher(Duration.ofMinutes(30), Duration.ofMillis(200)) {
+            @Override
+            SseEmitter createEmitter(long timeout) {
+                return emitters.remove();
+            }
+        };
+        seatMap = SeatMap.of(SeatMapTest.auditorium(1, 4));
+    }
+
+    @AfterEach
+    void tearDown() {
+        seatMapPublisher.stop();
+    }
+
+    private RecordingEmitter subscribe(Long idShow, RecordingEmitter emitter) {
+        emitters.add(emitter);
+        assertSame(emitter, seatMapPublisher.subscribe(idShow, seatMap));
+        return emitter;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    //-----Tests for the subscribe method-----
+    @Test
+    void testSubscribe_whenSeatsAreTakenSendsThemAsTheSnapshot() throws InterruptedException {
+        // Given
+        int[] reserved = {seatMap.indexOf("A1")};
+        seatMap.tryTakeAll(reserved);
+        seatMap.markReserved(reserved);
+        seatMap.tryTake(seatMap.indexOf("A2"));
+
+        // When
+        RecordingEmitter emitter = subscribe(1L, new RecordingEmitter());
+
+        // Then
+        await(() -> emitter.payloads.size() == 1);
+        SeatMapSnapshotDTO snapshot = assertInstanceOf(SeatMapSnapshotDTO.class, emitter.payloads.get(0));
+        assertEquals(List.of("A1"), snapshot.getReservedSeats());
+        assertEquals(List.of("A2"), snapshot.getHeldSeats());
+        assertEquals(2, snapshot.getAvailableSeats());
+    }
+
+    @Test
+    void testSubscribe_whenChangesArePendingSendsTheSnapshotFirst() throws InterruptedException {
+        // Given
+        RecordingEmitter first = subscribe(1L, new RecordingEmitter());
+        seatMapPublisher.publish(1L, List.of("A3"), SeatState.HELD);
+
+        // When
+        RecordingEmitter second = subscribe(1L, new RecordingEmitter());
+        seatMapPublisher.flush();
+
+        // Then
+        await(() -> first.payloads.size() == 2 && second.payloads.size() == 2);
+        assertInstanceOf(SeatMapSnapshotDTO.class, second.payloads.get(0));
+        assertInstanceOf(SeatMapDeltaDTO.class, second.payloads.get(1));
+    }
+
+    //-----Tests for the flush method-----
+    @Test
+    void testFlush_whenSeatChangesSeveralTimesSendsOnlyTheLatestState() throws InterruptedException {
+        // Given
+        RecordingEmitter emitter = subscribe(1L, new RecordingEmitter());
+        seatMapPublisher.publish(1L, List.of("A1", "A2"), SeatState.HELD);
+        seatMapPublisher.publish(1L, List.of("A1"), SeatState.RESERVED);
+        seatMapPublisher.publish(2L, List.of("A4"), SeatState.HELD);
+
+        // When
+        seatMapPublisher.flush();
+        seatMapPublisher.flush();
+
+        // Then
+        await(() -> emitter.payloads.size() == 2);
+        SeatMapDeltaDTO delta = assertInstanceOf(SeatMapDeltaDTO.class, emitter.payloads.get(1));
+        assertEquals(Map.of("A1", SeatState.RESERVED, "A2", SeatState.HELD), delta.getSeats());
+        Thread.sleep(50);
+        assertEquals(2, emitter.payloads.size());
+    }
+
+    @Test
+    void testFlush_whenSubscriberIsSlowDropsItWithoutHoldingUpOtherShows() throws InterruptedException {
+        // Given
+        RecordingEmitter slow = subscribe(1L, new RecordingEmitter());
+        RecordingEmitter fast = subscribe(2L, new RecordingEmitter());
+        await(() -> slow.payloads.size() == 1 && fast.payloads.size() == 1);
+        slow.block = new CountDownLatch(1);
+
+        // When
+        seatMapPublisher.publish(1L, List.of("A1"), SeatState.HELD);
+        seatMapPublisher.publish(2L, List.of("A1"), SeatState.HELD);
+        seatMapPublisher.flush();
+
+        // Then
+        await(() -> fast.payloads.size() == 2);
+        await(() -> slow.failure != null);
+        assertNull(fast.failure);
+        slow.block.countDown();
+        await(() -> slow.payloads.size() == 2);
+        seatMapPublisher.publish(1L, List.of("A2"), SeatState.HELD);
+        seatMapPublisher.flush();
+        Thread.sleep(50);
+        assertEquals(2, slow.payloads.size());
+    }
+
+    //-----Tests for the close method-----
+    @Test
+    void testClose_whenShowIsEvictedCompletesItsStreams() throws InterruptedException {
+        // Given
+        RecordingEmitter emitter = subscribe(1L, new RecordingEmitter());
+
+        // When
+        seatMapPublisher.close(1L);
+        seatMapPublisher.publish(1L, List.of("A1"), SeatState.HELD);
+        seatMapPublisher.flush();
+
+        // Then
+        await(() -> emitter.completed);
+        assertEquals(1, emitter.payloads.size());
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<Object> payloads = new CopyOnWriteArrayList<>();
+        private volatile CountDownLatch block;
+        private volatile Throwable failure;
+        private volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            CountDownLatch latch = block;
+            if (latch != null) {
+                try {
+                    latch.await();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            builder.build().stream()
+                    .map(DataWithMediaType::getData)
+                    .filter(data -> !(data instanceof String))
+                    .forEach(payloads::add);
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        @Override
+        public void completeWithError(Throwable exception) {
+            failure = exception;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.microservice.showtime.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SeatMapSnapshotTest {
+
+    private Path path;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        path = Files.createTempFile("seat-maps", ".snapshot");
+        Files.delete(path);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    void testRead_whenSnapshotWasWrittenRestoresTheReservedSeats() throws IOException {
+        // Given
+        SeatMap seatMap = SeatMap.of(SeatMapTest.auditorium(4, 70));
+        int[] seats = {seatMap.indexOf("A1"), seatMap.indexOf("B70"), seatMap.indexOf("D12")};
+        seatMap.tryTakeAll(seats);
+        seatMap.markReserved(seats);
+        SeatMapSnapshot.write(path, 42, Map.of(7L, seatMap, 8L, SeatMap.of(SeatMapTest.auditorium(1, 3))));
+
+        // When
+        SeatMapSnapshot.Snapshot snapshot = SeatMapSnapshot.read(path);
+
+        // Then
+        assertEquals(42, snapshot.sequence());
+        assertEquals(2, snapshot.seatMaps().size());
+        SeatMap restored = snapshot.seatMaps().get(7L);
+        assertEquals(277, restored.available());
+        assertEquals(0, restored.held());
+        assertTrue(restored.isReserved(restored.indexOf("B70")));
+        assertFalse(restored.tryTake(restored.indexOf("D12")));
+        assertEquals(3, snapshot.seatMaps().get(8L).available());
+    }
+
+    @Test
+    void testRead_whenSnapshotIsMissing() throws IOException {
+        // When & Then
+        assertNull(SeatMapSnapshot.read(path));
+    }
+
+    @Test
+    void testRead_whenSnapshotIsCorrupted() throws IOException {
+        // Given
+        SeatMap seatMap = SeatMap.of(SeatMapTest.auditorium(2, 10));
+        seatMap.tryTake(seatMap.indexOf("A5"));
+        SeatMapSnapshot.write(path, 1, Map.of(1L, seatMap));
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 12] ^= 1;
+        Files.write(path, bytes);
+
+        // When & Then
+        assertThrows(IOException.class, () -> SeatMapSnapshot.read(path));
+    }
+}
@@ -0,0 +1,192 @@
+package com.microservice.showtime.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SeatMapTest {
+
+    static List<String> auditorium(int rows, int seatsPerRow) {
+        List<String> seatNumbers = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            for (int seat = 1; seat <= seatsPerRow; seat++) {
+                seatNumbers.add((char) ('A' + row) + String.valueOf(seat));
+            }
+        }
+        return seatNumbers;
+    }
+
+    @Test
+    void testOf_whenSeatNumbersAreGivenCountsEverySeatAsAvailable() {
+        // Given
+        SeatMap seatMap = SeatMap.of(auditorium(15, 20));
+
+        // Then
+        assertEquals(300, seatMap.capacity());
+        assertEquals(300, seatMap.available());
+        assertEquals(-1, seatMap.indexOf("Z99"));
+    }
+
+    @Test
+    void testTryTake_whenSeatIsAlreadyTaken() {
+        // Given
+        SeatMap seatMap = SeatMap.of(auditorium(2, 10));
+        int index = seatMap.indexOf("B7");
+
+        // When & Then
+        assertTrue(seatMap.tryTake(index));
+        assertFalse(seatMap.tryTake(index));
+        assertEquals("B7", seatMap.seatNumber(index));
+        assertEquals(19, seatMap.available());
+    }
+
+    @Test
+    void testRelease_whenSeatIsTakenMakesItAvailableAgain() {
+        // Given
+        SeatMap seatMap = SeatMap.of(auditorium(1, 5));
+        int index = seatMap.indexOf("A3");
+        seatMap.tryTake(index);
+
+        // When & Then
+        assertTrue(seatMap.release(index));
+        assertFalse(seatMap.release(index));
+        assertEquals(5, seatMap.available());
+    }
+
+    @Test
+    void testTryTakeAll_whenOneSeatIsTakenTakesNoneOfThem() {
+        // Given
+        SeatMap seatMap = SeatMap.of(auditorium(3, 70));
+        int[] seats = {seatMap.indexOf("A1"), seatMap.indexOf("A70"), seatMap.indexOf("B5"), seatMap.indexOf("C3")};
+        seatMap.tryTake(seatMap.indexOf("C3"));
+
+        // When
+        boolean taken = seatMap.tryTakeAll(seats);
+
+        // Then
+        assertFalse(taken);
+        assertFalse(seatMap.isTaken(seatMap.indexOf("A1")));
+        assertFalse(seatMap.isTaken(seatMap.indexOf("A70")));
+        assertFalse(seatMap.isTaken(seatMap.indexOf("B5")));
+        assertEquals(209, seatMap.available());
+    }
+
+    @Test
+    void testTryTakeAll_whenSeatsAreFreeTakesAllOfThem() {
+        // Given
+        SeatMap seatMap = SeatMap.of(auditorium(3, 70));
+        int[] seats = {seatMap.indexOf("A1"), seatMap.indexOf("A70"), seatMap.indexOf("B5")};
+
+        // When & Then
+        assertTrue(seatMap.tryTakeAll(seats));
+        assertEquals(207, seatMap.available());
+        seatMap.releaseAll(seats);
+        assertEquals(210, seatMap.available());
+    }
+
+    @Test
+    void testReleaseAll_whenSeatsWereReservedClearsTheReservation() {
+        // Given
+        SeatMap seatMap = SeatMap.of(auditorium(1, 10));
+        int[] seats = {seatMap.indexOf("A1"), seatMap.indexOf("A2")};
+        seatMap.tryTakeAll(seats);
+        seatMap.markReserved(seats);
+
+        // When
+        boolean released = seatMap.releaseAll(seats);
+
+        // Then
+        assertTrue(released);
+        assertFalse(seatMap.isReserved(seats[0]));
+        assertFalse(seatMap.isReserved(seats[1]));
+        assertArrayEquals(new long[seatMap.reservedWords().length], seatMap.reservedWords());
+        assertEquals(0, seatMap.held());
+        assertFalse(seatMap.releaseAll(seats));
+    }
+
+    @Test
+    void testFindBestAvailable_whenHallIsEmptyPicksTheCentreOfTheMiddleRow() {
+        // Given
+        SeatMap seatMap = SeatMap.of(auditorium(5, 10));
+
+        // When
+        int start = seatMap.findBestAvailable(4);
+
+        // Then
+        assertEquals("C4", seatMap.seatNumber(start));
+    }
+
+    @Test
+    void testFindBestAvailable_whenCentreIsTakenPicksTheClosestRun() {
+        // Given
+        SeatMap seatMap = SeatMap.of(auditorium(3, 100));
+        for (int seat = 30; seat <= 70; seat++) {
+            seatMap.tryTake(seatMap.indexOf("B" + seat));
+        }
+        for (String seatNumber : List.of("A49", "A50", "C49", "C50")) {
+            seatMap.tryTake(seatMap.indexOf(seatNumber));
+        }
+
+        // When
+        int start = seatMap.findBestAvailable(3);
+
+        // Then
+        assertEquals("A51", seatMap.seatNumber(start));
+    }
+
+    @Test
+    void testTakeBestAvailable_whenNoRowHasEnoughAdjacentSeats() {
+        // Given
+        SeatMap seatMap = SeatMap.of(auditorium(2, 6));
+        for (String seatNumber : List.of("A3", "A6", "B2", "B5")) {
+            seatMap.tryTake(seatMap.indexOf(seatNumber));
+        }
+
+        // When & Then
+        assertNull(seatMap.takeBestAvailable(3));
+        assertArrayEquals(new int[]{seatMap.indexOf("B3"), seatMap.indexOf("B4")}, seatMap.takeBestAvailable(2));
+        assertEquals(6, seatMap.available());
+    }
+
+    @Test
+    void testTryTake_whenManyThreadsCompeteNeverOversells() throws InterruptedException {
+        // Given
+        List<String> seatNumbers = auditorium(15, 20);
+        SeatMap seatMap = SeatMap.of(seatNumbers);
+        AtomicInteger reserved = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+
+        // When
+        for (int i = 0; i < 5_000; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                String seatNumber = seatNumbers.get(ThreadLocalRandom.current().nextInt(seatNumbers.size()));
+                if (seatMap.tryTake(seatMap.indexOf(seatNumber))) {
+                    reserved.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Then
+        assertTrue(reserved.get() <= seatMap.capacity());
+        assertEquals(seatMap.capacity() - reserved.get(), seatMap.available());
+    }
+}
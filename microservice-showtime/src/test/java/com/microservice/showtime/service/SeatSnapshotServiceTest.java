@@ -0,0 +1,149 @@
+package com.microservice.showtime.service;
+
+import com.microservice.showtime.model.SeatEntity;
+import com.microservice.showtime.model.ShowEntity;
+import com.microservice.showtime.repository.SeatRepository;
+import com.microservice.showtime.repository.ShowRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SeatSnapshotServiceTest {
+
+    @Mock
+    private ShowRepository showRepository;
+
+    @Mock
+    private SeatRepository seatRepository;
+
+    @Mock
+    private SeatStore seatStore;
+
+    @Mock
+    private SeatMapPublisher seatMapPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private JournaledSeatStore journaledSeatStore;
+
+    private Path path;
+    private SeatEngine seatEngine;
+    private SeatSnapshotService seatSnapshotService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+        path = Files.createTempFile("seat-maps", ".snapshot");
+        Files.delete(path);
+        seatEngine = new SeatEngine(showRepository, seatRepository, seatStore, seatMapPublisher, transactionManager);
+        seatSnapshotService = new SeatSnapshotService(seatEngine, journaledSeatStore, showRepository, path.toString());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    private static SeatMap reservedSeatMap(String... seatNumbers) {
+        SeatMap seatMap = SeatMap.of(List.of("A1", "A2", "A3"));
+        int[] seats = Arrays.stream(seatNumbers).mapToInt(seatMap::indexOf).toArray();
+        seatMap.tryTakeAll(seats);
+        seatMap.markReserved(seats);
+        return seatMap;
+    }
+
+    private void givenShowInDatabase(Long idShow, String reservedSeat) {
+        ShowEntity showEntity = new ShowEntity();
+        showEntity.setIdShow(idShow);
+        showEntity.setTotalSeats(3);
+        showEntity.setAvailableSeats(2);
+        when(showRepository.findById(idShow)).thenReturn(Optional.of(showEntity));
+        List<SeatEntity> seats = List.of("A1", "A2", "A3").stream().map(seatNumber -> {
+            SeatEntity seatEntity = new SeatEntity();
+            seatEntity.setSeatNumber(seatNumber);
+            seatEntity.setReserved(seatNumber.equals(reservedSeat));
+            return seatEntity;
+        }).toList();
+        when(seatRepository.findByShowEntityIdShow(idShow)).thenReturn(seats);
+    }
+
+    //-----Tests for the restore method-----
+    @Test
+    void testRestore_whenSnapshotIsCurrentRestoresTheShowsThatDidNotChange() throws IOException {
+        // Given
+        SeatMapSnapshot.write(path, 40, Map.of(1L, reservedSeatMap("A1"), 2L, reservedSeatMap("A2")));
+        when(journaledSeatStore.checkpoint()).thenReturn(45L);
+        when(showRepository.findMaxJournalSequence()).thenReturn(45L);
+        when(showRepository.findIdShowByJournalSequenceGreaterThan(40)).thenReturn(List.of(2L));
+
+        // When
+        seatSnapshotService.restore();
+
+        // Then
+        SeatMap restored = seatEngine.seatMaps().get(1L);
+        assertTrue(restored.isReserved(restored.indexOf("A1")));
+        assertEquals(2, restored.available());
+        assertFalse(seatEngine.seatMaps().containsKey(2L));
+        verifyNoInteractions(seatRepository);
+    }
+
+    @Test
+    void testRestore_whenSnapshotIsCorruptedRebuildsTheSeatMapsFromTheDatabase() throws IOException {
+        // Given
+        SeatMapSnapshot.write(path, 40, Map.of(1L, reservedSeatMap("A1", "A2")));
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 12] ^= 1;
+        Files.write(path, bytes);
+        givenShowInDatabase(1L, "A3");
+
+        // When
+        seatSnapshotService.restore();
+        SeatMap seatMap = seatEngine.seatMap(1L);
+
+        // Then
+        verify(seatRepository).findByShowEntityIdShow(1L);
+        assertTrue(seatMap.isReserved(seatMap.indexOf("A3")));
+        assertFalse(seatMap.isTaken(seatMap.indexOf("A1")));
+        assertEquals(2, seatMap.available());
+    }
+
+    @Test
+    void testRestore_whenSnapshotIsAheadOfTheJournalFailsStartup() throws IOException {
+        // Given
+        SeatMapSnapshot.write(path, 40, Map.of(1L, reservedSeatMap("A1")));
+        when(journaledSeatStore.checkpoint()).thenReturn(0L);
+        when(showRepository.findMaxJournalSequence()).thenReturn(45L);
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> seatSnapshotService.restore());
+        assertTrue(seatEngine.seatMaps().isEmpty());
+    }
+
+    @Test
+    void testRestore_whenSnapshotIsAheadOfTheDatabaseFailsStartup() throws IOException {
+        // Given
+        SeatMapSnapshot.write(path, 40, Map.of(1L, reservedSeatMap("A1")));
+        when(journaledSeatStore.checkpoint()).thenReturn(40L);
+        when(showRepository.findMaxJournalSequence()).thenReturn(12L);
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> seatSnapshotService.restore());
+        assertTrue(seatEngine.seatMaps().isEmpty());
+    }
+}
@@ -0,0 +1,80 @@
+package com.microservice.showtime.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShowScheduleTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 2);
+
+    private static ShowSchedule.ScheduledShow show(long idShow, long idMovie, LocalDateTime showtime) {
+        return new ShowSchedule.ScheduledShow(idShow, idMovie, showtime, 120);
+    }
+
+    private static ShowSchedule week() {
+        return new ShowSchedule(TODAY, TODAY.plusDays(7), List.of(
+                show(1, 10, TODAY.atTime(22, 0)),
+                show(2, 20, TODAY.atTime(18, 30)),
+                show(3, 10, TODAY.plusDays(1).atTime(20, 0)),
+                show(4, 10, TODAY.plusDays(3).atTime(16, 0)),
+                show(5, 10, TODAY.plusDays(9).atTime(16, 0))
+        ));
+    }
+
+    @Test
+    void testFind_whenRangeIsTonightReturnsEveryMovieInShowtimeOrder() {
+        // Given
+        ShowSchedule schedule = week();
+
+        // When
+        List<ShowSchedule.ScheduledShow> shows = schedule.find(null, TODAY.atTime(18, 0), TODAY.plusDays(1).atStartOfDay());
+
+        // Then
+        assertEquals(List.of(2L, 1L), shows.stream().map(ShowSchedule.ScheduledShow::idShow).toList());
+    }
+
+    @Test
+    void testFind_whenMovieIsGivenSpansSeveralDays() {
+        // Given
+        ShowSchedule schedule = week();
+
+        // When
+        List<ShowSchedule.ScheduledShow> shows = schedule.find(10L, TODAY.atStartOfDay(), TODAY.plusDays(7).atStartOfDay());
+
+        // Then
+        assertEquals(List.of(1L, 3L, 4L), shows.stream().map(ShowSchedule.ScheduledShow::idShow).toList());
+        assertEquals(4, schedule.size());
+    }
+
+    @Test
+    void testCovers_whenRangeEndsAfterTheLastDay() {
+        // Given
+        ShowSchedule schedule = week();
+
+        // When & Then
+        assertTrue(schedule.covers(TODAY.atTime(12, 0), TODAY.plusDays(7).atStartOfDay()));
+        assertFalse(schedule.covers(TODAY.atTime(12, 0), TODAY.plusDays(7).atTime(0, 1)));
+        assertFalse(schedule.covers(TODAY.minusDays(1).atTime(23, 0), TODAY.atTime(12, 0)));
+    }
+
+    @Test
+    void testPut_whenShowIsMovedToAnotherDay() {
+        // Given
+        ShowSchedule schedule = week();
+
+        // When
+        schedule.put(show(3, 10, TODAY.atTime(20, 0)));
+        schedule.put(show(6, 30, TODAY.atTime(19, 0)));
+        schedule.remove(2L);
+
+        // Then
+        assertEquals(List.of(6L, 3L, 1L), schedule.find(null, TODAY.atStartOfDay(), TODAY.plusDays(1).atStartOfDay())
+                .stream().map(ShowSchedule.ScheduledShow::idShow).toList());
+        assertTrue(schedule.find(null, TODAY.plusDays(1).atStartOfDay(), TODAY.plusDays(2).atStartOfDay()).isEmpty());
+    }
+}
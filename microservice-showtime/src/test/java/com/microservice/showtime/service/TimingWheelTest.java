@@ -0,0 +1,88 @@
+package com.microservice.showtime.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimingWheelTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private void advanceTo(TimingWheel<?> timingWheel, Duration elapsed) {
+        now.set(elapsed.toNanos());
+        timingWheel.advance();
+    }
+
+    @Test
+    void testAdvance_whenThousandsOfItemsAreDueExpiresThemInBatches() {
+        // Given
+        int items = 10_000;
+        Set<Integer> expired = new HashSet<>();
+        List<Integer> batchSizes = new ArrayList<>();
+        TimingWheel<Integer> timingWheel = new TimingWheel<>(Duration.ofMillis(10), 64, batch -> {
+            batchSizes.add(batch.size());
+            expired.addAll(batch);
+        }, now::get);
+        for (int i = 0; i < items; i++) {
+            timingWheel.schedule(i, Duration.ofMillis(50 + i % 20));
+        }
+
+        // When
+        advanceTo(timingWheel, Duration.ofMillis(49));
+        int expiredEarly = expired.size();
+        advanceTo(timingWheel, Duration.ofMillis(80));
+
+        // Then
+        assertEquals(0, expiredEarly);
+        assertEquals(items, expired.size());
+        assertTrue(batchSizes.size() <= 3);
+    }
+
+    @Test
+    void testAdvance_whenDeadlineIsSeveralRoundsAwayWaitsForIt() {
+        // Given
+        Set<String> expired = new HashSet<>();
+        TimingWheel<String> timingWheel = new TimingWheel<>(Duration.ofMillis(10), 8, expired::addAll, now::get);
+        TimingWheel.Timeout<String> timeout = timingWheel.schedule("late", Duration.ofMillis(250));
+
+        // When
+        advanceTo(timingWheel, Duration.ofMillis(240));
+        boolean expiredEarly = timeout.isExpired();
+        advanceTo(timingWheel, Duration.ofMillis(260));
+
+        // Then
+        assertFalse(expiredEarly);
+        assertEquals(Set.of("late"), expired);
+    }
+
+    @Test
+    void testCancel_whenTimeoutIsCancelledItNeverExpires() {
+        // Given
+        Set<String> expired = new HashSet<>();
+        TimingWheel<String> timingWheel = new TimingWheel<>(Duration.ofMillis(10), 8, expired::addAll, now::get);
+        TimingWheel.Timeout<String> cancelled = timingWheel.schedule("cancelled", Duration.ofMillis(30));
+        TimingWheel.Timeout<String> kept = timingWheel.schedule("kept", Duration.ofMillis(200));
+
+        // When
+        assertTrue(cancelled.cancel());
+        advanceTo(timingWheel, Duration.ofMillis(400));
+
+        // Then
+        assertEquals(Set.of("kept"), expired);
+        assertTrue(kept.isExpired());
+        assertFalse(kept.cancel());
+    }
+
+    @Test
+    void testConstructor_whenTicksPerWheelIsNotAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TimingWheel<>("test-wheel", Duration.ofMillis(10), 10, (List<Object> batch) -> { }));
+    }
+}
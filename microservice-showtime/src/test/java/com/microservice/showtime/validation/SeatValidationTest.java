@@ -0,0 +1,55 @@
+package com.microservice.showtime.validation;
+
+import com.microservice.showtime.exception.InvalidSeatSelectionException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SeatValidationTest {
+
+    private final SeatValidation seatValidation = new SeatValidation();
+
+    //-----Tests for the validateSeatSelection method-----
+    @Test
+    void testValidateSeatSelection_whenSelectionIsValid() {
+        // When & Then
+        assertDoesNotThrow(() -> seatValidation.validateSeatSelection(List.of("A1", "A2")));
+        assertDoesNotThrow(() -> seatValidation.validateSeatSelection(List.of("A1", "A1")));
+    }
+
+    @Test
+    void testValidateSeatSelection_whenSelectionIsNullOrEmpty() {
+        // When & Then
+        assertThrows(InvalidSeatSelectionException.class, () -> seatValidation.validateSeatSelection(null));
+        assertThrows(InvalidSeatSelectionException.class, () -> seatValidation.validateSeatSelection(List.of()));
+    }
+
+    @Test
+    void testValidateSeatSelection_whenSeatNumberIsNullOrBlank() {
+        // When & Then
+        assertThrows(InvalidSeatSelectionException.class,
+                () -> seatValidation.validateSeatSelection(Arrays.asList("A1", null)));
+        assertThrows(InvalidSeatSelectionException.class,
+                () -> seatValidation.validateSeatSelection(List.of("A1", " ")));
+    }
+
+    @Test
+    void testValidateSeatSelection_whenTooManySeatsAreSelected() {
+        // When & Then
+        assertThrows(InvalidSeatSelectionException.class,
+                () -> seatValidation.validateSeatSelection(Collections.nCopies(11, "A1")));
+    }
+
+    //-----Tests for the validateSeatCount method-----
+    @Test
+    void testValidateSeatCount_whenCountIsOutOfRange() {
+        // When & Then
+        assertDoesNotThrow(() -> seatValidation.validateSeatCount(10));
+        assertThrows(InvalidSeatSelectionException.class, () -> seatValidation.validateSeatCount(0));
+        assertThrows(InvalidSeatSelectionException.class, () -> seatValidation.validateSeatCount(11));
+    }
+}